@@ -14,7 +14,7 @@ fi
 
 # Compile the source code
 echo "Compiling source code..."
-javac -d bin -cp "lib/*:src/main/resources" src/main/java/com/timetable/system/*.java src/main/java/com/timetable/system/gui/*.java
+javac -d bin -cp "lib/*:src/main/resources" src/main/java/com/timetable/system/*.java src/main/java/com/timetable/system/gui/*.java src/main/java/com/timetable/system/solver/*.java
 
 # Copy resources to the bin directory
 echo "Copying resources..."
@@ -24,7 +24,7 @@ expected_paths=(
     "src/main/java/com/timetable/system/Venue.java"
     "src/main/java/com/timetable/system/VenueDAO.java"
     "src/main/java/com/timetable/system/gui/MainWindow.java"
-    "src/main/resources/schema.sql"
+    "src/main/resources/db/migration/sqlite/V1.sql"
     "src/main/resources/database.properties"
     "src/test/java/com/timetable/system/LecturerTest.java"
     "src/test/java/com/timetable/system/LecturerDAOTest.java"
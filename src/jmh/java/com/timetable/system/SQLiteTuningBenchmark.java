@@ -0,0 +1,237 @@
+package com.timetable.system;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of SQLite's stock settings without the secondary indexes ({@code profile=stock})
+ * against the tuned profile applied by {@link ConnectionPool} ({@code profile=tuned}): WAL,
+ * synchronous=NORMAL, a larger page cache, memory-mapped I/O and the indexes of the V2 schema
+ * migration.
+ *
+ * <p>Each trial seeds a database file with a timetable of {@value #ENTRIES} entries. The
+ * workloads mirror the DAOs: single-row auto-committed inserts, lookups by course, and
+ * timeslot deletes that cascade to availability and timetable entries. Inserts and deletes run
+ * in batches, and the rows a batch changed are restored before the next iteration.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SQLiteTuningBenchmark {
+
+    private static final int LECTURERS = 200;
+    private static final int VENUES = 200;
+    private static final int COURSES = 1000;
+    private static final int TIMESLOTS = 300;
+    private static final int ENTRIES = 50000;
+    // The seeded timetable fills the first ENTRIES / LECTURERS timeslots and leaves the rest free
+    private static final int FIRST_FREE_TIMESLOT = ENTRIES / LECTURERS + 1;
+    private static final int INSERT_BATCH = 500;
+    private static final int DELETE_BATCH = 20;
+
+    private static final String INSERT_ENTRY_SQL =
+            "INSERT INTO TimetableEntry (course_id, lecturer_id, venue_id, timeslot_id) VALUES (?, ?, ?, ?)";
+
+    @Param({"stock", "tuned"})
+    public String profile;
+
+    private File file;
+    private ConnectionPool pool;
+    private int inserted;
+    private int deleted;
+    private int lookups;
+
+    /**
+     * Creates and seeds the database with the settings of the profile.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        Properties settings = new Properties();
+        if ("stock".equals(profile)) {
+            settings.setProperty("db.sqlite.journalMode", "DELETE");
+            settings.setProperty("db.sqlite.synchronous", "FULL");
+            settings.setProperty("db.sqlite.cacheSizeKiB", "2000");
+            settings.setProperty("db.sqlite.mmapSizeBytes", "0");
+        }
+        file = File.createTempFile("sqlite-benchmark", ".db");
+        settings.setProperty("db.url", "jdbc:sqlite:" + file.getAbsolutePath());
+        pool = new ConnectionPool(new DatabaseConfig(settings));
+
+        try (Connection connection = pool.borrow()) {
+            DatabaseInitializer.initializeDatabase(connection);
+            if ("stock".equals(profile)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP INDEX idx_availability_timeslot");
+                    statement.execute("DROP INDEX idx_entry_course");
+                    statement.execute("DROP INDEX idx_entry_timeslot");
+                }
+            }
+            connection.setAutoCommit(false);
+            insertNames(connection, "INSERT INTO Lecturer (name, rank) VALUES (?, 'Lecturer')", LECTURERS, "Lecturer ");
+            insertNames(connection, "INSERT INTO Course (title, level) VALUES (?, 'ND')", COURSES, "Course ");
+            insertNames(connection, "INSERT INTO Venue (name, capacity, type) VALUES (?, 100, 'Lecture Hall')", VENUES, "Venue ");
+            seedTimeslots(connection, 1, TIMESLOTS);
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static void insertNames(Connection connection, String sql, int count, String prefix) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                statement.setString(1, prefix + i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts a range of timeslots with the availability of every lecturer in every third
+     * timeslot and the timetable entries the seeded timetable places in them.
+     */
+    private static void seedTimeslots(Connection connection, int first, int last) throws SQLException {
+        try (PreparedStatement timeslots = connection.prepareStatement(
+                     "INSERT INTO Timeslot (id, day_of_week, start_time, end_time) VALUES (?, 'Monday', ?, '23:59')");
+             PreparedStatement availabilities = connection.prepareStatement(
+                     "INSERT INTO Availability (lecturer_id, timeslot_id) VALUES (?, ?)");
+             PreparedStatement entries = connection.prepareStatement(INSERT_ENTRY_SQL)) {
+            for (int timeslot = first; timeslot <= last; timeslot++) {
+                timeslots.setInt(1, timeslot);
+                timeslots.setString(2, String.valueOf(timeslot));
+                timeslots.addBatch();
+            }
+            timeslots.executeBatch();
+
+            for (int timeslot = first; timeslot <= last; timeslot++) {
+                if ((timeslot - 1) % 3 == 0) {
+                    for (int lecturer = 1; lecturer <= LECTURERS; lecturer++) {
+                        availabilities.setInt(1, lecturer);
+                        availabilities.setInt(2, timeslot);
+                        availabilities.addBatch();
+                    }
+                }
+            }
+            availabilities.executeBatch();
+
+            // Entry i uses timeslot i / 200 + 1 with distinct lecturers and venues within each timeslot
+            int end = Math.min(ENTRIES, last * LECTURERS);
+            for (int i = (first - 1) * LECTURERS; i < end; i++) {
+                entries.setInt(1, i % COURSES + 1);
+                entries.setInt(2, i % LECTURERS + 1);
+                entries.setInt(3, i * 7 % VENUES + 1);
+                entries.setInt(4, i / LECTURERS + 1);
+                entries.addBatch();
+                if (i % 1000 == 999) {
+                    entries.executeBatch();
+                }
+            }
+            entries.executeBatch();
+        }
+    }
+
+    /**
+     * Undoes the inserts and deletes of the previous iteration.
+     */
+    @Setup(Level.Iteration)
+    public void restore() throws SQLException {
+        try (Connection connection = pool.borrow()) {
+            if (inserted > 0) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "DELETE FROM TimetableEntry WHERE timeslot_id >= ?")) {
+                    statement.setInt(1, FIRST_FREE_TIMESLOT);
+                    statement.executeUpdate();
+                }
+                inserted = 0;
+            }
+            if (deleted > 0) {
+                connection.setAutoCommit(false);
+                seedTimeslots(connection, 1, deleted);
+                connection.commit();
+                connection.setAutoCommit(true);
+                deleted = 0;
+            }
+        }
+    }
+
+    /**
+     * Closes the pool and deletes the database files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+        for (String suffix : new String[] {"", "-wal", "-shm", "-journal"}) {
+            new File(file.getAbsolutePath() + suffix).delete();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = INSERT_BATCH)
+    @Measurement(iterations = 10, batchSize = INSERT_BATCH)
+    public int insert() throws SQLException {
+        int i = inserted++;
+        try (Connection connection = pool.borrow();
+             PreparedStatement statement = connection.prepareStatement(INSERT_ENTRY_SQL)) {
+            statement.setInt(1, i % COURSES + 1);
+            statement.setInt(2, i % LECTURERS + 1);
+            statement.setInt(3, i % VENUES + 1);
+            statement.setInt(4, FIRST_FREE_TIMESLOT + i / LECTURERS);
+            return statement.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public long lookupByCourse() throws SQLException {
+        try (Connection connection = pool.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id, course_id, lecturer_id, venue_id, timeslot_id FROM TimetableEntry WHERE course_id = ?")) {
+            statement.setInt(1, lookups++ * 7 % COURSES + 1);
+            long rows = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = DELETE_BATCH)
+    @Measurement(iterations = 10, batchSize = DELETE_BATCH)
+    public int cascadingDelete() throws SQLException {
+        try (Connection connection = pool.borrow();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM Timeslot WHERE id = ?")) {
+            statement.setInt(1, ++deleted);
+            return statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.timetable.system;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link TimetableEntryDAO} against an {@link InMemoryDatabase} holding a
+ * timetable of {@code entries} entries.
+ *
+ * <p>Inserts go into timeslots the seeded timetable leaves free. Each measurement iteration of
+ * {@link #insert()} is a batch of {@value #INSERT_BATCH} inserts, and the entries it added are
+ * removed before the next one, so every iteration starts from the same table.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimetableEntryDAOBenchmark {
+
+    private static final int LECTURERS = 100;
+    private static final int VENUES = 100;
+    private static final int COURSES = 500;
+    private static final int INSERT_BATCH = 1000;
+    // Free timeslots needed for one insert batch with distinct lecturers and venues per timeslot
+    private static final int FREE_TIMESLOTS = INSERT_BATCH / LECTURERS;
+
+    @Param({"1000", "10000"})
+    public int entries;
+
+    private InMemoryDatabase database;
+    private DatabaseConfigSource previousSource;
+    private TimetableEntryDAO dao;
+    private int firstFreeTimeslot;
+    private int inserted;
+    private int lookups;
+
+    /**
+     * Creates the database and seeds the reference data and the timetable.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        database = InMemoryDatabase.create();
+        previousSource = DatabaseConnection.getConfigSource();
+        DatabaseConnection.setConfigSource(database);
+
+        int timeslots = (entries + LECTURERS - 1) / LECTURERS + FREE_TIMESLOTS;
+        firstFreeTimeslot = timeslots - FREE_TIMESLOTS + 1;
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            insertNames(connection, "INSERT INTO Lecturer (name, rank) VALUES (?, 'Lecturer')", LECTURERS, "Lecturer ");
+            insertNames(connection, "INSERT INTO Venue (name, capacity, type) VALUES (?, 100, 'Lecture Hall')", VENUES, "Venue ");
+            insertNames(connection, "INSERT INTO Course (title, level) VALUES (?, 'ND')", COURSES, "Course ");
+            insertNames(connection, "INSERT INTO Timeslot (day_of_week, start_time, end_time) VALUES ('Monday', ?, '23:59')",
+                        timeslots, "");
+
+            // Entry i uses timeslot i / 100, with distinct lecturers and venues within each timeslot
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO TimetableEntry (course_id, lecturer_id, venue_id, timeslot_id) VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < entries; i++) {
+                    statement.setInt(1, i % COURSES + 1);
+                    statement.setInt(2, i % LECTURERS + 1);
+                    statement.setInt(3, i * 7 % VENUES + 1);
+                    statement.setInt(4, i / LECTURERS + 1);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+        dao = new TimetableEntryDAO();
+    }
+
+    private static void insertNames(Connection connection, String sql, int count, String prefix) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                statement.setString(1, prefix + i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Removes the entries the previous insert batch added.
+     */
+    @Setup(Level.Iteration)
+    public void clearInserted() throws SQLException {
+        if (inserted > 0) {
+            try (Connection connection = DatabaseConnection.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "DELETE FROM TimetableEntry WHERE timeslot_id >= ?")) {
+                statement.setInt(1, firstFreeTimeslot);
+                statement.executeUpdate();
+            }
+            inserted = 0;
+        }
+    }
+
+    /**
+     * Drops the database and restores the previous configuration source.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        DatabaseConnection.setConfigSource(previousSource);
+        database.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = INSERT_BATCH)
+    @Measurement(iterations = 10, batchSize = INSERT_BATCH)
+    public TimetableEntry insert() throws SQLException {
+        int i = inserted++;
+        TimetableEntry entry = new TimetableEntry();
+        entry.setCourseId(i % COURSES + 1);
+        entry.setLecturerId(i % LECTURERS + 1);
+        entry.setVenueId(i % VENUES + 1);
+        entry.setTimeslotId(firstFreeTimeslot + i / LECTURERS);
+        dao.insert(entry);
+        return entry;
+    }
+
+    @Benchmark
+    public List<TimetableEntry> findAll() throws SQLException {
+        return dao.findAll();
+    }
+
+    @Benchmark
+    public List<TimetableEntry> findByLecturerId() throws SQLException {
+        return dao.findByLecturerId(lookups++ % LECTURERS + 1);
+    }
+}
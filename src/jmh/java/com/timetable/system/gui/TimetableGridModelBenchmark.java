@@ -0,0 +1,90 @@
+package com.timetable.system.gui;
+
+import com.timetable.system.Timeslot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the grid building behind {@link TimetablePanel}: placing a timetable in a
+ * fresh {@link TimetableGridModel}, and refreshing a model with the timetable it already shows,
+ * which is what switching back to the timetable screen costs.
+ *
+ * <p>The grid has eight one-hour bands on each weekday, and the entries are spread over its
+ * cells at random with a fixed seed.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimetableGridModelBenchmark {
+
+    private static final int DAYS = 5;
+    private static final int BANDS = 8;
+
+    @Param({"200", "2000"})
+    public int entries;
+
+    private List<Timeslot> timeslots;
+    private List<TimetableGridModel.CellEntry> cellEntries;
+    private TimetableGridModel filledModel;
+
+    /**
+     * Creates the timeslots and entries, and a model that already shows them.
+     */
+    @Setup
+    public void setUp() {
+        timeslots = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (int band = 0; band < BANDS; band++) {
+                String start = String.format("%02d:00", 8 + band);
+                String end = String.format("%02d:00", 9 + band);
+                timeslots.add(new Timeslot(timeslots.size() + 1, TimetableGridModel.DAYS[day], start, end));
+            }
+        }
+
+        Random random = new Random(42);
+        cellEntries = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            cellEntries.add(new TimetableGridModel.CellEntry(random.nextInt(timeslots.size()) + 1,
+                    "Course " + random.nextInt(entries), "Lecturer " + random.nextInt(100),
+                    "Venue " + random.nextInt(50)));
+        }
+
+        filledModel = build();
+    }
+
+    private TimetableGridModel build() {
+        TimetableGridModel model = new TimetableGridModel();
+        model.setTimeslots(timeslots);
+        model.setEntries(cellEntries);
+        return model;
+    }
+
+    @Benchmark
+    public TimetableGridModel buildGrid() {
+        return build();
+    }
+
+    @Benchmark
+    public TimetableGridModel refreshUnchangedGrid() {
+        filledModel.setTimeslots(timeslots);
+        filledModel.setEntries(cellEntries);
+        return filledModel;
+    }
+}
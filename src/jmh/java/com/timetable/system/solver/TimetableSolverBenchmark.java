@@ -0,0 +1,99 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Availability;
+import com.timetable.system.Course;
+import com.timetable.system.Lecturer;
+import com.timetable.system.Timeslot;
+import com.timetable.system.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of timetable generation for generated problems of {@code courses} courses.
+ *
+ * <p>A problem has one lecturer per eight courses and one venue per ten courses, a fifth of
+ * them labs, at least five of each. There are eight one-hour timeslots on each weekday, and
+ * each lecturer is available in about three quarters of them. Problems and solvers use fixed
+ * seeds, so every run solves the same problems the same way.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimetableSolverBenchmark {
+
+    private static final long SEED = 42L;
+    // Bounds the backtracking search on problems it cannot finish quickly
+    private static final long BACKTRACKING_NODE_LIMIT = 1000000;
+
+    @Param({"50", "200", "800"})
+    public int courses;
+
+    private TimetableProblem problem;
+
+    /**
+     * Generates the problem.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+
+        List<Course> courseList = new ArrayList<>();
+        for (int i = 1; i <= courses; i++) {
+            courseList.add(new Course(i, "Course " + i, i % 2 == 0 ? "ND" : "HND", random.nextInt(5) == 0));
+        }
+        List<Lecturer> lecturers = new ArrayList<>();
+        for (int i = 1; i <= Math.max(5, courses / 8); i++) {
+            lecturers.add(new Lecturer(i, "Lecturer " + i, "Lecturer"));
+        }
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 1; i <= Math.max(5, courses / 10); i++) {
+            boolean lab = i % 5 == 0;
+            venues.add(new Venue(i, (lab ? "Lab " : "Hall ") + i, lab ? 40 : 100, lab ? "Lab" : "Lecture Hall"));
+        }
+        List<Timeslot> timeslots = new ArrayList<>();
+        for (String day : TimetableProblem.DAYS.subList(0, 5)) {
+            for (int hour = 8; hour < 16; hour++) {
+                timeslots.add(new Timeslot(timeslots.size() + 1, day, String.format("%02d:00", hour),
+                                           String.format("%02d:00", hour + 1)));
+            }
+        }
+        List<Availability> availabilities = new ArrayList<>();
+        for (Lecturer lecturer : lecturers) {
+            for (Timeslot timeslot : timeslots) {
+                if (random.nextInt(4) != 0) {
+                    availabilities.add(new Availability(availabilities.size() + 1, lecturer.getId(), timeslot.getId()));
+                }
+            }
+        }
+        problem = new TimetableProblem(courseList, lecturers, venues, timeslots, availabilities);
+    }
+
+    @Benchmark
+    public TimetableSolution greedy() {
+        return new GreedySolver(SEED).solve(problem);
+    }
+
+    @Benchmark
+    public TimetableSolution backtracking() {
+        BacktrackingSolver solver = new BacktrackingSolver(SEED);
+        solver.setBudget(new SearchBudget(BACKTRACKING_NODE_LIMIT, 0));
+        return solver.solve(problem);
+    }
+}
@@ -0,0 +1,402 @@
+package com.timetable.system;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * AbstractDAO implements the operations shared by all JDBC DAOs: saving, deleting and
+ * finding entities, with every query selecting an explicit column list that the DAO's
+ * {@link RowMapper} reads by position. Subclasses provide the entity-specific inserts,
+ * updates and finders on top of the query helpers.
+ * 
+ * <p>Scans ({@link #forEach(Consumer)} and {@link #stream()}) ask the driver for rows in
+ * batches of the configured fetch size, so large tables are read in constant memory.</p>
+ * 
+ * @param <T> the entity type
+ */
+public abstract class AbstractDAO<T extends BaseEntity> implements DAO<T> {
+    
+    // Largest number of IDs bound into one IN list, kept below SQLite's 999 parameter limit
+    private static final int IN_LIST_CHUNK_SIZE = 512;
+    
+    private final String tableName;
+    private final String entityName;
+    private final String selectSql;
+    private final RowMapper<T> rowMapper;
+    private final String[] inListSql;
+    private int fetchSize;
+    
+    /**
+     * Constructs a new AbstractDAO. Each operation borrows a connection from the shared pool.
+     * 
+     * @param tableName the table holding the entities
+     * @param entityName the entity name used in error messages, such as "lecturer"
+     * @param columns the comma-separated columns read by the row mapper, in mapping order
+     * @param rowMapper the row mapper
+     * @throws SQLException if the connection pool cannot be created
+     */
+    protected AbstractDAO(String tableName, String entityName, String columns, RowMapper<T> rowMapper)
+            throws SQLException {
+        this.tableName = tableName;
+        this.entityName = entityName;
+        this.selectSql = "SELECT " + columns + " FROM " + tableName;
+        this.rowMapper = rowMapper;
+        this.inListSql = new String[Integer.numberOfTrailingZeros(IN_LIST_CHUNK_SIZE) + 1];
+        this.fetchSize = DatabaseConnection.getPool().getConfig().getFetchSize();
+    }
+    
+    @Override
+    public void save(T entity) throws SQLException {
+        if (entity.isSaved()) {
+            update(entity);
+        } else {
+            insert(entity);
+        }
+    }
+    
+    @Override
+    public void delete(int id) throws SQLException {
+        executeUpdate("DELETE FROM " + tableName + " WHERE id = ?", statement -> statement.setInt(1, id),
+                      "Deleting " + entityName + " failed, no rows affected.");
+    }
+    
+    @Override
+    public T findById(int id) throws SQLException {
+        return queryForObject(selectSql + " WHERE id = ?", statement -> statement.setInt(1, id));
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>IDs are sent in chunks of at most 512. Each chunk is padded to a power of two by
+     * repeating its last ID, so only a handful of distinct IN-list statements are ever
+     * prepared and they stay in the statement cache.</p>
+     */
+    @Override
+    public Map<Integer, T> findByIds(Collection<Integer> ids) throws SQLException {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.remove(null);
+        Map<Integer, T> found = new HashMap<>(distinctIds.size() * 2);
+        
+        for (int start = 0; start < distinctIds.size(); start += IN_LIST_CHUNK_SIZE) {
+            List<Integer> chunk = distinctIds.subList(start, Math.min(start + IN_LIST_CHUNK_SIZE, distinctIds.size()));
+            int bucket = 32 - Integer.numberOfLeadingZeros(chunk.size() - 1);
+            int width = 1 << bucket;
+            forEach(inListSql(bucket, width), statement -> {
+                for (int i = 0; i < width; i++) {
+                    statement.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+            }, entity -> found.put(entity.getId(), entity));
+        }
+        return found;
+    }
+    
+    @Override
+    public List<T> findAll() throws SQLException {
+        return query(selectSql, StatementBinder.NONE);
+    }
+    
+    @Override
+    public void forEach(Consumer<? super T> action) throws SQLException {
+        forEach(selectSql, StatementBinder.NONE, action);
+    }
+    
+    @Override
+    public Stream<T> stream() throws SQLException {
+        return stream(selectSql, StatementBinder.NONE);
+    }
+    
+    /**
+     * Gets the number of rows the driver is asked to fetch per round trip during scans.
+     * 
+     * @return the fetch size, or 0 if the driver decides
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+    
+    /**
+     * Sets the number of rows the driver is asked to fetch per round trip during scans.
+     * Defaults to the db.fetchSize setting.
+     * 
+     * @param fetchSize the fetch size, or 0 to let the driver decide
+     * @throws IllegalArgumentException if the fetch size is negative
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size must not be negative: " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+    
+    /**
+     * Gets the SELECT statement for all columns of the table, without a WHERE clause.
+     * 
+     * @return the SELECT statement
+     */
+    protected String selectSql() {
+        return selectSql;
+    }
+    
+    /**
+     * Gets the SELECT statement with an IN list of a given width, building it on first use.
+     */
+    private String inListSql(int bucket, int width) {
+        String sql = inListSql[bucket];
+        if (sql == null) {
+            StringBuilder builder = new StringBuilder(selectSql.length() + 20 + width * 3);
+            builder.append(selectSql).append(" WHERE id IN (?");
+            for (int i = 1; i < width; i++) {
+                builder.append(", ?");
+            }
+            sql = builder.append(')').toString();
+            inListSql[bucket] = sql;
+        }
+        return sql;
+    }
+    
+    /**
+     * Runs a query and collects the mapped rows.
+     * 
+     * @param sql the query, selecting this DAO's columns
+     * @param binder sets the query parameters
+     * @return the mapped rows
+     * @throws SQLException if a database access error occurs
+     */
+    protected List<T> query(String sql, StatementBinder binder) throws SQLException {
+        List<T> entities = new ArrayList<>();
+        forEach(sql, binder, entities::add);
+        return entities;
+    }
+    
+    /**
+     * Runs a query and maps its first row.
+     * 
+     * @param sql the query, selecting this DAO's columns
+     * @param binder sets the query parameters
+     * @return the mapped row, or null if the query returned no rows
+     * @throws SQLException if a database access error occurs
+     */
+    protected T queryForObject(String sql, StatementBinder binder) throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? rowMapper.mapRow(resultSet) : null;
+            }
+        }
+    }
+    
+    /**
+     * Runs a query and passes each mapped row to an action without collecting them.
+     * 
+     * @param sql the query, selecting this DAO's columns
+     * @param binder sets the query parameters
+     * @param action the action to run for each row
+     * @throws SQLException if a database access error occurs
+     */
+    protected void forEach(String sql, StatementBinder binder, Consumer<? super T> action) throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(fetchSize);
+            binder.bind(statement);
+            
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(rowMapper.mapRow(resultSet));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Runs a query and returns its mapped rows as a lazy stream backed by an open cursor.
+     * The connection, statement and result set are released as soon as the last row has been
+     * read, a row fails to map or the stream is closed, whichever comes first.
+     * 
+     * @param sql the query, selecting this DAO's columns
+     * @param binder sets the query parameters
+     * @return the mapped rows, which must be closed if not fully consumed
+     * @throws SQLException if a database access error occurs
+     */
+    protected Stream<T> stream(String sql, StatementBinder binder) throws SQLException {
+        Connection connection = DatabaseConnection.getConnection();
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            binder.bind(statement);
+            resultSet = statement.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            new Cursor(connection, statement, resultSet).release(e);
+            throw e;
+        }
+        
+        Cursor cursor = new Cursor(connection, statement, resultSet);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+    
+    /**
+     * Runs an INSERT and stores the generated ID in the entity.
+     * 
+     * @param entity the entity being inserted
+     * @param sql the INSERT statement
+     * @param binder sets the statement parameters
+     * @throws SQLException if a database access error occurs or no row or ID was created
+     */
+    protected void executeInsert(T entity, String sql, StatementBinder binder) throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            binder.bind(statement);
+            
+            int affectedRows = statement.executeUpdate();
+            
+            if (affectedRows == 0) {
+                throw new SQLException("Creating " + entityName + " failed, no rows affected.");
+            }
+            
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    entity.setId(generatedKeys.getInt(1));
+                } else {
+                    throw new SQLException("Creating " + entityName + " failed, no ID obtained.");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Runs an UPDATE or DELETE that must affect at least one row.
+     * 
+     * @param sql the statement
+     * @param binder sets the statement parameters
+     * @param failureMessage the message of the exception thrown if no row was affected
+     * @throws SQLException if a database access error occurs or no row was affected
+     */
+    protected void executeUpdate(String sql, StatementBinder binder, String failureMessage) throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            
+            int affectedRows = statement.executeUpdate();
+            
+            if (affectedRows == 0) {
+                throw new SQLException(failureMessage);
+            }
+        }
+    }
+    
+    /**
+     * Cursor is the spliterator behind {@link AbstractDAO#stream(String, StatementBinder)}:
+     * it maps one row per advance and releases its resources once the rows run out.
+     */
+    private final class Cursor extends Spliterators.AbstractSpliterator<T> {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        private boolean closed;
+        
+        Cursor(Connection connection, PreparedStatement statement, ResultSet resultSet) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            T entity;
+            try {
+                if (!resultSet.next()) {
+                    close();
+                    return false;
+                }
+                entity = rowMapper.mapRow(resultSet);
+            } catch (SQLException e) {
+                release(e);
+                throw new UncheckedSQLException(e);
+            }
+            action.accept(entity);
+            return true;
+        }
+        
+        /**
+         * Releases the result set, statement and connection.
+         * 
+         * @throws UncheckedSQLException if any of them fails to close
+         */
+        void close() {
+            if (closed) {
+                return;
+            }
+            SQLException failure = new SQLException("Closing the cursor failed");
+            release(failure);
+            if (failure.getSuppressed().length > 0) {
+                throw new UncheckedSQLException(failure);
+            }
+        }
+        
+        /**
+         * Releases the result set, statement and connection, adding any failure to an
+         * exception that is already being handled.
+         * 
+         * @param pending the exception that close failures are added to as suppressed
+         */
+        void release(Exception pending) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            AutoCloseable[] resources = {resultSet, statement, connection};
+            for (AutoCloseable resource : resources) {
+                if (resource == null) {
+                    continue;
+                }
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    pending.addSuppressed(e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * StatementBinder sets the parameters of a prepared statement.
+     */
+    @FunctionalInterface
+    protected interface StatementBinder {
+        
+        /**
+         * A binder for statements without parameters.
+         */
+        StatementBinder NONE = statement -> { };
+        
+        /**
+         * Sets the parameters.
+         * 
+         * @param statement the statement
+         * @throws SQLException if a database access error occurs
+         */
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
@@ -0,0 +1,132 @@
+package com.timetable.system;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * BatchLoader coalesces single-ID lookups into batched queries.
+ *
+ * <p>Callers first ask for every entity they will need with {@link #load(int)}, which only
+ * records the ID and returns a future. {@link #dispatch()} then fetches all recorded IDs with
+ * one {@link DAO#findByIds(Collection)} call and completes the futures. Results are remembered,
+ * so asking again for a loaded ID costs nothing. A loader is meant to live for one request,
+ * such as one refresh of a screen, and is then discarded so it never serves stale rows.</p>
+ *
+ * @param <T> the entity type
+ */
+public class BatchLoader<T extends BaseEntity> {
+    private final DAO<T> dao;
+    private final Map<Integer, CompletableFuture<T>> futures = new HashMap<>();
+    private final Map<Integer, CompletableFuture<T>> pending = new LinkedHashMap<>();
+    private int dispatchCount;
+
+    /**
+     * Constructs a new BatchLoader.
+     *
+     * @param dao the DAO the entities are loaded from
+     */
+    public BatchLoader(DAO<T> dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * Requests an entity. The returned future completes with the entity, or with null if no
+     * entity has the ID, when the next {@link #dispatch()} runs; it is already complete if the
+     * ID has been loaded before.
+     *
+     * @param id the entity ID
+     * @return a future for the entity
+     */
+    public synchronized CompletableFuture<T> load(int id) {
+        CompletableFuture<T> future = futures.get(id);
+        if (future == null) {
+            future = new CompletableFuture<>();
+            futures.put(id, future);
+            pending.put(id, future);
+        }
+        return future;
+    }
+
+    /**
+     * Requests several entities.
+     *
+     * @param ids the entity IDs
+     * @return a future for the entities found, keyed by ID
+     */
+    public synchronized CompletableFuture<Map<Integer, T>> loadMany(Collection<Integer> ids) {
+        List<Integer> requested = new ArrayList<>(ids);
+        List<CompletableFuture<T>> requestedFutures = new ArrayList<>(requested.size());
+        for (int id : requested) {
+            requestedFutures.add(load(id));
+        }
+        return CompletableFuture.allOf(requestedFutures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<Integer, T> entities = new LinkedHashMap<>();
+            for (int i = 0; i < requested.size(); i++) {
+                T entity = requestedFutures.get(i).join();
+                if (entity != null) {
+                    entities.put(requested.get(i), entity);
+                }
+            }
+            return entities;
+        });
+    }
+
+    /**
+     * Fetches every entity requested since the last dispatch in one batched lookup and
+     * completes their futures. Does nothing if no request is pending. If the lookup fails,
+     * the pending futures complete exceptionally and are forgotten, so a later request retries.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public void dispatch() throws SQLException {
+        Map<Integer, CompletableFuture<T>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+            dispatchCount++;
+        }
+
+        Map<Integer, T> found;
+        try {
+            found = dao.findByIds(batch.keySet());
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                futures.keySet().removeAll(batch.keySet());
+            }
+            for (CompletableFuture<T> future : batch.values()) {
+                future.completeExceptionally(e);
+            }
+            throw e;
+        }
+
+        for (Map.Entry<Integer, CompletableFuture<T>> request : batch.entrySet()) {
+            request.getValue().complete(found.get(request.getKey()));
+        }
+    }
+
+    /**
+     * Gets the number of batched lookups this loader has sent.
+     *
+     * @return the dispatch count
+     */
+    public synchronized int getDispatchCount() {
+        return dispatchCount;
+    }
+
+    /**
+     * Forgets every loaded entity, so the next requests go to the database again.
+     * Requests that are still pending are kept.
+     */
+    public synchronized void clear() {
+        futures.keySet().retainAll(pending.keySet());
+    }
+}
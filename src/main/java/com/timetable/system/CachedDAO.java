@@ -0,0 +1,255 @@
+package com.timetable.system;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * CachedDAO wraps a DAO with a write-through, ID-indexed cache for reference data that is
+ * read far more often than it changes.
+ *
+ * <p>The first {@link #findAll()} loads the whole table; later scans and lookups are served
+ * from memory for as long as the table fits in the cache. Writes go to the database first and
+ * are then applied to the cache, and every change bumps a version counter that screens can
+ * compare to decide whether to redraw. The cache is bounded: beyond its capacity the least
+ * recently used entities are evicted and scans go back to the database.</p>
+ *
+ * <p>Cached entities are shared between callers and must not be modified other than through
+ * {@link #save(BaseEntity)}. Changes made to the database behind the cache's back are only
+ * seen after {@link #invalidate()}.</p>
+ *
+ * @param <T> the entity type
+ */
+public class CachedDAO<T extends BaseEntity> implements DAO<T> {
+    private final DAO<T> delegate;
+    private final int capacity;
+    private final LinkedHashMap<Integer, T> entities;
+    private boolean complete;
+    private long version;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs a new CachedDAO.
+     *
+     * @param delegate the DAO that reads and writes the database
+     * @param capacity the maximum number of cached entities
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public CachedDAO(DAO<T> delegate, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.entities = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public synchronized void save(T entity) throws SQLException {
+        if (entity.isSaved()) {
+            update(entity);
+        } else {
+            insert(entity);
+        }
+    }
+
+    @Override
+    public synchronized void insert(T entity) throws SQLException {
+        delegate.insert(entity);
+        put(entity);
+        version++;
+    }
+
+    @Override
+    public synchronized void update(T entity) throws SQLException {
+        try {
+            delegate.update(entity);
+        } catch (SQLException | RuntimeException e) {
+            // The row may have changed or vanished; reload it next time
+            forget(entity.getId());
+            throw e;
+        }
+        put(entity);
+        version++;
+    }
+
+    @Override
+    public synchronized void delete(int id) throws SQLException {
+        try {
+            delegate.delete(id);
+        } catch (SQLException | RuntimeException e) {
+            forget(id);
+            throw e;
+        }
+        entities.remove(id);
+        version++;
+    }
+
+    @Override
+    public synchronized T findById(int id) throws SQLException {
+        T entity = entities.get(id);
+        if (entity != null || complete) {
+            hits++;
+            return entity;
+        }
+        misses++;
+        entity = delegate.findById(id);
+        if (entity != null) {
+            put(entity);
+        }
+        return entity;
+    }
+
+    @Override
+    public synchronized Map<Integer, T> findByIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, T> found = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            if (id == null || found.containsKey(id)) {
+                continue;
+            }
+            T entity = entities.get(id);
+            if (entity != null) {
+                found.put(id, entity);
+            } else if (!complete) {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            hits++;
+            return found;
+        }
+        misses++;
+        for (T entity : delegate.findByIds(missing).values()) {
+            put(entity);
+            found.put(entity.getId(), entity);
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Entities are returned in ID order.</p>
+     */
+    @Override
+    public synchronized List<T> findAll() throws SQLException {
+        if (complete) {
+            hits++;
+            List<T> all = new ArrayList<>(entities.values());
+            all.sort(Comparator.comparingInt(BaseEntity::getId));
+            return all;
+        }
+        misses++;
+        List<T> all = delegate.findAll();
+        entities.clear();
+        for (T entity : all) {
+            put(entity);
+        }
+        complete = all.size() <= capacity;
+        return all;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) throws SQLException {
+        findAll().forEach(action);
+    }
+
+    @Override
+    public Stream<T> stream() throws SQLException {
+        return findAll().stream();
+    }
+
+    /**
+     * Drops every cached entity, so the next reads go to the database. Use this after the
+     * table was changed without going through this cache, such as by a bulk import.
+     */
+    public synchronized void invalidate() {
+        entities.clear();
+        complete = false;
+        version++;
+    }
+
+    /**
+     * Gets the version of the cached data, which increases whenever an entity is written
+     * through the cache or the cache is invalidated.
+     *
+     * @return the version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of reads served from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of reads that had to go to the database.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of cached entities.
+     *
+     * @return the size of the cache
+     */
+    public synchronized int size() {
+        return entities.size();
+    }
+
+    /**
+     * Gets the maximum number of cached entities.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void put(T entity) {
+        entities.put(entity.getId(), entity);
+        if (entities.size() > capacity) {
+            Iterator<T> eldestFirst = entities.values().iterator();
+            eldestFirst.next();
+            eldestFirst.remove();
+            complete = false;
+        }
+    }
+
+    private void forget(int id) {
+        if (entities.remove(id) != null) {
+            complete = false;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CachedDAO{" +
+                "size=" + entities.size() +
+                ", capacity=" + capacity +
+                ", complete=" + complete +
+                ", version=" + version +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                '}';
+    }
+}
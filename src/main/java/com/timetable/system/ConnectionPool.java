@@ -0,0 +1,380 @@
+package com.timetable.system;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConnectionPool is a small bounded pool of JDBC connections.
+ *
+ * <p>{@link #borrow()} hands out a connection wrapper whose {@code close()} returns the
+ * physical connection to the pool instead of closing it, so callers use the usual
+ * try-with-resources idiom. At most {@link DatabaseConfig#getMaxPoolSize()} connections are
+ * open at once; callers beyond that wait up to the acquisition timeout. Idle connections are
+ * reused most recently used first, validated if they have been idle longer than the
+ * validation interval, and closed by a background evictor once idle longer than the idle
+ * timeout, keeping at least the minimum pool size open.</p>
+ *
+ * <p>Each physical connection has its own {@link StatementCache}, so prepared statements
+ * survive between borrows and are shared by every DAO that runs the same SQL. New connections
+ * first run {@link DatabaseConfig#getConnectionInitStatements()}, which for SQLite applies the
+ * tuning pragmas.</p>
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final DatabaseConfig config;
+    private final Driver driver;
+    private final Properties connectionProperties;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalAcquireNanos = new AtomicLong();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    /**
+     * Constructs a new ConnectionPool, resolves the JDBC driver, loading it if this is the
+     * first pool using it, and opens the minimum number of connections.
+     *
+     * @param config the database configuration
+     * @throws SQLException if the driver cannot be loaded or a connection cannot be opened
+     */
+    public ConnectionPool(DatabaseConfig config) throws SQLException {
+        this.config = config;
+        this.driver = JdbcDrivers.forConfig(config);
+        this.connectionProperties = config.getConnectionProperties();
+        this.permits = new Semaphore(config.getMaxPoolSize(), true);
+
+        for (int i = 0; i < config.getMinPoolSize(); i++) {
+            PooledConnection pooled = create();
+            synchronized (idle) {
+                idle.addFirst(pooled);
+            }
+        }
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, config.getIdleTimeoutMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection. Closing the returned connection gives it back to the pool.
+     *
+     * @return a pooled connection
+     * @throws SQLException if the pool is closed, no connection became free within the
+     *         acquisition timeout or a new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLException("Timed out after " + config.getAcquireTimeoutMillis()
+                    + " ms waiting for a database connection (pool size " + config.getMaxPoolSize() + ")");
+        }
+        long waited = System.nanoTime() - start;
+        totalAcquireNanos.addAndGet(waited);
+        maxAcquireNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = create();
+            }
+            activeConnections.incrementAndGet();
+            borrowCount.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new Lease(pooled));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the most recently used idle connection, validating it if it has been idle for a while.
+     *
+     * @return an idle connection, or null if none is left
+     */
+    private PooledConnection takeIdle() {
+        while (true) {
+            PooledConnection pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - pooled.lastUsed < config.getValidationIntervalMillis()
+                    || isValid(pooled)) {
+                return pooled;
+            }
+            destroy(pooled);
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.connection.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection connection = driver.connect(config.getUrl(), connectionProperties);
+        if (connection == null) {
+            throw new SQLException("JDBC driver does not accept " + config.getUrl());
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : config.getConnectionInitStatements()) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        return new PooledConnection(connection, config.getStatementCacheSize() > 0
+                ? new StatementCache(connection, config.getStatementCacheSize(), statementCacheHits, statementCacheMisses)
+                : null);
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        if (pooled.statements != null) {
+            pooled.statements.clear();
+        }
+        try {
+            pooled.connection.close();
+        } catch (SQLException e) {
+            // The connection is being discarded anyway
+        }
+    }
+
+    /**
+     * Takes a connection back from a lease, resetting its transaction state.
+     *
+     * @param pooled the connection
+     * @param broken whether the connection reported a connection-level failure
+     */
+    private void release(PooledConnection pooled, boolean broken) {
+        activeConnections.decrementAndGet();
+        try {
+            boolean reusable = !broken && !closed;
+            if (reusable) {
+                try {
+                    if (!pooled.connection.getAutoCommit()) {
+                        pooled.connection.rollback();
+                        pooled.connection.setAutoCommit(true);
+                    }
+                    reusable = !pooled.connection.isClosed();
+                } catch (SQLException e) {
+                    reusable = false;
+                }
+            }
+            if (reusable) {
+                pooled.lastUsed = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.addFirst(pooled);
+                }
+            } else {
+                destroy(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes connections that have been idle longer than the idle timeout, oldest first,
+     * while more than the minimum number of connections are open.
+     */
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - config.getIdleTimeoutMillis();
+        while (true) {
+            PooledConnection evicted = null;
+            synchronized (idle) {
+                Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+                if (oldestFirst.hasNext() && totalConnections.get() > config.getMinPoolSize()) {
+                    PooledConnection oldest = oldestFirst.next();
+                    if (oldest.lastUsed < cutoff) {
+                        oldestFirst.remove();
+                        evicted = oldest;
+                    }
+                }
+            }
+            if (evicted == null) {
+                return;
+            }
+            evictedCount.incrementAndGet();
+            destroy(evicted);
+        }
+    }
+
+    /**
+     * Gets the configuration the pool was created with.
+     *
+     * @return the configuration
+     */
+    public DatabaseConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Takes a snapshot of the pool counters.
+     *
+     * @return the metrics
+     */
+    public PoolMetrics getMetrics() {
+        int idleConnections;
+        synchronized (idle) {
+            idleConnections = idle.size();
+        }
+        return new PoolMetrics(totalConnections.get(), activeConnections.get(), idleConnections,
+                permits.getQueueLength(), borrowCount.get(), createdCount.get(), destroyedCount.get(),
+                evictedCount.get(), timeoutCount.get(), totalAcquireNanos.get(), maxAcquireNanos.get(),
+                statementCacheHits.get(), statementCacheMisses.get());
+    }
+
+    /**
+     * Checks if the pool has been closed.
+     *
+     * @return true if closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the pool and every idle connection. Borrowed connections are closed when they
+     * are given back.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        while (true) {
+            PooledConnection pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                return;
+            }
+            destroy(pooled);
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private static final class PooledConnection {
+        private final Connection connection;
+        private final StatementCache statements;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection connection, StatementCache statements) {
+            this.connection = connection;
+            this.statements = statements;
+        }
+    }
+
+    /**
+     * The handler behind a borrowed connection: delegates to the physical connection until
+     * closed, then returns it to the pool.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+        private boolean broken;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.connection + (returned ? ", returned]" : "]");
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (pooled.statements != null && method.getName().equals("prepareStatement")) {
+                Class<?>[] parameters = method.getParameterTypes();
+                if (parameters.length == 1) {
+                    return pooled.statements.prepare((Connection) proxy, (String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                if (parameters.length == 2 && parameters[1] == int.class) {
+                    return pooled.statements.prepare((Connection) proxy, (String) args[0], (Integer) args[1]);
+                }
+            }
+            try {
+                return method.invoke(pooled.connection, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    broken |= state != null && state.startsWith("08");
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.timetable.system;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Generic DAO interface defines common database operations for all entities.
@@ -53,6 +57,16 @@ public interface DAO<T extends BaseEntity> {
      */
     T findById(int id) throws SQLException;
     
+    /**
+     * Finds the entities with the given IDs in as few queries as possible.
+     * Duplicate IDs are looked up once and IDs without a matching row are left out.
+     * 
+     * @param ids the entity IDs to find
+     * @return the entities found, keyed by ID
+     * @throws SQLException if a database access error occurs
+     */
+    Map<Integer, T> findByIds(Collection<Integer> ids) throws SQLException;
+    
     /**
      * Finds all entities of this type.
      * 
@@ -60,4 +74,25 @@ public interface DAO<T extends BaseEntity> {
      * @throws SQLException if a database access error occurs
      */
     List<T> findAll() throws SQLException;
+    
+    /**
+     * Passes every entity of this type to an action as it is read, without
+     * collecting them into a list first.
+     * 
+     * @param action the action to run for each entity
+     * @throws SQLException if a database access error occurs
+     */
+    void forEach(Consumer<? super T> action) throws SQLException;
+    
+    /**
+     * Streams every entity of this type from an open database cursor. Rows are read
+     * in batches as the stream is consumed, so memory use does not grow with the table.
+     * The stream holds a pooled connection until it is fully consumed or closed; use it
+     * in a try-with-resources statement. Database errors raised while consuming the
+     * stream are thrown as {@link UncheckedSQLException}.
+     * 
+     * @return a stream of all entities
+     * @throws SQLException if the query cannot be started
+     */
+    Stream<T> stream() throws SQLException;
 }
\ No newline at end of file
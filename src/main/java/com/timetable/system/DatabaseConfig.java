@@ -0,0 +1,433 @@
+package com.timetable.system;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * DatabaseConfig holds the database settings: the JDBC URL, driver and credentials, the
+ * connection pool settings and, for SQLite, the tuning pragmas run on every new connection.
+ *
+ * <p>{@link #load()} resolves each setting from these sources, later ones overriding earlier
+ * ones, so a deployment can switch databases without rebuilding the jar:</p>
+ * <ol>
+ *   <li>database.properties on the classpath, if present;</li>
+ *   <li>the properties file named by the {@value #CONFIG_FILE_PROPERTY} system property or
+ *       the {@value #CONFIG_FILE_VARIABLE} environment variable;</li>
+ *   <li>environment variables named after the keys, such as {@code TIMETABLE_DB_URL} for
+ *       {@code db.url} or {@code TIMETABLE_DB_POOL_MAXSIZE} for {@code db.pool.maxSize};</li>
+ *   <li>system properties with the keys' own names, such as {@code -Ddb.url=...}.</li>
+ * </ol>
+ */
+public final class DatabaseConfig {
+
+    /**
+     * The system property naming an external configuration file.
+     */
+    public static final String CONFIG_FILE_PROPERTY = "timetable.config";
+
+    /**
+     * The environment variable naming an external configuration file.
+     */
+    public static final String CONFIG_FILE_VARIABLE = "TIMETABLE_CONFIG";
+
+    /**
+     * The keys of every database setting.
+     */
+    public static final List<String> KEYS = Collections.unmodifiableList(Arrays.asList(
+            "db.url", "db.driver", "db.user", "db.password", "db.connectTimeoutMillis",
+            "db.pool.minSize", "db.pool.maxSize", "db.pool.idleTimeoutMillis", "db.pool.acquireTimeoutMillis",
+            "db.pool.validationIntervalMillis", "db.pool.validationTimeoutSeconds", "db.pool.statementCacheSize",
+            "db.fetchSize", "db.sqlite.journalMode", "db.sqlite.synchronous", "db.sqlite.cacheSizeKiB",
+            "db.sqlite.mmapSizeBytes", "db.sqlite.busyTimeoutMillis"));
+
+    private final String url;
+    private final String driverClassName;
+    private final String user;
+    private final String password;
+    private final long connectTimeoutMillis;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+    private final int fetchSize;
+    private final String sqliteJournalMode;
+    private final String sqliteSynchronous;
+    private final long sqliteCacheSizeKiB;
+    private final long sqliteMmapSizeBytes;
+    private final long sqliteBusyTimeoutMillis;
+
+    /**
+     * Constructs a new DatabaseConfig from properties. Pool settings that are not given
+     * fall back to their defaults.
+     *
+     * @param properties the properties, using the db.* keys of database.properties
+     * @throws SQLException if db.url is missing or a pool setting is invalid
+     */
+    public DatabaseConfig(Properties properties) throws SQLException {
+        this.url = properties.getProperty("db.url");
+        if (url == null || url.trim().isEmpty()) {
+            throw new SQLException("Missing database setting: db.url");
+        }
+        this.driverClassName = driverClassName(properties.getProperty("db.driver"), url);
+        this.user = properties.getProperty("db.user");
+        this.password = properties.getProperty("db.password");
+        this.connectTimeoutMillis = longProperty(properties, "db.connectTimeoutMillis", 10000);
+        this.minPoolSize = intProperty(properties, "db.pool.minSize", 1);
+        this.maxPoolSize = intProperty(properties, "db.pool.maxSize", 8);
+        this.idleTimeoutMillis = longProperty(properties, "db.pool.idleTimeoutMillis", 300000);
+        this.acquireTimeoutMillis = longProperty(properties, "db.pool.acquireTimeoutMillis", 10000);
+        this.validationIntervalMillis = longProperty(properties, "db.pool.validationIntervalMillis", 30000);
+        this.validationTimeoutSeconds = intProperty(properties, "db.pool.validationTimeoutSeconds", 2);
+        this.statementCacheSize = intProperty(properties, "db.pool.statementCacheSize", 64);
+        this.fetchSize = intProperty(properties, "db.fetchSize", 500);
+        this.sqliteJournalMode = choiceProperty(properties, "db.sqlite.journalMode", "WAL",
+                "DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+        this.sqliteSynchronous = choiceProperty(properties, "db.sqlite.synchronous", "NORMAL",
+                "OFF", "NORMAL", "FULL", "EXTRA");
+        this.sqliteCacheSizeKiB = longProperty(properties, "db.sqlite.cacheSizeKiB", 16384);
+        this.sqliteMmapSizeBytes = longProperty(properties, "db.sqlite.mmapSizeBytes", 268435456);
+        this.sqliteBusyTimeoutMillis = longProperty(properties, "db.sqlite.busyTimeoutMillis", 5000);
+
+        if (minPoolSize < 0 || maxPoolSize < 1 || minPoolSize > maxPoolSize) {
+            throw new SQLException("Invalid pool size: min " + minPoolSize + ", max " + maxPoolSize);
+        }
+        if (connectTimeoutMillis < 0) {
+            throw new SQLException("Invalid connect timeout: " + connectTimeoutMillis);
+        }
+        if (fetchSize < 0) {
+            throw new SQLException("Invalid fetch size: " + fetchSize);
+        }
+        if (sqliteCacheSizeKiB < 0 || sqliteMmapSizeBytes < 0 || sqliteBusyTimeoutMillis < 0) {
+            throw new SQLException("SQLite cache, mmap and busy timeout settings must not be negative");
+        }
+    }
+
+    /**
+     * Loads the configuration from the classpath, the external file, the environment and
+     * the system properties.
+     *
+     * @return the configuration
+     * @throws SQLException if a file is unreadable, the external file is missing or the
+     *         resolved settings are invalid
+     */
+    public static DatabaseConfig load() throws SQLException {
+        return load(System.getProperties(), System.getenv());
+    }
+
+    /**
+     * Loads the configuration with the given system properties and environment.
+     *
+     * @param systemProperties the system properties
+     * @param environment the environment variables
+     * @return the configuration
+     * @throws SQLException if a file is unreadable, the external file is missing or the
+     *         resolved settings are invalid
+     */
+    static DatabaseConfig load(Properties systemProperties, Map<String, String> environment) throws SQLException {
+        Properties properties = new Properties();
+        try (InputStream input = DatabaseConfig.class.getClassLoader().getResourceAsStream("database.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to read database.properties", e);
+        }
+
+        String file = systemProperties.getProperty(CONFIG_FILE_PROPERTY, environment.get(CONFIG_FILE_VARIABLE));
+        if (file != null && !file.trim().isEmpty()) {
+            Path path = Paths.get(file.trim());
+            try (InputStream input = Files.newInputStream(path)) {
+                properties.load(input);
+            } catch (NoSuchFileException e) {
+                throw new SQLException("Configuration file not found: " + path, e);
+            } catch (IOException e) {
+                throw new SQLException("Failed to read configuration file " + path, e);
+            }
+        }
+
+        for (String key : KEYS) {
+            String value = environment.get(environmentVariable(key));
+            if (value != null) {
+                properties.setProperty(key, value);
+            }
+        }
+        for (String key : KEYS) {
+            String value = systemProperties.getProperty(key);
+            if (value != null) {
+                properties.setProperty(key, value);
+            }
+        }
+        return new DatabaseConfig(properties);
+    }
+
+    /**
+     * Gets the environment variable that overrides a setting: {@code TIMETABLE_} followed by
+     * the key in upper case with dots replaced by underscores.
+     *
+     * @param key the setting key, such as db.pool.maxSize
+     * @return the variable name, such as TIMETABLE_DB_POOL_MAXSIZE
+     */
+    public static String environmentVariable(String key) {
+        return "TIMETABLE_" + key.replace('.', '_').toUpperCase(Locale.ROOT);
+    }
+
+    private static String driverClassName(String driver, String url) {
+        if (driver != null && !driver.trim().isEmpty()) {
+            return driver.trim();
+        }
+        if (url.startsWith("jdbc:sqlite:")) {
+            return "org.sqlite.JDBC";
+        }
+        if (url.startsWith("jdbc:mysql:")) {
+            return "com.mysql.cj.jdbc.Driver";
+        }
+        return null;
+    }
+
+    private static String choiceProperty(Properties properties, String key, String defaultValue,
+                                         String... choices) throws SQLException {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        String choice = value.trim().toUpperCase(Locale.ROOT);
+        if (!Arrays.asList(choices).contains(choice)) {
+            throw new SQLException("Invalid value for database setting " + key + ": " + value
+                    + ", expected one of " + Arrays.toString(choices));
+        }
+        return choice;
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue) throws SQLException {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Invalid number for database setting " + key + ": " + value, e);
+        }
+    }
+
+    private static long longProperty(Properties properties, String key, long defaultValue) throws SQLException {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Invalid number for database setting " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Gets the JDBC URL.
+     *
+     * @return the URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Gets the JDBC driver class, given by db.driver or inferred from the URL.
+     *
+     * @return the driver class name, or null to let DriverManager find a driver for the URL
+     */
+    public String getDriverClassName() {
+        return driverClassName;
+    }
+
+    /**
+     * Gets the database user.
+     *
+     * @return the user, or null if not set
+     */
+    public String getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the database password.
+     *
+     * @return the password, or null if not set
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Gets how long opening a connection to a database server may take. SQLite opens local
+     * files and ignores it.
+     *
+     * @return the connect timeout in milliseconds, or 0 for no timeout
+     */
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * Gets the connection properties passed to the driver: the credentials and, for MySQL,
+     * the connect timeout.
+     *
+     * @return the connection properties
+     */
+    public Properties getConnectionProperties() {
+        Properties properties = new Properties();
+        if (user != null) {
+            properties.setProperty("user", user);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        if (isMySQL()) {
+            properties.setProperty("connectTimeout", String.valueOf(connectTimeoutMillis));
+        }
+        return properties;
+    }
+
+    /**
+     * Gets the number of connections the pool keeps open even when idle.
+     *
+     * @return the minimum pool size
+     */
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    /**
+     * Gets the maximum number of connections the pool opens.
+     *
+     * @return the maximum pool size
+     */
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Gets how long a connection may stay idle before it is closed.
+     *
+     * @return the idle timeout in milliseconds
+     */
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Gets how long a caller waits for a connection before giving up.
+     *
+     * @return the acquisition timeout in milliseconds
+     */
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    /**
+     * Gets how long a connection may stay idle before it is validated again on borrow.
+     *
+     * @return the validation interval in milliseconds
+     */
+    public long getValidationIntervalMillis() {
+        return validationIntervalMillis;
+    }
+
+    /**
+     * Gets the timeout of a single validation.
+     *
+     * @return the validation timeout in seconds
+     */
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    /**
+     * Gets the number of prepared statements cached per connection.
+     *
+     * @return the statement cache size, or 0 if statement caching is disabled
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Gets the number of rows the driver is asked to fetch per round trip when DAOs scan a table.
+     *
+     * @return the fetch size, or 0 to leave the choice to the driver
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Gets the statements run on every new connection before it is first handed out. For
+     * SQLite these are the tuning pragmas: the journal mode (WAL by default, so readers do not
+     * block the writer), synchronous=NORMAL, foreign key enforcement so that the schema's
+     * ON DELETE CASCADE rules apply, the page cache and memory-mapped I/O sizes, and a busy
+     * timeout for writers waiting on each other. Other databases need none.
+     *
+     * @return the statements, in execution order
+     */
+    public List<String> getConnectionInitStatements() {
+        if (!isSQLite()) {
+            return Collections.emptyList();
+        }
+        List<String> statements = new ArrayList<>();
+        statements.add("PRAGMA journal_mode = " + sqliteJournalMode);
+        statements.add("PRAGMA synchronous = " + sqliteSynchronous);
+        statements.add("PRAGMA foreign_keys = ON");
+        // A negative cache size is in KiB rather than pages
+        statements.add("PRAGMA cache_size = -" + sqliteCacheSizeKiB);
+        statements.add("PRAGMA mmap_size = " + sqliteMmapSizeBytes);
+        statements.add("PRAGMA busy_timeout = " + sqliteBusyTimeoutMillis);
+        return statements;
+    }
+
+    /**
+     * Checks if the configuration points at an SQLite database.
+     *
+     * @return true for SQLite, false otherwise
+     */
+    public boolean isSQLite() {
+        return url.startsWith("jdbc:sqlite:");
+    }
+
+    /**
+     * Checks if the configuration points at a MySQL database.
+     *
+     * @return true for MySQL, false otherwise
+     */
+    public boolean isMySQL() {
+        return url.startsWith("jdbc:mysql:");
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseConfig{" +
+                "url='" + url + '\'' +
+                ", driver='" + driverClassName + '\'' +
+                ", user='" + user + '\'' +
+                ", minPoolSize=" + minPoolSize +
+                ", maxPoolSize=" + maxPoolSize +
+                ", idleTimeoutMillis=" + idleTimeoutMillis +
+                ", acquireTimeoutMillis=" + acquireTimeoutMillis +
+                ", fetchSize=" + fetchSize +
+                '}';
+    }
+}
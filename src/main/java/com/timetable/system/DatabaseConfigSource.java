@@ -0,0 +1,20 @@
+package com.timetable.system;
+
+import java.sql.SQLException;
+
+/**
+ * DatabaseConfigSource supplies the configuration that {@link DatabaseConnection} creates its
+ * pool from. The default source reads database.properties; tests and benchmarks install their
+ * own, such as an {@link InMemoryDatabase}.
+ */
+@FunctionalInterface
+public interface DatabaseConfigSource {
+
+    /**
+     * Loads the configuration.
+     *
+     * @return the configuration
+     * @throws SQLException if the configuration is missing or invalid
+     */
+    DatabaseConfig load() throws SQLException;
+}
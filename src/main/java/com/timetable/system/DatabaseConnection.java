@@ -1,59 +1,87 @@
 package com.timetable.system;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Properties;
 
 /**
- * DatabaseConnection class manages the JDBC connection to the database.
- * It supports both SQLite and MySQL based on the configuration in database.properties.
+ * DatabaseConnection class manages access to the database through a shared {@link ConnectionPool}.
+ * It supports both SQLite and MySQL. The pool is created from the configuration of a
+ * {@link DatabaseConfigSource}, by default {@link DatabaseConfig#load()}, which is read once when the
+ * pool is created.
  */
 public class DatabaseConnection {
-    private static Connection connection = null;
-    
+    private static final DatabaseConfigSource DEFAULT_CONFIG_SOURCE = DatabaseConfig::load;
+
+    private static volatile ConnectionPool pool = null;
+    private static volatile DatabaseConfigSource configSource = DEFAULT_CONFIG_SOURCE;
+
     /**
-     * Gets a database connection.
-     * 
-     * @return Connection object
-     * @throws SQLException if a database access error occurs
+     * Gets the shared connection pool, creating it on first use.
+     *
+     * @return the connection pool
+     * @throws SQLException if the configuration is invalid or the database cannot be reached
      */
-    public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            try (InputStream input = DatabaseConnection.class.getClassLoader().getResourceAsStream("database.properties")) {
-                Properties prop = new Properties();
-                prop.load(input);
-                
-                String url = prop.getProperty("db.url");
-                String user = prop.getProperty("db.user");
-                String password = prop.getProperty("db.password");
-                
-                // Load the JDBC driver
-                if (url.startsWith("jdbc:sqlite:")) {
-                    Class.forName("org.sqlite.JDBC");
-                } else if (url.startsWith("jdbc:mysql:")) {
-                    Class.forName("com.mysql.cj.jdbc.Driver");
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null || current.isClosed()) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null || current.isClosed()) {
+                    current = new ConnectionPool(configSource.load());
+                    pool = current;
                 }
-                
-                // Establish connection
-                connection = DriverManager.getConnection(url, user, password);
-            } catch (IOException | ClassNotFoundException e) {
-                throw new SQLException("Failed to establish database connection", e);
             }
         }
-        return connection;
+        return current;
+    }
+
+    /**
+     * Gets the source the pool's configuration is loaded from.
+     *
+     * @return the configuration source
+     */
+    public static DatabaseConfigSource getConfigSource() {
+        return configSource;
+    }
+
+    /**
+     * Switches to another configuration source. The current pool is closed and the shared
+     * entity caches are invalidated, so the next access connects to the new database.
+     *
+     * @param source the configuration source, or null to go back to {@link DatabaseConfig#load()}
+     * @throws SQLException if a database access error occurs
+     */
+    public static void setConfigSource(DatabaseConfigSource source) throws SQLException {
+        synchronized (DatabaseConnection.class) {
+            closeConnection();
+            configSource = source != null ? source : DEFAULT_CONFIG_SOURCE;
+        }
+        EntityCaches.invalidateAll();
+    }
+
+    /**
+     * Borrows a database connection from the pool.
+     * Callers must close the connection, which returns it to the pool.
+     *
+     * @return Connection object
+     * @throws SQLException if a database access error occurs
+     */
+    public static Connection getConnection() throws SQLException {
+        return getPool().borrow();
     }
-    
+
     /**
-     * Closes the database connection.
-     * 
+     * Closes the connection pool and its connections. The next call to
+     * {@link #getConnection()} creates a new pool.
+     *
      * @throws SQLException if a database access error occurs
      */
     public static void closeConnection() throws SQLException {
-        if (connection != null && !connection.isClosed()) {
-            connection.close();
+        synchronized (DatabaseConnection.class) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.timetable.system;
+
+import java.sql.SQLException;
+
+/**
+ * EntityCaches holds the shared {@link CachedDAO} instances for the reference data:
+ * lecturers, courses, venues and timeslots. Every screen reads and writes these entities
+ * through the same caches, so switching between screens does not reload them and a change
+ * made on one screen is seen by the others.
+ */
+public final class EntityCaches {
+
+    // Maximum number of entities cached per table
+    private static final int CAPACITY = 10000;
+
+    private static CachedDAO<Lecturer> lecturers;
+    private static CachedDAO<Course> courses;
+    private static CachedDAO<Venue> venues;
+    private static CachedDAO<Timeslot> timeslots;
+
+    private EntityCaches() {
+    }
+
+    /**
+     * Gets the shared lecturer cache, creating it on first use.
+     *
+     * @return the lecturer cache
+     * @throws SQLException if the connection pool cannot be created
+     */
+    public static synchronized CachedDAO<Lecturer> lecturers() throws SQLException {
+        if (lecturers == null) {
+            lecturers = new CachedDAO<>(new LecturerDAO(), CAPACITY);
+        }
+        return lecturers;
+    }
+
+    /**
+     * Gets the shared course cache, creating it on first use.
+     *
+     * @return the course cache
+     * @throws SQLException if the connection pool cannot be created
+     */
+    public static synchronized CachedDAO<Course> courses() throws SQLException {
+        if (courses == null) {
+            courses = new CachedDAO<>(new CourseDAO(), CAPACITY);
+        }
+        return courses;
+    }
+
+    /**
+     * Gets the shared venue cache, creating it on first use.
+     *
+     * @return the venue cache
+     * @throws SQLException if the connection pool cannot be created
+     */
+    public static synchronized CachedDAO<Venue> venues() throws SQLException {
+        if (venues == null) {
+            venues = new CachedDAO<>(new VenueDAO(), CAPACITY);
+        }
+        return venues;
+    }
+
+    /**
+     * Gets the shared timeslot cache, creating it on first use.
+     *
+     * @return the timeslot cache
+     * @throws SQLException if the connection pool cannot be created
+     */
+    public static synchronized CachedDAO<Timeslot> timeslots() throws SQLException {
+        if (timeslots == null) {
+            timeslots = new CachedDAO<>(new TimeslotDAO(), CAPACITY);
+        }
+        return timeslots;
+    }
+
+    /**
+     * Invalidates every cache that has been created, so the next reads go to the database.
+     */
+    public static synchronized void invalidateAll() {
+        CachedDAO<?>[] caches = {lecturers, courses, venues, timeslots};
+        for (CachedDAO<?> cache : caches) {
+            if (cache != null) {
+                cache.invalidate();
+            }
+        }
+    }
+}
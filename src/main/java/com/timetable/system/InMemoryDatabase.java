@@ -0,0 +1,168 @@
+package com.timetable.system;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InMemoryDatabase is the database profile for tests and benchmarks: a private SQLite database
+ * held in memory, which the pool's connections share through SQLite's shared cache.
+ *
+ * <p>The schema is migrated once per JVM into a template database. Each new InMemoryDatabase
+ * is a copy of that template, so it starts with the current schema and no data without running
+ * the migrations again. The database lives until {@link #close()}, even if the connection pool
+ * using it is closed in between.</p>
+ *
+ * <pre>
+ * try (InMemoryDatabase database = InMemoryDatabase.create()) {
+ *     DatabaseConnection.setConfigSource(database);
+ *     ...
+ * }
+ * </pre>
+ */
+public final class InMemoryDatabase implements DatabaseConfigSource, AutoCloseable {
+
+    private static final String TEMPLATE_NAME = "timetable-template";
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    // Keeps the template alive for the lifetime of the JVM
+    private static Connection template;
+
+    private final String name;
+    private final Connection keepAlive;
+    private final DatabaseConfig config;
+
+    private InMemoryDatabase(String name, Connection keepAlive) throws SQLException {
+        this.name = name;
+        this.keepAlive = keepAlive;
+        Properties properties = new Properties();
+        properties.setProperty("db.url", "jdbc:sqlite:" + uri(name));
+        properties.setProperty("db.pool.minSize", "1");
+        properties.setProperty("db.sqlite.journalMode", "MEMORY");
+        this.config = new DatabaseConfig(properties);
+    }
+
+    /**
+     * Creates a new in-memory database holding a copy of the migrated template schema.
+     *
+     * @return the database
+     * @throws SQLException if the database cannot be created
+     * @throws IOException if a migration script cannot be read
+     */
+    public static InMemoryDatabase create() throws SQLException, IOException {
+        String templateUri = template();
+        String name = "timetable-" + COUNTER.incrementAndGet();
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + uri(name));
+        try {
+            copy(templateUri, connection);
+            return new InMemoryDatabase(name, connection);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private static String uri(String name) {
+        return "file:" + name + "?mode=memory&cache=shared";
+    }
+
+    /**
+     * Creates and migrates the template on first use.
+     *
+     * @return the URI of the template
+     */
+    private static synchronized String template() throws SQLException, IOException {
+        if (template == null) {
+            Connection connection = DriverManager.getConnection("jdbc:sqlite:" + uri(TEMPLATE_NAME));
+            try {
+                DatabaseInitializer.initializeDatabase(connection);
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+            template = connection;
+        }
+        return uri(TEMPLATE_NAME);
+    }
+
+    /**
+     * Copies the tables, indexes and rows of the template into an empty database in one
+     * transaction.
+     */
+    private static void copy(String templateUri, Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ATTACH DATABASE '" + templateUri + "' AS template");
+            try {
+                List<String> definitions = new ArrayList<>();
+                List<String> tables = new ArrayList<>();
+                // Creation order keeps referenced tables ahead of the tables referencing them
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT type, name, sql FROM template.sqlite_master " +
+                        "WHERE sql IS NOT NULL AND name NOT LIKE 'sqlite_%' ORDER BY rowid")) {
+                    while (resultSet.next()) {
+                        definitions.add(resultSet.getString("sql"));
+                        if ("table".equals(resultSet.getString("type"))) {
+                            tables.add(resultSet.getString("name"));
+                        }
+                    }
+                }
+
+                connection.setAutoCommit(false);
+                try {
+                    for (String sql : definitions) {
+                        statement.execute(sql);
+                    }
+                    for (String table : tables) {
+                        statement.execute("INSERT INTO main.\"" + table + "\" SELECT * FROM template.\"" + table + "\"");
+                    }
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } finally {
+                statement.execute("DETACH DATABASE template");
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the database, unique within the JVM.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the configuration of the database: a shared-cache in-memory SQLite URL and a pool
+     * that keeps one connection open.
+     *
+     * @return the configuration
+     */
+    @Override
+    public DatabaseConfig load() {
+        return config;
+    }
+
+    /**
+     * Releases the database. Its memory is freed once the connections of any pool still
+     * using it are closed as well.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public void close() throws SQLException {
+        keepAlive.close();
+    }
+}
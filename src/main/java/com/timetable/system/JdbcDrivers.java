@@ -0,0 +1,51 @@
+package com.timetable.system;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JdbcDrivers loads each JDBC driver class once per JVM and keeps the driver instance, so
+ * pools created later, such as after a reconnect, skip the class lookup and open connections
+ * through the driver directly instead of asking every driver registered with DriverManager.
+ */
+final class JdbcDrivers {
+
+    private static final ConcurrentMap<String, Driver> DRIVERS = new ConcurrentHashMap<>();
+
+    private JdbcDrivers() {
+    }
+
+    /**
+     * Gets the driver for a configuration, loading its class on first use.
+     *
+     * @param config the database configuration
+     * @return the driver
+     * @throws SQLException if the driver class cannot be loaded or does not accept the URL
+     */
+    static Driver forConfig(DatabaseConfig config) throws SQLException {
+        String className = config.getDriverClassName();
+        if (className == null) {
+            return DriverManager.getDriver(config.getUrl());
+        }
+        Driver driver = DRIVERS.get(className);
+        if (driver == null) {
+            try {
+                Class<?> driverClass = Class.forName(className);
+                driver = (Driver) driverClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+                throw new SQLException("Failed to load the JDBC driver " + className, e);
+            }
+            Driver existing = DRIVERS.putIfAbsent(className, driver);
+            if (existing != null) {
+                driver = existing;
+            }
+        }
+        if (!driver.acceptsURL(config.getUrl())) {
+            throw new SQLException("JDBC driver " + className + " does not accept " + config.getUrl());
+        }
+        return driver;
+    }
+}
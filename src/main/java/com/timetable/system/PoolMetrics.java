@@ -0,0 +1,192 @@
+package com.timetable.system;
+
+/**
+ * PoolMetrics is a snapshot of the counters of a {@link ConnectionPool}.
+ */
+public final class PoolMetrics {
+    private final int totalConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int waitingThreads;
+    private final long borrowCount;
+    private final long createdCount;
+    private final long destroyedCount;
+    private final long evictedCount;
+    private final long timeoutCount;
+    private final long totalAcquireNanos;
+    private final long maxAcquireNanos;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    /**
+     * Constructs a new PoolMetrics.
+     *
+     * @param totalConnections the number of open physical connections
+     * @param activeConnections the number of connections currently borrowed
+     * @param idleConnections the number of connections waiting in the pool
+     * @param waitingThreads the estimated number of threads waiting for a connection
+     * @param borrowCount the number of successful borrows
+     * @param createdCount the number of physical connections opened
+     * @param destroyedCount the number of physical connections closed
+     * @param evictedCount the number of idle connections closed by eviction
+     * @param timeoutCount the number of borrows that timed out
+     * @param totalAcquireNanos the total time callers spent waiting for a connection
+     * @param maxAcquireNanos the longest time a caller waited for a connection
+     * @param statementCacheHits the number of prepared statements served from a statement cache
+     * @param statementCacheMisses the number of prepared statements that had to be prepared
+     */
+    public PoolMetrics(int totalConnections, int activeConnections, int idleConnections, int waitingThreads,
+                       long borrowCount, long createdCount, long destroyedCount, long evictedCount,
+                       long timeoutCount, long totalAcquireNanos, long maxAcquireNanos,
+                       long statementCacheHits, long statementCacheMisses) {
+        this.totalConnections = totalConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.borrowCount = borrowCount;
+        this.createdCount = createdCount;
+        this.destroyedCount = destroyedCount;
+        this.evictedCount = evictedCount;
+        this.timeoutCount = timeoutCount;
+        this.totalAcquireNanos = totalAcquireNanos;
+        this.maxAcquireNanos = maxAcquireNanos;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    /**
+     * Gets the number of open physical connections.
+     *
+     * @return the number of connections
+     */
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    /**
+     * Gets the number of connections currently borrowed.
+     *
+     * @return the number of active connections
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * Gets the number of connections waiting in the pool.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * Gets the estimated number of threads waiting for a connection.
+     *
+     * @return the number of waiting threads
+     */
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    /**
+     * Gets the number of successful borrows.
+     *
+     * @return the borrow count
+     */
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * Gets the number of physical connections opened.
+     *
+     * @return the created count
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Gets the number of physical connections closed, for any reason.
+     *
+     * @return the destroyed count
+     */
+    public long getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    /**
+     * Gets the number of idle connections closed by eviction.
+     *
+     * @return the evicted count
+     */
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    /**
+     * Gets the number of borrows that timed out.
+     *
+     * @return the timeout count
+     */
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * Gets the average time a successful borrow waited for a connection.
+     *
+     * @return the average acquisition time in milliseconds
+     */
+    public double getAverageAcquireMillis() {
+        return borrowCount > 0 ? totalAcquireNanos / 1_000_000.0 / borrowCount : 0.0;
+    }
+
+    /**
+     * Gets the longest time a caller waited for a connection.
+     *
+     * @return the maximum acquisition time in milliseconds
+     */
+    public double getMaxAcquireMillis() {
+        return maxAcquireNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the number of prepared statements served from a statement cache.
+     *
+     * @return the hit count
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /**
+     * Gets the number of prepared statements that were not cached and had to be prepared.
+     *
+     * @return the miss count
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+                "total=" + totalConnections +
+                ", active=" + activeConnections +
+                ", idle=" + idleConnections +
+                ", waiting=" + waitingThreads +
+                ", borrowed=" + borrowCount +
+                ", created=" + createdCount +
+                ", destroyed=" + destroyedCount +
+                ", evicted=" + evictedCount +
+                ", timeouts=" + timeoutCount +
+                ", averageAcquireMillis=" + String.format("%.3f", getAverageAcquireMillis()) +
+                ", maxAcquireMillis=" + String.format("%.3f", getMaxAcquireMillis()) +
+                ", statementCacheHits=" + statementCacheHits +
+                ", statementCacheMisses=" + statementCacheMisses +
+                '}';
+    }
+}
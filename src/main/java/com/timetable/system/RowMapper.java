@@ -0,0 +1,24 @@
+package com.timetable.system;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowMapper converts the current row of a ResultSet into an entity.
+ * Mappers read columns by position, in the order of the DAO's column list,
+ * so no column name is looked up per row.
+ * 
+ * @param <T> the entity type
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    
+    /**
+     * Maps the current row.
+     * 
+     * @param resultSet the result set, positioned on a row
+     * @return the entity
+     * @throws SQLException if a database access error occurs
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+}
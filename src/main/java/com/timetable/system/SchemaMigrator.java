@@ -0,0 +1,252 @@
+package com.timetable.system;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SchemaMigrator brings a database schema up to date by running numbered migration scripts.
+ *
+ * <p>The scripts live on the classpath as {@code V1.sql}, {@code V2.sql}, ... in a directory per
+ * database, {@code db/migration/sqlite} or {@code db/migration/mysql}. The first line of each
+ * script is a comment of the form {@code -- V<n>: description}. The version of every applied
+ * script is recorded in the {@code schema_version} table.</p>
+ *
+ * <p>When the schema is current, {@link #migrate(Connection)} costs one query for the recorded
+ * version and a classpath lookup for the next script. Otherwise all pending scripts and their
+ * version rows are applied in a single transaction, so a failing script leaves the schema as
+ * it was. MySQL commits DDL statements implicitly, so there a failed script may leave its
+ * earlier statements applied, but its version is not recorded.</p>
+ */
+public class SchemaMigrator {
+
+    private static final String CREATE_VERSION_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT PRIMARY KEY, " +
+            "description VARCHAR(255) NOT NULL, " +
+            "installed_at VARCHAR(32) NOT NULL)";
+
+    private static final String CURRENT_VERSION_SQL = "SELECT MAX(version) FROM schema_version";
+
+    private static final String INSERT_VERSION_SQL =
+            "INSERT INTO schema_version (version, description, installed_at) VALUES (?, ?, ?)";
+
+    private final String location;
+
+    /**
+     * Constructs a new SchemaMigrator.
+     *
+     * @param location the classpath directory holding the migration scripts, such as
+     *                 {@code db/migration/sqlite}
+     */
+    public SchemaMigrator(String location) {
+        this.location = location.endsWith("/") ? location.substring(0, location.length() - 1) : location;
+    }
+
+    /**
+     * Creates a migrator for the scripts matching the database behind a connection.
+     *
+     * @param connection the connection
+     * @return the migrator
+     * @throws SQLException if a database access error occurs
+     */
+    public static SchemaMigrator forConnection(Connection connection) throws SQLException {
+        boolean mysql = connection.getMetaData().getURL().startsWith("jdbc:mysql:");
+        return new SchemaMigrator(mysql ? "db/migration/mysql" : "db/migration/sqlite");
+    }
+
+    /**
+     * Gets the classpath directory holding the migration scripts.
+     *
+     * @return the location
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Gets the schema version recorded in a database.
+     *
+     * @param connection the connection
+     * @return the version, or 0 if no migration has been applied
+     * @throws SQLException if a database access error occurs
+     */
+    public int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(CURRENT_VERSION_SQL)) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            // Only a missing version table means an unversioned database
+            try (ResultSet tables = connection.getMetaData().getTables(null, null, "schema_version", null)) {
+                if (tables.next()) {
+                    throw e;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the version of the newest migration script.
+     *
+     * @return the latest version, or 0 if there are no scripts
+     */
+    public int getLatestVersion() {
+        int version = 0;
+        while (SchemaMigrator.class.getClassLoader().getResource(scriptName(version + 1)) != null) {
+            version++;
+        }
+        return version;
+    }
+
+    /**
+     * Applies the migration scripts a database has not seen yet, in version order and in a
+     * single transaction. Databases created before schema versioning start from version 0;
+     * the first script creates its tables only if they do not exist.
+     *
+     * @param connection the connection, whose auto-commit mode is restored afterwards
+     * @return the number of scripts applied, 0 if the schema was already current
+     * @throws SQLException if a script fails, in which case the transaction is rolled back
+     * @throws IOException if a script cannot be read
+     */
+    public int migrate(Connection connection) throws SQLException, IOException {
+        if (readScript(getCurrentVersion(connection) + 1) == null) {
+            return 0;
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_VERSION_TABLE_SQL);
+
+            try (PreparedStatement insertVersion = connection.prepareStatement(INSERT_VERSION_SQL)) {
+                // Read the version again inside the transaction in case another process migrated
+                int version = getCurrentVersion(connection);
+                int applied = 0;
+                String script;
+                while ((script = readScript(version + 1)) != null) {
+                    version++;
+                    for (String sql : splitStatements(script)) {
+                        statement.execute(sql);
+                    }
+                    insertVersion.setInt(1, version);
+                    insertVersion.setString(2, describe(version, script));
+                    insertVersion.setString(3, Instant.now().toString());
+                    insertVersion.executeUpdate();
+                    applied++;
+                }
+                connection.commit();
+                return applied;
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private String scriptName(int version) {
+        return location + "/V" + version + ".sql";
+    }
+
+    /**
+     * Reads a migration script.
+     *
+     * @return the script, or null if there is no script for the version
+     */
+    private String readScript(int version) throws IOException {
+        InputStream input = SchemaMigrator.class.getClassLoader().getResourceAsStream(scriptName(version));
+        if (input == null) {
+            return null;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            StringBuilder script = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                script.append(line).append('\n');
+            }
+            return script.toString();
+        }
+    }
+
+    /**
+     * Takes the description from a script's first line, {@code -- V<n>: description}.
+     */
+    private static String describe(int version, String script) {
+        String firstLine = script.substring(0, Math.max(0, script.indexOf('\n'))).trim();
+        String prefix = "-- V" + version + ":";
+        String description = firstLine.startsWith(prefix) ? firstLine.substring(prefix.length()).trim() : "";
+        if (description.isEmpty()) {
+            description = "V" + version;
+        }
+        return description.length() > 255 ? description.substring(0, 255) : description;
+    }
+
+    /**
+     * Splits a script into statements at semicolons, leaving out comments. Semicolons inside
+     * quoted strings and identifiers do not end a statement.
+     *
+     * @param script the script
+     * @return the statements, without their semicolons
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int length = script.length();
+        for (int i = 0; i < length; i++) {
+            char c = script.charAt(i);
+            char next = i + 1 < length ? script.charAt(i + 1) : '\0';
+            if (c == '-' && next == '-') {
+                // Line comment: skip to the end of the line
+                while (i < length && script.charAt(i) != '\n') {
+                    i++;
+                }
+                current.append('\n');
+            } else if (c == '/' && next == '*') {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 1;
+                current.append(' ');
+            } else if (c == '\'' || c == '"' || c == '`') {
+                // Quoted string or identifier, where a doubled quote stands for itself
+                int end = i + 1;
+                while (end < length) {
+                    if (script.charAt(end) == c) {
+                        if (end + 1 < length && script.charAt(end + 1) == c) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                current.append(script, i, Math.min(end + 1, length));
+                i = end;
+            } else if (c == ';') {
+                addStatement(statements, current);
+            } else {
+                current.append(c);
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String sql = current.toString().trim();
+        if (!sql.isEmpty()) {
+            statements.add(sql);
+        }
+        current.setLength(0);
+    }
+}
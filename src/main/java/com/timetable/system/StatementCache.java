@@ -0,0 +1,210 @@
+package com.timetable.system;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StatementCache keeps the prepared statements of one physical connection open between uses,
+ * keyed by SQL text and generated-keys mode, so repeated DAO calls skip parsing and planning.
+ *
+ * <p>Callers get a wrapper whose {@code close()} clears the parameters and hands the statement
+ * back to the cache. The cache is bounded and evicts the least recently used statement. If the
+ * statement for a key is already in use (the same SQL prepared twice at once on one connection),
+ * an uncached statement is returned instead.</p>
+ */
+final class StatementCache {
+    private final Connection connection;
+    private final int capacity;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    /**
+     * Constructs a new StatementCache.
+     *
+     * @param connection the physical connection the statements belong to
+     * @param capacity the maximum number of cached statements
+     * @param hits the counter of lookups served from the cache, shared by the pool
+     * @param misses the counter of lookups that prepared a new statement, shared by the pool
+     */
+    StatementCache(Connection connection, int capacity, AtomicLong hits, AtomicLong misses) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets a prepared statement for the SQL text, from the cache if possible.
+     *
+     * @param owner the pooled connection the caller holds, returned by getConnection()
+     * @param sql the SQL text
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or {@link Statement#NO_GENERATED_KEYS}
+     * @return a statement wrapper
+     * @throws SQLException if the statement cannot be prepared
+     */
+    PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            hits.incrementAndGet();
+        } else if (cached != null) {
+            // The cached statement is busy; give out a private one that is closed on release
+            misses.incrementAndGet();
+            return wrap(owner, new CachedStatement(key, connection.prepareStatement(sql, autoGeneratedKeys), false));
+        } else {
+            misses.incrementAndGet();
+            cached = new CachedStatement(key, connection.prepareStatement(sql, autoGeneratedKeys), true);
+            statements.put(key, cached);
+            evictOverflow();
+        }
+        cached.inUse = true;
+        return wrap(owner, cached);
+    }
+
+    /**
+     * Evicts the least recently used statements that are not in use while the cache is over capacity.
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> eldestFirst = statements.entrySet().iterator();
+        while (statements.size() > capacity && eldestFirst.hasNext()) {
+            CachedStatement eldest = eldestFirst.next().getValue();
+            eldestFirst.remove();
+            eldest.cached = false;
+            if (!eldest.inUse) {
+                closeQuietly(eldest.statement);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of statements currently cached.
+     *
+     * @return the size of the cache
+     */
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes every cached statement.
+     */
+    void clear() {
+        for (CachedStatement cached : statements.values()) {
+            cached.cached = false;
+            if (!cached.inUse) {
+                closeQuietly(cached.statement);
+            }
+        }
+        statements.clear();
+    }
+
+    private PreparedStatement wrap(Connection owner, CachedStatement cached) {
+        return (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, new Checkout(owner, cached));
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // The statement is being discarded anyway
+        }
+    }
+
+    /**
+     * A physical prepared statement and its cache state.
+     */
+    private static final class CachedStatement {
+        private final String key;
+        private final PreparedStatement statement;
+        private boolean cached;
+        private boolean inUse;
+
+        CachedStatement(String key, PreparedStatement statement, boolean cached) {
+            this.key = key;
+            this.statement = statement;
+            this.cached = cached;
+        }
+    }
+
+    /**
+     * The handler behind a statement wrapper: delegates until closed, then resets the
+     * statement and gives it back to the cache, or closes it if it is no longer cached.
+     */
+    private final class Checkout implements InvocationHandler {
+        private final Connection owner;
+        private final CachedStatement cached;
+        private boolean closed;
+
+        Checkout(Connection owner, CachedStatement cached) {
+            this.owner = owner;
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void release() throws SQLException {
+            cached.inUse = false;
+            if (!cached.cached) {
+                cached.statement.close();
+                return;
+            }
+            try {
+                ResultSet open = cached.statement.getResultSet();
+                if (open != null) {
+                    open.close();
+                }
+                cached.statement.clearParameters();
+                cached.statement.clearBatch();
+            } catch (SQLException e) {
+                // A statement that cannot be reset is not reused
+                statements.remove(cached.key);
+                cached.cached = false;
+                cached.statement.close();
+            }
+        }
+    }
+}
@@ -1,131 +1,48 @@
 package com.timetable.system;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * TimeslotDAO implements data access operations for Timeslot entities.
  */
-public class TimeslotDAO implements DAO<Timeslot> {
+public class TimeslotDAO extends AbstractDAO<Timeslot> {
     
-    private Connection connection;
+    // Columns in the order read by ROW_MAPPER
+    private static final String COLUMNS = "id, day_of_week, start_time, end_time";
+    
+    private static final RowMapper<Timeslot> ROW_MAPPER = resultSet -> new Timeslot(
+                resultSet.getInt(1),
+                resultSet.getString(2),
+                resultSet.getString(3),
+                resultSet.getString(4));
     
     /**
-     * Constructs a new TimeslotDAO with a database connection.
+     * Constructs a new TimeslotDAO. Each operation borrows a connection from the shared pool.
      * 
-     * @throws SQLException if a database access error occurs
+     * @throws SQLException if the connection pool cannot be created
      */
     public TimeslotDAO() throws SQLException {
-        this.connection = DatabaseConnection.getConnection();
-    }
-    
-    @Override
-    public void save(Timeslot timeslot) throws SQLException {
-        if (timeslot.isSaved()) {
-            update(timeslot);
-        } else {
-            insert(timeslot);
-        }
+        super("Timeslot", "timeslot", COLUMNS, ROW_MAPPER);
     }
     
     @Override
     public void insert(Timeslot timeslot) throws SQLException {
         String sql = "INSERT INTO Timeslot (day_of_week, start_time, end_time) VALUES (?, ?, ?)";
-        try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        executeInsert(timeslot, sql, statement -> {
             statement.setString(1, timeslot.getDayOfWeek());
             statement.setString(2, timeslot.getStartTime());
             statement.setString(3, timeslot.getEndTime());
-            
-            int affectedRows = statement.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Creating timeslot failed, no rows affected.");
-            }
-            
-            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    timeslot.setId(generatedKeys.getInt(1));
-                } else {
-                    throw new SQLException("Creating timeslot failed, no ID obtained.");
-                }
-            }
-        }
+        });
     }
     
     @Override
     public void update(Timeslot timeslot) throws SQLException {
         String sql = "UPDATE Timeslot SET day_of_week = ?, start_time = ?, end_time = ? WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        executeUpdate(sql, statement -> {
             statement.setString(1, timeslot.getDayOfWeek());
             statement.setString(2, timeslot.getStartTime());
             statement.setString(3, timeslot.getEndTime());
             statement.setInt(4, timeslot.getId());
-            
-            int affectedRows = statement.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Updating timeslot failed, no rows affected.");
-            }
-        }
-    }
-    
-    @Override
-    public void delete(int id) throws SQLException {
-        String sql = "DELETE FROM Timeslot WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, id);
-            
-            int affectedRows = statement.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Deleting timeslot failed, no rows affected.");
-            }
-        }
-    }
-    
-    @Override
-    public Timeslot findById(int id) throws SQLException {
-        String sql = "SELECT * FROM Timeslot WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, id);
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    Timeslot timeslot = new Timeslot();
-                    timeslot.setId(resultSet.getInt("id"));
-                    timeslot.setDayOfWeek(resultSet.getString("day_of_week"));
-                    timeslot.setStartTime(resultSet.getString("start_time"));
-                    timeslot.setEndTime(resultSet.getString("end_time"));
-                    return timeslot;
-                }
-            }
-        }
-        return null;
-    }
-    
-    @Override
-    public List<Timeslot> findAll() throws SQLException {
-        List<Timeslot> timeslots = new ArrayList<>();
-        String sql = "SELECT * FROM Timeslot";
-        
-        try (Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(sql)) {
-            
-            while (resultSet.next()) {
-                Timeslot timeslot = new Timeslot();
-                timeslot.setId(resultSet.getInt("id"));
-                timeslot.setDayOfWeek(resultSet.getString("day_of_week"));
-                timeslot.setStartTime(resultSet.getString("start_time"));
-                timeslot.setEndTime(resultSet.getString("end_time"));
-                timeslots.add(timeslot);
-            }
-        }
-        
-        return timeslots;
+        }, "Updating timeslot failed, no rows affected.");
     }
-}
\ No newline at end of file
+}
@@ -11,126 +11,51 @@ import java.util.List;
 /**
  * TimetableEntryDAO implements data access operations for TimetableEntry entities.
  */
-public class TimetableEntryDAO implements DAO<TimetableEntry> {
+public class TimetableEntryDAO extends AbstractDAO<TimetableEntry> {
     
-    private Connection connection;
+    // Number of rows sent to the database per executeBatch call
+    private static final int BATCH_SIZE = 500;
+    
+    // Columns in the order read by ROW_MAPPER
+    private static final String COLUMNS = "id, course_id, lecturer_id, venue_id, timeslot_id";
+    
+    private static final RowMapper<TimetableEntry> ROW_MAPPER = resultSet -> new TimetableEntry(
+                resultSet.getInt(1),
+                resultSet.getInt(2),
+                resultSet.getInt(3),
+                resultSet.getInt(4),
+                resultSet.getInt(5));
     
     /**
-     * Constructs a new TimetableEntryDAO with a database connection.
+     * Constructs a new TimetableEntryDAO. Each operation borrows a connection from the shared pool.
      * 
-     * @throws SQLException if a database access error occurs
+     * @throws SQLException if the connection pool cannot be created
      */
     public TimetableEntryDAO() throws SQLException {
-        this.connection = DatabaseConnection.getConnection();
-    }
-    
-    @Override
-    public void save(TimetableEntry timetableEntry) throws SQLException {
-        if (timetableEntry.isSaved()) {
-            update(timetableEntry);
-        } else {
-            insert(timetableEntry);
-        }
+        super("TimetableEntry", "timetable entry", COLUMNS, ROW_MAPPER);
     }
     
     @Override
     public void insert(TimetableEntry timetableEntry) throws SQLException {
         String sql = "INSERT INTO TimetableEntry (course_id, lecturer_id, venue_id, timeslot_id) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        executeInsert(timetableEntry, sql, statement -> {
             statement.setInt(1, timetableEntry.getCourseId());
             statement.setInt(2, timetableEntry.getLecturerId());
             statement.setInt(3, timetableEntry.getVenueId());
             statement.setInt(4, timetableEntry.getTimeslotId());
-            
-            int affectedRows = statement.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Creating timetable entry failed, no rows affected.");
-            }
-            
-            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    timetableEntry.setId(generatedKeys.getInt(1));
-                } else {
-                    throw new SQLException("Creating timetable entry failed, no ID obtained.");
-                }
-            }
-        }
+        });
     }
     
     @Override
     public void update(TimetableEntry timetableEntry) throws SQLException {
         String sql = "UPDATE TimetableEntry SET course_id = ?, lecturer_id = ?, venue_id = ?, timeslot_id = ? WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        executeUpdate(sql, statement -> {
             statement.setInt(1, timetableEntry.getCourseId());
             statement.setInt(2, timetableEntry.getLecturerId());
             statement.setInt(3, timetableEntry.getVenueId());
             statement.setInt(4, timetableEntry.getTimeslotId());
             statement.setInt(5, timetableEntry.getId());
-            
-            int affectedRows = statement.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Updating timetable entry failed, no rows affected.");
-            }
-        }
-    }
-    
-    @Override
-    public void delete(int id) throws SQLException {
-        String sql = "DELETE FROM TimetableEntry WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, id);
-            
-            int affectedRows = statement.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Deleting timetable entry failed, no rows affected.");
-            }
-        }
-    }
-    
-    @Override
-    public TimetableEntry findById(int id) throws SQLException {
-        String sql = "SELECT * FROM TimetableEntry WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, id);
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    TimetableEntry timetableEntry = new TimetableEntry();
-                    timetableEntry.setId(resultSet.getInt("id"));
-                    timetableEntry.setCourseId(resultSet.getInt("course_id"));
-                    timetableEntry.setLecturerId(resultSet.getInt("lecturer_id"));
-                    timetableEntry.setVenueId(resultSet.getInt("venue_id"));
-                    timetableEntry.setTimeslotId(resultSet.getInt("timeslot_id"));
-                    return timetableEntry;
-                }
-            }
-        }
-        return null;
-    }
-    
-    @Override
-    public List<TimetableEntry> findAll() throws SQLException {
-        List<TimetableEntry> timetableEntries = new ArrayList<>();
-        String sql = "SELECT * FROM TimetableEntry";
-        
-        try (Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(sql)) {
-            
-            while (resultSet.next()) {
-                TimetableEntry timetableEntry = new TimetableEntry();
-                timetableEntry.setId(resultSet.getInt("id"));
-                timetableEntry.setCourseId(resultSet.getInt("course_id"));
-                timetableEntry.setLecturerId(resultSet.getInt("lecturer_id"));
-                timetableEntry.setVenueId(resultSet.getInt("venue_id"));
-                timetableEntry.setTimeslotId(resultSet.getInt("timeslot_id"));
-                timetableEntries.add(timetableEntry);
-            }
-        }
-        
-        return timetableEntries;
+        }, "Updating timetable entry failed, no rows affected.");
     }
     
     /**
@@ -141,26 +66,7 @@ public class TimetableEntryDAO implements DAO<TimetableEntry> {
      * @throws SQLException if a database access error occurs
      */
     public List<TimetableEntry> findByLecturerId(int lecturerId) throws SQLException {
-        List<TimetableEntry> timetableEntries = new ArrayList<>();
-        String sql = "SELECT * FROM TimetableEntry WHERE lecturer_id = ?";
-        
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, lecturerId);
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    TimetableEntry timetableEntry = new TimetableEntry();
-                    timetableEntry.setId(resultSet.getInt("id"));
-                    timetableEntry.setCourseId(resultSet.getInt("course_id"));
-                    timetableEntry.setLecturerId(resultSet.getInt("lecturer_id"));
-                    timetableEntry.setVenueId(resultSet.getInt("venue_id"));
-                    timetableEntry.setTimeslotId(resultSet.getInt("timeslot_id"));
-                    timetableEntries.add(timetableEntry);
-                }
-            }
-        }
-        
-        return timetableEntries;
+        return query(selectSql() + " WHERE lecturer_id = ?", statement -> statement.setInt(1, lecturerId));
     }
     
     /**
@@ -171,26 +77,7 @@ public class TimetableEntryDAO implements DAO<TimetableEntry> {
      * @throws SQLException if a database access error occurs
      */
     public List<TimetableEntry> findByVenueId(int venueId) throws SQLException {
-        List<TimetableEntry> timetableEntries = new ArrayList<>();
-        String sql = "SELECT * FROM TimetableEntry WHERE venue_id = ?";
-        
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, venueId);
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    TimetableEntry timetableEntry = new TimetableEntry();
-                    timetableEntry.setId(resultSet.getInt("id"));
-                    timetableEntry.setCourseId(resultSet.getInt("course_id"));
-                    timetableEntry.setLecturerId(resultSet.getInt("lecturer_id"));
-                    timetableEntry.setVenueId(resultSet.getInt("venue_id"));
-                    timetableEntry.setTimeslotId(resultSet.getInt("timeslot_id"));
-                    timetableEntries.add(timetableEntry);
-                }
-            }
-        }
-        
-        return timetableEntries;
+        return query(selectSql() + " WHERE venue_id = ?", statement -> statement.setInt(1, venueId));
     }
     
     /**
@@ -201,25 +88,235 @@ public class TimetableEntryDAO implements DAO<TimetableEntry> {
      * @throws SQLException if a database access error occurs
      */
     public List<TimetableEntry> findByCourseId(int courseId) throws SQLException {
-        List<TimetableEntry> timetableEntries = new ArrayList<>();
-        String sql = "SELECT * FROM TimetableEntry WHERE course_id = ?";
-        
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, courseId);
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
+        return query(selectSql() + " WHERE course_id = ?", statement -> statement.setInt(1, courseId));
+    }
+    
+    /**
+     * Replaces the whole timetable with the given entries in a single transaction.
+     * Existing entries are removed with one DELETE and the new entries are inserted in JDBC batches.
+     * If anything fails, the transaction is rolled back and the previous timetable is left intact.
+     * New entries receive their generated IDs once the transaction has committed, on SQLite and
+     * on drivers that report one key per batched row, such as MySQL; with other drivers, and
+     * after a failure, their IDs are left unchanged.
+     * 
+     * @param timetableEntries the entries of the new timetable
+     * @throws SQLException if a database access error occurs
+     */
+    public void replaceAll(List<TimetableEntry> timetableEntries) throws SQLException {
+        int[] ids = new int[timetableEntries.size()];
+        runInTransaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM TimetableEntry");
+            }
+            insertBatch(connection, timetableEntries, ids);
+            return null;
+        });
+        assignIds(timetableEntries, ids);
+    }
+    
+    /**
+     * Deletes and inserts timetable entries in a single transaction, as produced by a timetable repair.
+     * If anything fails, including an entry to delete that no longer exists because the timetable
+     * was replaced in the meantime, the transaction is rolled back and no entry is changed.
+     * Added entries receive their generated IDs as described for {@link #replaceAll(List)}.
+     * 
+     * @param removedEntries the saved entries to delete
+     * @param addedEntries the new entries to insert
+     * @throws SQLException if a database access error occurs or an entry to delete does not exist
+     */
+    public void applyChanges(List<TimetableEntry> removedEntries, List<TimetableEntry> addedEntries) throws SQLException {
+        int[] ids = new int[addedEntries.size()];
+        runInTransaction(connection -> {
+            deleteAndInsert(connection, removedEntries, addedEntries, ids);
+            return null;
+        });
+        assignIds(addedEntries, ids);
+    }
+    
+    /**
+     * Reads the saved timetable and applies the changes planned from it in the same transaction,
+     * so the timetable cannot be replaced between the read and the write. The changes are
+     * applied as by {@link #applyChanges(List, List)}.
+     * 
+     * @param planner plans the changes from the saved timetable
+     * @param <R> the type of the planned changes
+     * @return the planned changes
+     * @throws SQLException if a database access error occurs or an entry to delete does not exist
+     */
+    public <R extends Changes> R applyChanges(Planner<R> planner) throws SQLException {
+        int[][] ids = new int[1][];
+        R changes = runInTransaction(connection -> {
+            List<TimetableEntry> current = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(selectSql());
+                 ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    TimetableEntry timetableEntry = new TimetableEntry();
-                    timetableEntry.setId(resultSet.getInt("id"));
-                    timetableEntry.setCourseId(resultSet.getInt("course_id"));
-                    timetableEntry.setLecturerId(resultSet.getInt("lecturer_id"));
-                    timetableEntry.setVenueId(resultSet.getInt("venue_id"));
-                    timetableEntry.setTimeslotId(resultSet.getInt("timeslot_id"));
-                    timetableEntries.add(timetableEntry);
+                    current.add(ROW_MAPPER.mapRow(resultSet));
+                }
+            }
+            R planned = planner.plan(current);
+            ids[0] = new int[planned.getAddedEntries().size()];
+            deleteAndInsert(connection, planned.getRemovedEntries(), planned.getAddedEntries(), ids[0]);
+            return planned;
+        });
+        assignIds(changes.getAddedEntries(), ids[0]);
+        return changes;
+    }
+    
+    /**
+     * Deletes entries by ID and inserts new ones on a connection inside a transaction.
+     * 
+     * @throws SQLException if an entry to delete does not exist
+     */
+    private void deleteAndInsert(Connection connection, List<TimetableEntry> removedEntries,
+                                 List<TimetableEntry> addedEntries, int[] ids) throws SQLException {
+        String sql = "DELETE FROM TimetableEntry WHERE id = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int start = 0;
+            while (start < removedEntries.size()) {
+                int end = Math.min(start + BATCH_SIZE, removedEntries.size());
+                for (int i = start; i < end; i++) {
+                    statement.setInt(1, removedEntries.get(i).getId());
+                    statement.addBatch();
                 }
+                int[] affectedRows = statement.executeBatch();
+                for (int i = 0; i < affectedRows.length; i++) {
+                    if (affectedRows[i] != 1 && affectedRows[i] != Statement.SUCCESS_NO_INFO) {
+                        throw new SQLException("Timetable entry " + removedEntries.get(start + i).getId()
+                                + " no longer exists. The timetable has changed; generate it again.");
+                    }
+                }
+                start = end;
             }
         }
+        insertBatch(connection, addedEntries, ids);
+    }
+    
+    /**
+     * Inserts entries with batched statements on a connection inside a transaction. The
+     * generated keys are collected into {@code ids}, leaving 0 where the driver reports none;
+     * the entries themselves are not changed, since the transaction may still roll back.
+     */
+    private void insertBatch(Connection connection, List<TimetableEntry> timetableEntries, int[] ids)
+            throws SQLException {
+        String sql = "INSERT INTO TimetableEntry (course_id, lecturer_id, venue_id, timeslot_id) VALUES (?, ?, ?, ?)";
+        boolean sqlite = DatabaseConnection.getPool().getConfig().isSQLite();
+        try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            int start = 0;
+            while (start < timetableEntries.size()) {
+                int end = Math.min(start + BATCH_SIZE, timetableEntries.size());
+                for (int i = start; i < end; i++) {
+                    TimetableEntry timetableEntry = timetableEntries.get(i);
+                    statement.setInt(1, timetableEntry.getCourseId());
+                    statement.setInt(2, timetableEntry.getLecturerId());
+                    statement.setInt(3, timetableEntry.getVenueId());
+                    statement.setInt(4, timetableEntry.getTimeslotId());
+                    statement.addBatch();
+                }
+                
+                int[] affectedRows = statement.executeBatch();
+                for (int rows : affectedRows) {
+                    if (rows == 0) {
+                        throw new SQLException("Creating timetable entry failed, no rows affected.");
+                    }
+                }
+                
+                List<Integer> keys = new ArrayList<>(end - start);
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    while (generatedKeys != null && generatedKeys.next()) {
+                        keys.add(generatedKeys.getInt(1));
+                    }
+                }
+                if (keys.size() == end - start) {
+                    for (int i = start; i < end; i++) {
+                        ids[i] = keys.get(i - start);
+                    }
+                } else if (sqlite && keys.size() == 1) {
+                    // sqlite-jdbc reports only the last key of a batch. The transaction holds
+                    // SQLite's write lock, so the batch's AUTOINCREMENT keys are consecutive.
+                    int first = keys.get(0) - (end - start) + 1;
+                    for (int i = start; i < end; i++) {
+                        ids[i] = first + i - start;
+                    }
+                }
+                start = end;
+            }
+        }
+    }
+    
+    /**
+     * Gives committed entries the IDs collected by {@link #insertBatch}.
+     */
+    private static void assignIds(List<TimetableEntry> timetableEntries, int[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != 0) {
+                timetableEntries.get(i).setId(ids[i]);
+            }
+        }
+    }
+    
+    /**
+     * Runs a unit of work in a transaction on one borrowed connection, committing on success
+     * and rolling back on failure. The connection's auto-commit mode is restored afterwards.
+     */
+    private <R> R runInTransaction(SQLWork<R> work) throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                R result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+    
+    /**
+     * A unit of database work that may throw SQLException.
+     */
+    private interface SQLWork<R> {
+        R run(Connection connection) throws SQLException;
+    }
+    
+    /**
+     * The entries to delete from and insert into a saved timetable, such as a timetable repair.
+     */
+    public interface Changes {
+        
+        /**
+         * Gets the saved entries to delete.
+         * 
+         * @return the entries to delete
+         */
+        List<TimetableEntry> getRemovedEntries();
+        
+        /**
+         * Gets the new entries to insert.
+         * 
+         * @return the entries to insert
+         */
+        List<TimetableEntry> getAddedEntries();
+    }
+    
+    /**
+     * Plans the changes to a saved timetable from its current entries.
+     * 
+     * @param <R> the type of the planned changes
+     */
+    @FunctionalInterface
+    public interface Planner<R extends Changes> {
         
-        return timetableEntries;
+        /**
+         * Plans the changes.
+         * 
+         * @param current the saved timetable entries
+         * @return the changes to apply
+         * @throws SQLException if a database access error occurs
+         */
+        R plan(List<TimetableEntry> current) throws SQLException;
     }
-}
\ No newline at end of file
+}
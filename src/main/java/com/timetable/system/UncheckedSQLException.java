@@ -0,0 +1,30 @@
+package com.timetable.system;
+
+import java.sql.SQLException;
+
+/**
+ * UncheckedSQLException wraps an SQLException thrown where a checked exception cannot be,
+ * such as while a {@link java.util.stream.Stream} returned by {@link DAO#stream()} is consumed.
+ */
+public class UncheckedSQLException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Constructs a new UncheckedSQLException.
+     * 
+     * @param cause the SQLException being wrapped
+     */
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+    
+    /**
+     * Gets the SQLException being wrapped.
+     * 
+     * @return the cause
+     */
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,130 @@
+package com.timetable.system.csv;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvReader reads delimited records one at a time from a buffered reader, so a file of any
+ * size is parsed without being loaded into memory. Quoted fields may contain the delimiter,
+ * line breaks and doubled quotes, as in RFC 4180. Blank lines are skipped.
+ */
+final class CsvReader implements Closeable {
+    private final Reader in;
+    private final char delimiter;
+    private int line = 1;
+    private int recordLine;
+    private int pushedBack = -2;
+
+    /**
+     * Constructs a new CsvReader.
+     *
+     * @param in the reader to read from, which is buffered here if it is not already
+     * @param delimiter the field delimiter, such as ',' or '\t'
+     */
+    CsvReader(Reader in, char delimiter) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in, 64 * 1024);
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or null at the end of the input
+     * @throws IOException if an I/O error occurs or a quoted field is not closed
+     */
+    List<String> readRecord() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = skipLineBreak(c);
+        }
+        if (c == -1) {
+            return null;
+        }
+        if (line == 1 && recordLine == 0 && c == '\uFEFF') {
+            c = read();
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Line " + recordLine + ": unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    int next = skipLineBreak(c);
+                    if (next != -1) {
+                        pushedBack = next;
+                    }
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Gets the line on which the last record read started.
+     *
+     * @return the line number, starting from 1
+     */
+    int getLineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    /**
+     * Consumes a line break starting with the given character and returns the character after it.
+     */
+    private int skipLineBreak(int c) throws IOException {
+        line++;
+        int next = read();
+        if (c == '\r' && next == '\n') {
+            next = read();
+        }
+        return next;
+    }
+}
@@ -0,0 +1,108 @@
+package com.timetable.system.csv;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CsvWriter writes delimited records to a buffered writer, one record per line. A field is
+ * quoted only if it contains the delimiter, a quote or a line break, with quotes doubled as in
+ * RFC 4180.
+ */
+final class CsvWriter implements Flushable {
+    private final Writer out;
+    private final char delimiter;
+    private boolean firstField = true;
+
+    /**
+     * Constructs a new CsvWriter.
+     *
+     * @param out the writer to write to, which is buffered here if it is not already
+     * @param delimiter the field delimiter, such as ',' or '\t'
+     */
+    CsvWriter(Writer out, char delimiter) {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out, 64 * 1024);
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Writes a field of the current record.
+     *
+     * @param value the field value; null is written as an empty field
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    CsvWriter field(String value) throws IOException {
+        if (!firstField) {
+            out.write(delimiter);
+        }
+        firstField = false;
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return this;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+        return this;
+    }
+
+    /**
+     * Writes an integer field of the current record.
+     *
+     * @param value the field value
+     * @return this writer
+     * @throws IOException if an I/O error occurs
+     */
+    CsvWriter field(int value) throws IOException {
+        return field(Integer.toString(value));
+    }
+
+    /**
+     * Writes a whole record.
+     *
+     * @param values the field values
+     * @throws IOException if an I/O error occurs
+     */
+    void record(String... values) throws IOException {
+        for (String value : values) {
+            field(value);
+        }
+        endRecord();
+    }
+
+    /**
+     * Ends the current record.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void endRecord() throws IOException {
+        out.write("\r\n");
+        firstField = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
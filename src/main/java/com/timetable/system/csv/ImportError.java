@@ -0,0 +1,43 @@
+package com.timetable.system.csv;
+
+/**
+ * ImportError describes a row of an import file that was not imported.
+ */
+public final class ImportError {
+    private final int line;
+    private final String message;
+
+    /**
+     * Constructs a new ImportError.
+     *
+     * @param line the line of the file the row starts on
+     * @param message why the row was rejected
+     */
+    public ImportError(int line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    /**
+     * Gets the line of the file the row starts on.
+     *
+     * @return the line number, starting from 1
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Gets why the row was rejected.
+     *
+     * @return the error message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "Line " + line + ": " + message;
+    }
+}
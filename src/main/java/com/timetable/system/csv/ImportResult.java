@@ -0,0 +1,59 @@
+package com.timetable.system.csv;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ImportResult reports the outcome of an import: how many rows were imported and why each of
+ * the other rows was rejected.
+ */
+public final class ImportResult {
+    private final int importedRows;
+    private final List<ImportError> errors;
+
+    /**
+     * Constructs a new ImportResult.
+     *
+     * @param importedRows the number of rows imported
+     * @param errors the rejected rows, in file order
+     */
+    public ImportResult(int importedRows, List<ImportError> errors) {
+        this.importedRows = importedRows;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Gets the number of rows imported.
+     *
+     * @return the number of imported rows
+     */
+    public int getImportedRows() {
+        return importedRows;
+    }
+
+    /**
+     * Gets the rejected rows.
+     *
+     * @return the errors, in file order
+     */
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Checks whether any row was rejected.
+     *
+     * @return true if there were errors, false otherwise
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "importedRows=" + importedRows +
+                ", errors=" + errors.size() +
+                '}';
+    }
+}
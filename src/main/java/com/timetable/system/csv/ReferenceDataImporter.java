@@ -0,0 +1,397 @@
+package com.timetable.system.csv;
+
+import com.timetable.system.DatabaseConnection;
+import com.timetable.system.DatabaseInitializer;
+import com.timetable.system.EntityCaches;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ReferenceDataImporter loads lecturers, courses, venues or timeslots from a CSV or TSV file.
+ *
+ * <p>The first line names the columns, in any order; headers are matched case-insensitively,
+ * with spaces read as underscores, so both {@code day_of_week} and {@code Day Of Week} work.
+ * Records are parsed one at a time and checked against the constraints of the schema: required
+ * columns, the allowed ranks, levels, venue types and days, positive capacities and HH:MM times.
+ * Valid rows are inserted in JDBC batches, each committed in its own transaction. If the database
+ * rejects a batch, its rows are inserted one by one so that only the failing rows are left out.
+ * Every rejected row is reported with its line number, and the entity caches are invalidated
+ * after rows were imported so the screens show them.</p>
+ */
+public class ReferenceDataImporter {
+
+    // Number of rows inserted and committed together
+    private static final int BATCH_SIZE = 500;
+
+    private static final List<String> RANKS =
+            Arrays.asList("Professor", "Associate Professor", "Assistant Professor", "Lecturer");
+    private static final List<String> LEVELS = Arrays.asList("ND", "HND");
+    private static final List<String> VENUE_TYPES = Arrays.asList("Lecture Hall", "Lab");
+    private static final List<String> DAYS =
+            Arrays.asList("Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday");
+
+    /**
+     * The tables that can be imported, with their columns in insert order.
+     */
+    public enum Table {
+        LECTURERS("INSERT INTO Lecturer (name, rank) VALUES (?, ?)", "name", "rank"),
+        COURSES("INSERT INTO Course (title, level, lab_required) VALUES (?, ?, ?)", "title", "level", "lab_required"),
+        VENUES("INSERT INTO Venue (name, capacity, type) VALUES (?, ?, ?)", "name", "capacity", "type"),
+        TIMESLOTS("INSERT INTO Timeslot (day_of_week, start_time, end_time) VALUES (?, ?, ?)",
+                  "day_of_week", "start_time", "end_time");
+
+        private final String insertSql;
+        private final String[] columns;
+
+        Table(String insertSql, String... columns) {
+            this.insertSql = insertSql;
+            this.columns = columns;
+        }
+
+        /**
+         * Gets the column names expected in the header, in insert order.
+         *
+         * @return the column names
+         */
+        public List<String> getColumns() {
+            return Arrays.asList(columns);
+        }
+    }
+
+    private final Table table;
+    private char delimiter = ',';
+
+    /**
+     * Constructs a new ReferenceDataImporter.
+     *
+     * @param table the table to import into
+     */
+    public ReferenceDataImporter(Table table) {
+        this.table = table;
+    }
+
+    /**
+     * Gets the field delimiter.
+     *
+     * @return the delimiter
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Sets the field delimiter, for example a tab for TSV input. The default is a comma.
+     *
+     * @param delimiter the delimiter
+     */
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Gets the delimiter matching a file name: a tab for .tsv files and a comma otherwise.
+     *
+     * @param file the file
+     * @return the delimiter
+     */
+    public static char delimiterFor(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".tsv") ? '\t' : ',';
+    }
+
+    /**
+     * Imports the rows of a UTF-8 file.
+     *
+     * @param file the file to read
+     * @return the number of imported rows and the rejected rows
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public ImportResult importFrom(Path file) throws SQLException, IOException {
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(in);
+        }
+    }
+
+    /**
+     * Imports the rows read from a reader, which is not closed. Batches committed before an
+     * exception is thrown stay imported.
+     *
+     * @param in the reader
+     * @return the number of imported rows and the rejected rows
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if an I/O error occurs or the input is malformed
+     */
+    public ImportResult importFrom(Reader in) throws SQLException, IOException {
+        List<ImportError> errors = new ArrayList<>();
+        CsvReader csv = new CsvReader(in, delimiter);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return new ImportResult(0, errors);
+        }
+        int[] fieldIndex = fieldIndex(header, errors);
+        if (fieldIndex == null) {
+            return new ImportResult(0, errors);
+        }
+
+        int imported = 0;
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(table.insertSql)) {
+                List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+                List<Integer> lines = new ArrayList<>(BATCH_SIZE);
+                List<String> record;
+                while ((record = csv.readRecord()) != null) {
+                    try {
+                        rows.add(parse(record, fieldIndex));
+                        lines.add(csv.getLineNumber());
+                    } catch (IllegalArgumentException e) {
+                        errors.add(new ImportError(csv.getLineNumber(), e.getMessage()));
+                    }
+                    if (rows.size() == BATCH_SIZE) {
+                        imported += insertBatch(connection, statement, rows, lines, errors);
+                        rows.clear();
+                        lines.clear();
+                    }
+                }
+                imported += insertBatch(connection, statement, rows, lines, errors);
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            if (imported > 0) {
+                EntityCaches.invalidateAll();
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(ImportError::getLine));
+        return new ImportResult(imported, errors);
+    }
+
+    /**
+     * Maps each of the table's columns to its field in a record, or -1 if the file does not
+     * have it. Reports and returns null if a required column is missing.
+     */
+    private int[] fieldIndex(List<String> header, List<ImportError> errors) {
+        List<String> names = new ArrayList<>(header.size());
+        for (String name : header) {
+            String normalized = name.trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+            names.add(normalized.equals("day") ? "day_of_week" : normalized);
+        }
+
+        int[] fieldIndex = new int[table.columns.length];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < table.columns.length; i++) {
+            fieldIndex[i] = names.indexOf(table.columns[i]);
+            if (fieldIndex[i] < 0 && isRequired(table.columns[i])) {
+                missing.add(table.columns[i]);
+            }
+        }
+        if (!missing.isEmpty()) {
+            errors.add(new ImportError(1, "Missing column(s): " + String.join(", ", missing)));
+            return null;
+        }
+        return fieldIndex;
+    }
+
+    private static boolean isRequired(String column) {
+        return !column.equals("rank") && !column.equals("lab_required");
+    }
+
+    /**
+     * Validates a record and converts it to the values of the insert statement.
+     *
+     * @throws IllegalArgumentException if the record breaks a constraint of the table
+     */
+    private Object[] parse(List<String> record, int[] fieldIndex) {
+        String[] fields = new String[fieldIndex.length];
+        for (int i = 0; i < fieldIndex.length; i++) {
+            int index = fieldIndex[i];
+            String value = index >= 0 && index < record.size() ? record.get(index).trim() : "";
+            if (value.isEmpty() && isRequired(table.columns[i])) {
+                throw new IllegalArgumentException("Missing " + table.columns[i]);
+            }
+            fields[i] = value;
+        }
+
+        switch (table) {
+            case LECTURERS:
+                return new Object[] {fields[0], fields[1].isEmpty() ? null : oneOf("rank", fields[1], RANKS)};
+            case COURSES:
+                return new Object[] {fields[0], oneOf("level", fields[1], LEVELS), parseBoolean(fields[2])};
+            case VENUES:
+                return new Object[] {fields[0], parseCapacity(fields[1]), oneOf("type", fields[2], VENUE_TYPES)};
+            case TIMESLOTS:
+                return new Object[] {oneOf("day_of_week", fields[0], DAYS), parseTime("start_time", fields[1]),
+                                     parseTime("end_time", fields[2])};
+            default:
+                throw new IllegalStateException("Unknown table: " + table);
+        }
+    }
+
+    /**
+     * Inserts a batch of rows and commits it. If the database rejects the batch, it is rolled
+     * back and its rows are inserted one at a time, reporting each row that fails.
+     *
+     * @return the number of rows inserted
+     */
+    private static int insertBatch(Connection connection, PreparedStatement statement, List<Object[]> rows,
+                                   List<Integer> lines, List<ImportError> errors) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            for (Object[] row : rows) {
+                bind(statement, row);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+            return rows.size();
+        } catch (SQLException e) {
+            connection.rollback();
+            statement.clearBatch();
+        }
+
+        int inserted = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                bind(statement, rows.get(i));
+                statement.executeUpdate();
+                inserted++;
+            } catch (SQLException e) {
+                errors.add(new ImportError(lines.get(i), e.getMessage()));
+            }
+        }
+        connection.commit();
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement statement, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    }
+
+    /**
+     * Matches a value case-insensitively against the allowed values and returns the allowed
+     * spelling.
+     */
+    private static String oneOf(String column, String value, List<String> allowed) {
+        for (String candidate : allowed) {
+            if (candidate.equalsIgnoreCase(value)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Invalid " + column + " '" + value + "', expected one of " + allowed);
+    }
+
+    private static Boolean parseBoolean(String value) {
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "":
+            case "false":
+            case "no":
+            case "0":
+                return Boolean.FALSE;
+            case "true":
+            case "yes":
+            case "1":
+                return Boolean.TRUE;
+            default:
+                throw new IllegalArgumentException("Invalid lab_required '" + value + "', expected true or false");
+        }
+    }
+
+    private static Integer parseCapacity(String value) {
+        try {
+            int capacity = Integer.parseInt(value);
+            if (capacity > 0) {
+                return capacity;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid capacity '" + value + "', expected a positive number");
+    }
+
+    /**
+     * Checks a time in H:MM or HH:MM format and returns it as HH:MM.
+     */
+    private static String parseTime(String column, String value) {
+        String[] parts = value.split(":");
+        if (parts.length == 2 && parts[1].length() == 2) {
+            try {
+                int hours = Integer.parseInt(parts[0]);
+                int minutes = Integer.parseInt(parts[1]);
+                if (hours >= 0 && hours <= 23 && minutes >= 0 && minutes <= 59) {
+                    return String.format("%02d:%02d", hours, minutes);
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+        }
+        throw new IllegalArgumentException("Invalid " + column + " '" + value + "', expected HH:MM");
+    }
+
+    /**
+     * Imports a file from the command line, without starting the GUI.
+     * Usage: {@code lecturers|courses|venues|timeslots file}. Files ending in .tsv are read as
+     * tab-separated. Exits with status 1 if any row was rejected.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        Table table = null;
+        if (args.length == 2) {
+            try {
+                table = Table.valueOf(args[0].toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown table: " + args[0]);
+            }
+        }
+        if (table == null) {
+            System.err.println("Usage: ReferenceDataImporter lecturers|courses|venues|timeslots file");
+            System.exit(2);
+        }
+
+        Path file = Paths.get(args[1]);
+        ReferenceDataImporter importer = new ReferenceDataImporter(table);
+        importer.setDelimiter(delimiterFor(file));
+        ImportResult result = null;
+        try {
+            DatabaseInitializer.initializeDatabase();
+            result = importer.importFrom(file);
+            System.err.println("Imported " + result.getImportedRows() + " row(s) from " + file + ".");
+            for (ImportError error : result.getErrors()) {
+                System.err.println(error);
+            }
+        } catch (SQLException | IOException e) {
+            System.err.println("Failed to import " + file + ": " + e.getMessage());
+        } finally {
+            try {
+                DatabaseConnection.closeConnection();
+            } catch (SQLException e) {
+                System.err.println("Failed to close the database: " + e.getMessage());
+            }
+        }
+        if (result == null || result.hasErrors()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.timetable.system.csv;
+
+import com.timetable.system.DatabaseConnection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TimetableExporter writes the saved timetable as CSV, one line per timetable entry with its
+ * timeslot, course, lecturer and venue spelled out.
+ *
+ * <p>The rows come from a single JOIN query, ordered by day and time, and are written to the
+ * output as they are read from the cursor, so an export of any size needs no more memory than
+ * one fetch of rows. The export can be limited to one lecturer, one venue or one course level.
+ * The exporter does not use Swing, and {@link #main(String[])} runs it from the command line.</p>
+ */
+public class TimetableExporter {
+
+    /**
+     * Column headers, in the order the fields are written.
+     */
+    public static final String[] HEADERS = {
+        "Day", "Start Time", "End Time", "Course", "Level", "Lecturer", "Venue", "Venue Type"
+    };
+
+    private static final String SELECT_SQL =
+            "SELECT t.day_of_week, t.start_time, t.end_time, c.title, c.level, l.name, v.name, v.type " +
+            "FROM TimetableEntry e " +
+            "JOIN Timeslot t ON t.id = e.timeslot_id " +
+            "JOIN Course c ON c.id = e.course_id " +
+            "JOIN Lecturer l ON l.id = e.lecturer_id " +
+            "JOIN Venue v ON v.id = e.venue_id";
+
+    private static final String ORDER_SQL =
+            " ORDER BY CASE t.day_of_week WHEN 'Monday' THEN 1 WHEN 'Tuesday' THEN 2 WHEN 'Wednesday' THEN 3 " +
+            "WHEN 'Thursday' THEN 4 WHEN 'Friday' THEN 5 WHEN 'Saturday' THEN 6 ELSE 7 END, " +
+            "t.start_time, v.name, c.title";
+
+    private Integer lecturerId;
+    private Integer venueId;
+    private String level;
+    private char delimiter = ',';
+
+    /**
+     * Gets the lecturer the export is limited to.
+     *
+     * @return the lecturer ID, or null to export every lecturer
+     */
+    public Integer getLecturerId() {
+        return lecturerId;
+    }
+
+    /**
+     * Limits the export to one lecturer.
+     *
+     * @param lecturerId the lecturer ID, or null to export every lecturer
+     */
+    public void setLecturerId(Integer lecturerId) {
+        this.lecturerId = lecturerId;
+    }
+
+    /**
+     * Gets the venue the export is limited to.
+     *
+     * @return the venue ID, or null to export every venue
+     */
+    public Integer getVenueId() {
+        return venueId;
+    }
+
+    /**
+     * Limits the export to one venue.
+     *
+     * @param venueId the venue ID, or null to export every venue
+     */
+    public void setVenueId(Integer venueId) {
+        this.venueId = venueId;
+    }
+
+    /**
+     * Gets the course level the export is limited to.
+     *
+     * @return the level, or null to export every level
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    /**
+     * Limits the export to courses of one level.
+     *
+     * @param level the level, ND or HND, or null to export every level
+     * @throws IllegalArgumentException if the level is not ND or HND
+     */
+    public void setLevel(String level) {
+        if (level != null && !level.equals("ND") && !level.equals("HND")) {
+            throw new IllegalArgumentException("Level must be ND or HND: " + level);
+        }
+        this.level = level;
+    }
+
+    /**
+     * Gets the field delimiter.
+     *
+     * @return the delimiter
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Sets the field delimiter, for example a tab for TSV output. The default is a comma.
+     *
+     * @param delimiter the delimiter
+     */
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Exports the timetable to a file, replacing it if it exists.
+     *
+     * @param file the file to write, as UTF-8
+     * @return the number of entries exported
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the file cannot be written
+     */
+    public int export(Path file) throws SQLException, IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            return export(out);
+        }
+    }
+
+    /**
+     * Exports the timetable to a writer, which is flushed but not closed.
+     *
+     * @param out the writer
+     * @return the number of entries exported
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if an I/O error occurs
+     */
+    public int export(Writer out) throws SQLException, IOException {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        String separator = " WHERE ";
+        if (lecturerId != null) {
+            sql.append(separator).append("e.lecturer_id = ?");
+            parameters.add(lecturerId);
+            separator = " AND ";
+        }
+        if (venueId != null) {
+            sql.append(separator).append("e.venue_id = ?");
+            parameters.add(venueId);
+            separator = " AND ";
+        }
+        if (level != null) {
+            sql.append(separator).append("c.level = ?");
+            parameters.add(level);
+        }
+        sql.append(ORDER_SQL);
+
+        CsvWriter csv = new CsvWriter(out, delimiter);
+        csv.record(HEADERS);
+        int rows = 0;
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            statement.setFetchSize(DatabaseConnection.getPool().getConfig().getFetchSize());
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    for (int column = 1; column <= HEADERS.length; column++) {
+                        csv.field(resultSet.getString(column));
+                    }
+                    csv.endRecord();
+                    rows++;
+                }
+            }
+        }
+        csv.flush();
+        return rows;
+    }
+
+    /**
+     * Exports the timetable from the command line, without starting the GUI.
+     * Usage: {@code [--lecturer=ID] [--venue=ID] [--level=ND|HND] [--tsv] [file]}.
+     * Without a file the CSV is written to standard output.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        TimetableExporter exporter = new TimetableExporter();
+        String file = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--lecturer=")) {
+                    exporter.setLecturerId(Integer.valueOf(arg.substring("--lecturer=".length())));
+                } else if (arg.startsWith("--venue=")) {
+                    exporter.setVenueId(Integer.valueOf(arg.substring("--venue=".length())));
+                } else if (arg.startsWith("--level=")) {
+                    exporter.setLevel(arg.substring("--level=".length()));
+                } else if (arg.equals("--tsv")) {
+                    exporter.setDelimiter('\t');
+                } else if (!arg.startsWith("--") && file == null) {
+                    file = arg;
+                } else {
+                    throw new IllegalArgumentException("Unknown argument: " + arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: TimetableExporter [--lecturer=ID] [--venue=ID] [--level=ND|HND] [--tsv] [file]");
+            System.exit(2);
+        }
+
+        try {
+            int rows;
+            if (file != null) {
+                rows = exporter.export(Paths.get(file));
+            } else {
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                rows = exporter.export(out);
+            }
+            System.err.println("Exported " + rows + " timetable entries.");
+        } catch (SQLException | IOException e) {
+            System.err.println("Failed to export the timetable: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            try {
+                DatabaseConnection.closeConnection();
+            } catch (SQLException e) {
+                System.err.println("Failed to close the database: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.timetable.system.gui;
+
+import com.timetable.system.solver.SearchBudget;
+
+import javax.swing.*;
+import java.awt.*;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * AsyncDataAccess runs database work off the event dispatch thread and hands the results back
+ * to it, so the UI stays responsive while queries and the solver run.
+ *
+ * <p>Short database calls run one at a time, in submission order, on a dedicated data-access
+ * thread; a refresh queued after a save therefore always sees the save. Long operations such as
+ * timetable generation run on a separate thread behind a modal {@link ProgressDialog} whose
+ * Cancel button cancels the {@link SearchBudget} passed to the task. Completion callbacks run
+ * on the event dispatch thread, and failures are reported in the usual error dialog.</p>
+ */
+final class AsyncDataAccess {
+
+    private static final ExecutorService DATA_EXECUTOR = Executors.newSingleThreadExecutor(daemonThreads("data-access"));
+    private static final ExecutorService BACKGROUND_EXECUTOR = Executors.newCachedThreadPool(daemonThreads("background-task"));
+
+    /**
+     * Runs callbacks on the event dispatch thread.
+     */
+    static final Executor EDT = SwingUtilities::invokeLater;
+
+    private AsyncDataAccess() {
+    }
+
+    /**
+     * Runs a database task on the data-access thread and passes its result to a callback on
+     * the event dispatch thread.
+     *
+     * @param parent the component that owns error dialogs
+     * @param task the database task
+     * @param onSuccess the callback receiving the result
+     * @param failureMessage the start of the error message shown if the task fails
+     * @param <T> the result type
+     * @return a future for the result
+     */
+    static <T> CompletableFuture<T> supply(Component parent, DatabaseTask<T> task,
+                                           Consumer<? super T> onSuccess, String failureMessage) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> call(task), DATA_EXECUTOR);
+        future.whenCompleteAsync((result, failure) -> complete(parent, result, failure, onSuccess, failureMessage), EDT);
+        return future;
+    }
+
+    /**
+     * Runs a database action on the data-access thread and then a callback on the event
+     * dispatch thread.
+     *
+     * @param parent the component that owns error dialogs
+     * @param action the database action
+     * @param onSuccess the callback run after the action succeeded
+     * @param failureMessage the start of the error message shown if the action fails
+     * @return a future completing when the action has run
+     */
+    static CompletableFuture<Void> run(Component parent, DatabaseAction action,
+                                       Runnable onSuccess, String failureMessage) {
+        return supply(parent, () -> {
+            action.run();
+            return null;
+        }, ignored -> onSuccess.run(), failureMessage);
+    }
+
+    /**
+     * Runs a long task on a background thread while a modal progress dialog is shown, and
+     * passes its result to a callback on the event dispatch thread. Must be called on the
+     * event dispatch thread; returns once the task has finished and the dialog is closed.
+     * A task that gives up because its budget was cancelled throws
+     * {@link CancellationException}, which closes the dialog without any message.
+     *
+     * @param parent the component the dialog is shown over
+     * @param title the dialog title
+     * @param message the message shown while the task runs
+     * @param task the task, which should stop soon after its budget is cancelled
+     * @param onSuccess the callback receiving the result
+     * @param failureMessage the start of the error message shown if the task fails
+     * @param <T> the result type
+     * @return a future for the result
+     */
+    static <T> CompletableFuture<T> withProgress(Component parent, String title, String message,
+                                                 ProgressTask<T> task, Consumer<? super T> onSuccess,
+                                                 String failureMessage) {
+        SearchBudget cancellation = new SearchBudget();
+        ProgressDialog dialog = new ProgressDialog(parent, title, message, cancellation);
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> call(() -> task.call(cancellation)),
+                                                                    BACKGROUND_EXECUTOR);
+        future.whenCompleteAsync((result, failure) -> {
+            dialog.close();
+            complete(parent, result, failure, onSuccess, failureMessage);
+        }, EDT);
+        // The dialog is modal, so this returns once the completion callback has closed it
+        dialog.setVisible(true);
+        return future;
+    }
+
+    private static <T> T call(DatabaseTask<T> task) {
+        try {
+            return task.call();
+        } catch (SQLException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static <T> void complete(Component parent, T result, Throwable failure,
+                                     Consumer<? super T> onSuccess, String failureMessage) {
+        if (failure == null) {
+            onSuccess.accept(result);
+            return;
+        }
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (cause instanceof CancellationException) {
+            return;
+        }
+        JOptionPane.showMessageDialog(parent, failureMessage + ": " + cause.getMessage(),
+                                    cause instanceof SQLException ? "Database Error" : "Error",
+                                    JOptionPane.ERROR_MESSAGE);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Database work that produces a result.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface DatabaseTask<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * Database work without a result.
+     */
+    @FunctionalInterface
+    interface DatabaseAction {
+        void run() throws SQLException;
+    }
+
+    /**
+     * Long-running work that can be cancelled through a search budget.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface ProgressTask<T> {
+        T call(SearchBudget cancellation) throws SQLException;
+    }
+}
@@ -1,11 +1,12 @@
 package com.timetable.system.gui;
 
+import com.timetable.system.CachedDAO;
+import com.timetable.system.EntityCaches;
 import com.timetable.system.Availability;
 import com.timetable.system.AvailabilityDAO;
 import com.timetable.system.Lecturer;
-import com.timetable.system.LecturerDAO;
 import com.timetable.system.Timeslot;
-import com.timetable.system.TimeslotDAO;
+import com.timetable.system.solver.TimetableChange;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -19,7 +20,7 @@ import java.util.ArrayList;
 /**
  * AvailabilityPanel class represents the UI for managing lecturer availability.
  */
-public class AvailabilityPanel extends JPanel {
+public class AvailabilityPanel extends JPanel implements RefreshablePanel {
     private JComboBox<Lecturer> lecturerComboBox;
     private JTable availabilityTable;
     private DefaultTableModel tableModel;
@@ -28,8 +29,8 @@ public class AvailabilityPanel extends JPanel {
     private JButton deleteButton;
     private JButton clearButton;
     private AvailabilityDAO availabilityDAO;
-    private LecturerDAO lecturerDAO;
-    private TimeslotDAO timeslotDAO;
+    private CachedDAO<Lecturer> lecturerDAO;
+    private CachedDAO<Timeslot> timeslotDAO;
     private int selectedAvailabilityId = -1;
 
     /**
@@ -38,8 +39,8 @@ public class AvailabilityPanel extends JPanel {
     public AvailabilityPanel() {
         try {
             availabilityDAO = new AvailabilityDAO();
-            lecturerDAO = new LecturerDAO();
-            timeslotDAO = new TimeslotDAO();
+            lecturerDAO = EntityCaches.lecturers();
+            timeslotDAO = EntityCaches.timeslots();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Failed to initialize DAOs: " + e.getMessage(), 
                                         "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -184,36 +185,43 @@ public class AvailabilityPanel extends JPanel {
         });
     }
 
+    @Override
+    public long getDataVersion() {
+        return lecturerDAO == null ? 0 : lecturerDAO.getVersion() + timeslotDAO.getVersion();
+    }
+
+    @Override
+    public void refresh() {
+        loadLecturers();
+        loadTimeslots();
+    }
+
     /**
-     * Loads lecturers into the lecturer combo box.
+     * Loads lecturers into the lecturer combo box, keeping the selected lecturer selected.
      */
     private void loadLecturers() {
-        try {
-            List<Lecturer> lecturers = lecturerDAO.findAll();
+        AsyncDataAccess.supply(this, lecturerDAO::findAll, lecturers -> {
+            Lecturer selected = (Lecturer) lecturerComboBox.getSelectedItem();
             lecturerComboBox.removeAllItems();
             for (Lecturer lecturer : lecturers) {
                 lecturerComboBox.addItem(lecturer);
+                if (selected != null && lecturer.getId() == selected.getId()) {
+                    lecturerComboBox.setSelectedItem(lecturer);
+                }
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load lecturers: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to load lecturers");
     }
 
     /**
      * Loads timeslots into the timeslot combo box.
      */
     private void loadTimeslots() {
-        try {
-            List<Timeslot> timeslots = timeslotDAO.findAll();
+        AsyncDataAccess.supply(this, timeslotDAO::findAll, timeslots -> {
             timeslotComboBox.removeAllItems();
             for (Timeslot timeslot : timeslots) {
                 timeslotComboBox.addItem(timeslot);
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load timeslots: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to load timeslots");
     }
 
     /**
@@ -225,23 +233,18 @@ public class AvailabilityPanel extends JPanel {
             return;
         }
 
-        try {
-            // Clear existing data
-            tableModel.setRowCount(0);
-            
-            // Load availabilities from database for the selected lecturer
+        // Load availabilities and their timeslots in the background and build the rows there
+        AsyncDataAccess.supply(this, () -> {
             List<Availability> availabilities = availabilityDAO.findByLecturerId(selectedLecturer.getId());
             
-            // Load all timeslots for display
-            List<Timeslot> timeslots = timeslotDAO.findAll();
-            
-            // Create a map of timeslot ID to timeslot for easy lookup
-            java.util.Map<Integer, Timeslot> timeslotMap = new java.util.HashMap<>();
-            for (Timeslot timeslot : timeslots) {
-                timeslotMap.put(timeslot.getId(), timeslot);
+            // Look up only the timeslots the availabilities refer to
+            java.util.Set<Integer> timeslotIds = new java.util.HashSet<>();
+            for (Availability availability : availabilities) {
+                timeslotIds.add(availability.getTimeslotId());
             }
+            java.util.Map<Integer, Timeslot> timeslotMap = timeslotDAO.findByIds(timeslotIds);
             
-            // Add availabilities to table
+            List<Object[]> rows = new java.util.ArrayList<>();
             for (Availability availability : availabilities) {
                 Timeslot timeslot = timeslotMap.get(availability.getTimeslotId());
                 String timeslotStr = timeslot != null ? 
@@ -253,15 +256,21 @@ public class AvailabilityPanel extends JPanel {
                     selectedLecturer.getName(),
                     timeslotStr
                 };
+                rows.add(row);
+            }
+            return rows;
+        }, rows -> {
+            // Clear existing data
+            tableModel.setRowCount(0);
+            
+            // Add availabilities to table
+            for (Object[] row : rows) {
                 tableModel.addRow(row);
             }
             
             // Clear selection
             availabilityTable.clearSelection();
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load availabilities: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to load availabilities");
     }
 
     /**
@@ -284,34 +293,37 @@ public class AvailabilityPanel extends JPanel {
             return;
         }
 
-        try {
+        // Create availability
+        Availability availability = new Availability();
+        availability.setLecturerId(selectedLecturer.getId());
+        availability.setTimeslotId(selectedTimeslot.getId());
+        
+        AsyncDataAccess.supply(this, () -> {
             // Check if this availability already exists
-            List<Availability> existingAvailabilities = availabilityDAO.findByLecturerId(selectedLecturer.getId());
-            for (Availability availability : existingAvailabilities) {
-                if (availability.getTimeslotId() == selectedTimeslot.getId()) {
-                    JOptionPane.showMessageDialog(this, "This availability already exists.", 
-                                                "Duplicate Entry", JOptionPane.WARNING_MESSAGE);
-                    return;
+            List<Availability> existingAvailabilities = availabilityDAO.findByLecturerId(availability.getLecturerId());
+            for (Availability existing : existingAvailabilities) {
+                if (existing.getTimeslotId() == availability.getTimeslotId()) {
+                    return null;
                 }
             }
             
-            // Create and save availability
-            Availability availability = new Availability();
-            availability.setLecturerId(selectedLecturer.getId());
-            availability.setTimeslotId(selectedTimeslot.getId());
-            
             availabilityDAO.save(availability);
+            return TimetableRepairs.repairAfter(
+                TimetableChange.availabilityAdded(availability.getLecturerId(), availability.getTimeslotId()));
+        }, repaired -> {
+            if (repaired == null) {
+                JOptionPane.showMessageDialog(this, "This availability already exists.", 
+                                            "Duplicate Entry", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
             
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
-            JOptionPane.showMessageDialog(this, "Availability added successfully.", 
+            JOptionPane.showMessageDialog(this, "Availability added successfully." + repaired, 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to add availability: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to add availability");
     }
 
     /**
@@ -332,19 +344,20 @@ public class AvailabilityPanel extends JPanel {
             return;
         }
 
-        try {
-            availabilityDAO.delete(selectedAvailabilityId);
-            
+        int availabilityId = selectedAvailabilityId;
+        AsyncDataAccess.supply(this, () -> {
+            Availability availability = availabilityDAO.findById(availabilityId);
+            availabilityDAO.delete(availabilityId);
+            return availability == null ? "" : TimetableRepairs.repairAfter(
+                TimetableChange.availabilityRemoved(availability.getLecturerId(), availability.getTimeslotId()));
+        }, repaired -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
-            JOptionPane.showMessageDialog(this, "Availability deleted successfully.", 
+            JOptionPane.showMessageDialog(this, "Availability deleted successfully." + repaired, 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to delete availability: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to delete availability");
     }
 
     /**
@@ -1,7 +1,8 @@
 package com.timetable.system.gui;
 
+import com.timetable.system.CachedDAO;
+import com.timetable.system.EntityCaches;
 import com.timetable.system.Course;
-import com.timetable.system.CourseDAO;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -9,12 +10,11 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * CoursePanel class represents the UI for managing courses.
  */
-public class CoursePanel extends JPanel {
+public class CoursePanel extends JPanel implements RefreshablePanel {
     private JTable courseTable;
     private DefaultTableModel tableModel;
     private JTextField titleField;
@@ -24,7 +24,7 @@ public class CoursePanel extends JPanel {
     private JButton updateButton;
     private JButton deleteButton;
     private JButton clearButton;
-    private CourseDAO courseDAO;
+    private CachedDAO<Course> courseDAO;
     private int selectedCourseId = -1;
 
     // Level options
@@ -35,7 +35,7 @@ public class CoursePanel extends JPanel {
      */
     public CoursePanel() {
         try {
-            courseDAO = new CourseDAO();
+            courseDAO = EntityCaches.courses();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Failed to initialize CourseDAO: " + e.getMessage(), 
                                         "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -198,16 +198,25 @@ public class CoursePanel extends JPanel {
         });
     }
 
+    @Override
+    public long getDataVersion() {
+        return courseDAO == null ? 0 : courseDAO.getVersion();
+    }
+
+    @Override
+    public void refresh() {
+        refreshTable();
+    }
+
     /**
      * Refreshes the course table with data from the database.
      */
     private void refreshTable() {
-        try {
+        // Load courses from database in the background
+        AsyncDataAccess.supply(this, courseDAO::findAll, courses -> {
             // Clear existing data
             tableModel.setRowCount(0);
             
-            // Load courses from database
-            List<Course> courses = courseDAO.findAll();
             for (Course course : courses) {
                 Object[] row = {
                     course.getId(),
@@ -220,10 +229,7 @@ public class CoursePanel extends JPanel {
             
             // Clear selection
             courseTable.clearSelection();
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load courses: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to load courses");
     }
 
     /**
@@ -241,25 +247,20 @@ public class CoursePanel extends JPanel {
             return;
         }
 
-        try {
-            // Create and save course
-            Course course = new Course();
-            course.setTitle(title);
-            course.setLevel(level);
-            course.setLabRequired(labRequired);
-            
-            courseDAO.save(course);
-            
+        // Create and save course
+        Course course = new Course();
+        course.setTitle(title);
+        course.setLevel(level);
+        course.setLabRequired(labRequired);
+        
+        AsyncDataAccess.run(this, () -> courseDAO.save(course), () -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
             JOptionPane.showMessageDialog(this, "Course added successfully.", 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to add course: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to add course");
     }
 
     /**
@@ -283,26 +284,21 @@ public class CoursePanel extends JPanel {
             return;
         }
 
-        try {
-            // Create and update course
-            Course course = new Course();
-            course.setId(selectedCourseId);
-            course.setTitle(title);
-            course.setLevel(level);
-            course.setLabRequired(labRequired);
-            
-            courseDAO.save(course);
-            
+        // Create and update course
+        Course course = new Course();
+        course.setId(selectedCourseId);
+        course.setTitle(title);
+        course.setLevel(level);
+        course.setLabRequired(labRequired);
+        
+        AsyncDataAccess.run(this, () -> courseDAO.save(course), () -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
             JOptionPane.showMessageDialog(this, "Course updated successfully.", 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to update course: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to update course");
     }
 
     /**
@@ -323,19 +319,15 @@ public class CoursePanel extends JPanel {
             return;
         }
 
-        try {
-            courseDAO.delete(selectedCourseId);
-            
+        int courseId = selectedCourseId;
+        AsyncDataAccess.run(this, () -> courseDAO.delete(courseId), () -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
             JOptionPane.showMessageDialog(this, "Course deleted successfully.", 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to delete course: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to delete course");
     }
 
     /**
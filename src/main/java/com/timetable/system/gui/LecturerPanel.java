@@ -1,7 +1,9 @@
 package com.timetable.system.gui;
 
+import com.timetable.system.CachedDAO;
+import com.timetable.system.EntityCaches;
 import com.timetable.system.Lecturer;
-import com.timetable.system.LecturerDAO;
+import com.timetable.system.solver.TimetableChange;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -9,12 +11,11 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * LecturerPanel class represents the UI for managing lecturers.
  */
-public class LecturerPanel extends JPanel {
+public class LecturerPanel extends JPanel implements RefreshablePanel {
     private JTable lecturerTable;
     private DefaultTableModel tableModel;
     private JTextField nameField;
@@ -23,7 +24,7 @@ public class LecturerPanel extends JPanel {
     private JButton updateButton;
     private JButton deleteButton;
     private JButton clearButton;
-    private LecturerDAO lecturerDAO;
+    private CachedDAO<Lecturer> lecturerDAO;
     private int selectedLecturerId = -1;
 
     // Rank options
@@ -39,7 +40,7 @@ public class LecturerPanel extends JPanel {
      */
     public LecturerPanel() {
         try {
-            lecturerDAO = new LecturerDAO();
+            lecturerDAO = EntityCaches.lecturers();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Failed to initialize LecturerDAO: " + e.getMessage(), 
                                         "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -186,16 +187,25 @@ public class LecturerPanel extends JPanel {
         });
     }
 
+    @Override
+    public long getDataVersion() {
+        return lecturerDAO == null ? 0 : lecturerDAO.getVersion();
+    }
+
+    @Override
+    public void refresh() {
+        refreshTable();
+    }
+
     /**
      * Refreshes the lecturer table with data from the database.
      */
     private void refreshTable() {
-        try {
+        // Load lecturers from database in the background
+        AsyncDataAccess.supply(this, lecturerDAO::findAll, lecturers -> {
             // Clear existing data
             tableModel.setRowCount(0);
             
-            // Load lecturers from database
-            List<Lecturer> lecturers = lecturerDAO.findAll();
             for (Lecturer lecturer : lecturers) {
                 Object[] row = {
                     lecturer.getId(),
@@ -207,10 +217,7 @@ public class LecturerPanel extends JPanel {
             
             // Clear selection
             lecturerTable.clearSelection();
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load lecturers: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to load lecturers");
     }
 
     /**
@@ -227,24 +234,19 @@ public class LecturerPanel extends JPanel {
             return;
         }
 
-        try {
-            // Create and save lecturer
-            Lecturer lecturer = new Lecturer();
-            lecturer.setName(name);
-            lecturer.setRank(rank);
-            
-            lecturerDAO.save(lecturer);
-            
+        // Create and save lecturer
+        Lecturer lecturer = new Lecturer();
+        lecturer.setName(name);
+        lecturer.setRank(rank);
+        
+        AsyncDataAccess.run(this, () -> lecturerDAO.save(lecturer), () -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
             JOptionPane.showMessageDialog(this, "Lecturer added successfully.", 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to add lecturer: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to add lecturer");
     }
 
     /**
@@ -267,25 +269,20 @@ public class LecturerPanel extends JPanel {
             return;
         }
 
-        try {
-            // Create and update lecturer
-            Lecturer lecturer = new Lecturer();
-            lecturer.setId(selectedLecturerId);
-            lecturer.setName(name);
-            lecturer.setRank(rank);
-            
-            lecturerDAO.save(lecturer);
-            
+        // Create and update lecturer
+        Lecturer lecturer = new Lecturer();
+        lecturer.setId(selectedLecturerId);
+        lecturer.setName(name);
+        lecturer.setRank(rank);
+        
+        AsyncDataAccess.run(this, () -> lecturerDAO.save(lecturer), () -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
             JOptionPane.showMessageDialog(this, "Lecturer updated successfully.", 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to update lecturer: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to update lecturer");
     }
 
     /**
@@ -306,19 +303,18 @@ public class LecturerPanel extends JPanel {
             return;
         }
 
-        try {
-            lecturerDAO.delete(selectedLecturerId);
-            
+        int lecturerId = selectedLecturerId;
+        AsyncDataAccess.supply(this, () -> {
+            lecturerDAO.delete(lecturerId);
+            return TimetableRepairs.repairAfter(TimetableChange.lecturerRemoved(lecturerId));
+        }, repaired -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
-            JOptionPane.showMessageDialog(this, "Lecturer deleted successfully.", 
+            JOptionPane.showMessageDialog(this, "Lecturer deleted successfully." + repaired, 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to delete lecturer: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to delete lecturer");
     }
 
     /**
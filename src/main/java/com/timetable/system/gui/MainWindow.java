@@ -1,15 +1,26 @@
 package com.timetable.system.gui;
 
+import com.timetable.system.csv.ImportError;
+import com.timetable.system.csv.ImportResult;
+import com.timetable.system.csv.ReferenceDataImporter;
+
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * MainWindow class represents the main window of the application.
  */
 public class MainWindow extends JFrame {
     private JPanel contentPanel;
+    private PanelRegistry panels;
     
     /**
      * Constructs a new MainWindow.
@@ -32,6 +43,15 @@ public class MainWindow extends JFrame {
         // Create the content panel
         contentPanel = new JPanel();
         contentPanel.setLayout(new BorderLayout());
+        
+        // Panels are created on first use and kept for the rest of the session
+        panels = new PanelRegistry();
+        panels.register("Lecturers", LecturerPanel::new);
+        panels.register("Courses", CoursePanel::new);
+        panels.register("Venues", VenuePanel::new);
+        panels.register("Timeslots", TimeslotPanel::new);
+        panels.register("Availability", AvailabilityPanel::new);
+        panels.register("Timetable", TimetablePanel::new);
     }
     
     /**
@@ -70,6 +90,7 @@ public class MainWindow extends JFrame {
         JButton timeslotButton = new JButton("Timeslots");
         JButton availabilityButton = new JButton("Availability");
         JButton timetableButton = new JButton("Timetable");
+        JButton importButton = new JButton("Import Data");
         
         // Add buttons to the panel
         panel.add(lecturerButton);
@@ -83,16 +104,19 @@ public class MainWindow extends JFrame {
         panel.add(availabilityButton);
         panel.add(Box.createVerticalStrut(10));
         panel.add(timetableButton);
+        panel.add(Box.createVerticalStrut(30));
+        panel.add(importButton);
         
         // Store buttons as instance variables for event handling
         // For now, we'll just add action listeners directly
         
-        lecturerButton.addActionListener(new NavigationActionListener("Lecturers"));
-        courseButton.addActionListener(new NavigationActionListener("Courses"));
-        venueButton.addActionListener(new NavigationActionListener("Venues"));
-        timeslotButton.addActionListener(new NavigationActionListener("Timeslots"));
-        availabilityButton.addActionListener(new NavigationActionListener("Availability"));
-        timetableButton.addActionListener(new NavigationActionListener("Timetable"));
+        lecturerButton.addActionListener(new NavigationActionListener("Lecturers", "Lecturers Management"));
+        courseButton.addActionListener(new NavigationActionListener("Courses", "Courses Management"));
+        venueButton.addActionListener(new NavigationActionListener("Venues", "Venues Management"));
+        timeslotButton.addActionListener(new NavigationActionListener("Timeslots", "Timeslots Management"));
+        availabilityButton.addActionListener(new NavigationActionListener("Availability", "Lecturer Availability"));
+        timetableButton.addActionListener(new NavigationActionListener("Timetable", "Timetable Generation"));
+        importButton.addActionListener(e -> importData());
         
         return panel;
     }
@@ -118,40 +142,84 @@ public class MainWindow extends JFrame {
         contentPanel.repaint();
     }
     
+    /**
+     * Imports lecturers, courses, venues or timeslots from a CSV or TSV file chosen by the user.
+     * The import runs in the background and its result, including any rejected rows, is shown
+     * when it finishes.
+     */
+    private void importData() {
+        String[] tables = {"Lecturers", "Courses", "Venues", "Timeslots"};
+        String table = (String) JOptionPane.showInputDialog(this, "Import into:", "Import Data",
+                                                            JOptionPane.QUESTION_MESSAGE, null, tables, tables[0]);
+        if (table == null) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV and TSV files", "csv", "tsv", "txt"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        ReferenceDataImporter importer =
+                new ReferenceDataImporter(ReferenceDataImporter.Table.valueOf(table.toUpperCase(Locale.ROOT)));
+        importer.setDelimiter(ReferenceDataImporter.delimiterFor(file));
+        
+        AsyncDataAccess.supply(this, () -> {
+            try {
+                return importer.importFrom(file);
+            } catch (IOException e) {
+                throw new SQLException("Failed to read " + file + ": " + e.getMessage(), e);
+            }
+        }, this::showImportResult, "Failed to import " + table.toLowerCase(Locale.ROOT));
+    }
+    
+    /**
+     * Shows the outcome of an import and refreshes the current screen if its data changed.
+     * 
+     * @param result the import result
+     */
+    private void showImportResult(ImportResult result) {
+        panels.refreshCurrent();
+        
+        String message = "Imported " + result.getImportedRows() + " row(s).";
+        if (!result.hasErrors()) {
+            JOptionPane.showMessageDialog(this, message, "Import Data", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        
+        // List the rejected rows in a scrollable area, as there may be many
+        List<ImportError> errors = result.getErrors();
+        StringBuilder details = new StringBuilder();
+        for (ImportError error : errors) {
+            details.append(error).append('\n');
+        }
+        JTextArea errorArea = new JTextArea(details.toString(), 10, 60);
+        errorArea.setEditable(false);
+        JPanel panel = new JPanel(new BorderLayout(0, 5));
+        panel.add(new JLabel(message + " " + errors.size() + " row(s) were rejected:"), BorderLayout.NORTH);
+        panel.add(new JScrollPane(errorArea), BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, panel, "Import Data", JOptionPane.WARNING_MESSAGE);
+    }
+    
     /**
      * ActionListener for navigation buttons.
      */
     private class NavigationActionListener implements ActionListener {
         private String module;
+        private String title;
         
-        public NavigationActionListener(String module) {
+        public NavigationActionListener(String module, String title) {
             this.module = module;
+            this.title = title;
         }
         
         @Override
         public void actionPerformed(ActionEvent e) {
-            switch (module) {
-                case "Lecturers":
-                    updateContent("Lecturers Management", new LecturerPanel());
-                    break;
-                case "Courses":
-                    updateContent("Courses Management", new CoursePanel());
-                    break;
-                case "Venues":
-                    updateContent("Venues Management", new VenuePanel());
-                    break;
-                case "Timeslots":
-                    updateContent("Timeslots Management", new TimeslotPanel());
-                    break;
-                case "Availability":
-                    updateContent("Lecturer Availability", new AvailabilityPanel());
-                    break;
-                case "Timetable":
-                    updateContent("Timetable Generation", new TimetablePanel());
-                    break;
-                default:
-                    updateContent("Module Not Found", new JLabel("The selected module is not implemented yet."));
-                    break;
+            JComponent panel = panels.show(module);
+            if (panel != null) {
+                updateContent(title, panel);
+            } else {
+                updateContent("Module Not Found", new JLabel("The selected module is not implemented yet."));
             }
         }
     }
@@ -0,0 +1,99 @@
+package com.timetable.system.gui;
+
+import javax.swing.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * PanelRegistry creates each navigation panel the first time it is shown and keeps it for the
+ * rest of the session, so switching between screens does not rebuild them or reload their data.
+ *
+ * <p>For a {@link RefreshablePanel}, the registry records the data version when the panel is
+ * hidden. When the panel is shown again it is refreshed only if its version moved on, for
+ * example because another screen edited data it displays.</p>
+ */
+final class PanelRegistry {
+    private final Map<String, Supplier<? extends JComponent>> factories = new LinkedHashMap<>();
+    private final Map<String, JComponent> panels = new HashMap<>();
+    private final Map<String, Long> shownVersions = new HashMap<>();
+    private String current;
+
+    /**
+     * Registers a panel factory under a module name.
+     *
+     * @param module the module name
+     * @param factory creates the panel on first use
+     */
+    void register(String module, Supplier<? extends JComponent> factory) {
+        factories.put(module, factory);
+    }
+
+    /**
+     * Gets the panel of a module to show it, creating it on first use or refreshing it if its
+     * data changed since it was last shown. Records the data version of the panel being left.
+     *
+     * @param module the module name
+     * @return the panel, or null if no module of that name is registered
+     */
+    JComponent show(String module) {
+        Supplier<? extends JComponent> factory = factories.get(module);
+        if (factory == null) {
+            return null;
+        }
+        if (current != null) {
+            recordVersion(current);
+        }
+        current = module;
+
+        JComponent panel = panels.get(module);
+        if (panel == null) {
+            panel = factory.get();
+            panels.put(module, panel);
+            recordVersion(module);
+        } else {
+            refreshIfChanged(module);
+        }
+        return panel;
+    }
+
+    /**
+     * Refreshes the panel being shown if its data changed since it was shown, for example after
+     * an import that did not go through the panel.
+     */
+    void refreshCurrent() {
+        if (current != null) {
+            refreshIfChanged(current);
+        }
+    }
+
+    /**
+     * Checks whether a module's panel has been created.
+     *
+     * @param module the module name
+     * @return true if the panel exists, false otherwise
+     */
+    boolean isCreated(String module) {
+        return panels.containsKey(module);
+    }
+
+    private void refreshIfChanged(String module) {
+        JComponent panel = panels.get(module);
+        if (panel instanceof RefreshablePanel) {
+            RefreshablePanel refreshable = (RefreshablePanel) panel;
+            long version = refreshable.getDataVersion();
+            if (version != shownVersions.get(module)) {
+                shownVersions.put(module, version);
+                refreshable.refresh();
+            }
+        }
+    }
+
+    private void recordVersion(String module) {
+        JComponent panel = panels.get(module);
+        if (panel instanceof RefreshablePanel) {
+            shownVersions.put(module, ((RefreshablePanel) panel).getDataVersion());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.timetable.system.gui;
+
+import com.timetable.system.solver.SearchBudget;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * ProgressDialog is the modal dialog shown while a long operation runs in the background.
+ * It shows an indeterminate progress bar and a Cancel button that cancels the operation's
+ * search budget.
+ */
+final class ProgressDialog extends JDialog {
+    private final JLabel messageLabel;
+    private final JButton cancelButton;
+
+    /**
+     * Constructs a new ProgressDialog.
+     *
+     * @param parent the component the dialog is shown over
+     * @param title the dialog title
+     * @param message the message shown while the operation runs
+     * @param cancellation the budget cancelled by the Cancel button
+     */
+    ProgressDialog(Component parent, String title, String message, SearchBudget cancellation) {
+        super(SwingUtilities.getWindowAncestor(parent), title, ModalityType.APPLICATION_MODAL);
+        setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+
+        messageLabel = new JLabel(message);
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        cancelButton = new JButton("Cancel");
+        cancelButton.addActionListener(e -> {
+            cancellation.cancel();
+            cancelButton.setEnabled(false);
+            messageLabel.setText("Cancelling...");
+        });
+
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+        panel.add(messageLabel, BorderLayout.NORTH);
+        panel.add(progressBar, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        buttonPanel.add(cancelButton);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        setContentPane(panel);
+        pack();
+        setMinimumSize(new Dimension(320, getHeight()));
+        setLocationRelativeTo(parent);
+    }
+
+    /**
+     * Closes the dialog once the operation has finished.
+     */
+    void close() {
+        setVisible(false);
+        dispose();
+    }
+}
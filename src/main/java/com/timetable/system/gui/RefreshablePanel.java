@@ -0,0 +1,21 @@
+package com.timetable.system.gui;
+
+/**
+ * RefreshablePanel is implemented by panels that show database data and stay alive between
+ * visits. The {@link PanelRegistry} compares the panel's data version with the one it had when
+ * it was last shown, and asks the panel to refresh only if the data changed in between.
+ */
+interface RefreshablePanel {
+
+    /**
+     * Gets the version of the data the panel shows. It must increase whenever that data changes.
+     *
+     * @return the data version
+     */
+    long getDataVersion();
+
+    /**
+     * Reloads the panel's data from the database.
+     */
+    void refresh();
+}
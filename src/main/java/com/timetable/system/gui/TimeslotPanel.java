@@ -1,7 +1,9 @@
 package com.timetable.system.gui;
 
+import com.timetable.system.CachedDAO;
+import com.timetable.system.EntityCaches;
 import com.timetable.system.Timeslot;
-import com.timetable.system.TimeslotDAO;
+import com.timetable.system.solver.TimetableChange;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -9,12 +11,11 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * TimeslotPanel class represents the UI for managing timeslots.
  */
-public class TimeslotPanel extends JPanel {
+public class TimeslotPanel extends JPanel implements RefreshablePanel {
     private JTable timeslotTable;
     private DefaultTableModel tableModel;
     private JComboBox<String> dayComboBox;
@@ -24,7 +25,7 @@ public class TimeslotPanel extends JPanel {
     private JButton updateButton;
     private JButton deleteButton;
     private JButton clearButton;
-    private TimeslotDAO timeslotDAO;
+    private CachedDAO<Timeslot> timeslotDAO;
     private int selectedTimeslotId = -1;
 
     // Day options
@@ -37,7 +38,7 @@ public class TimeslotPanel extends JPanel {
      */
     public TimeslotPanel() {
         try {
-            timeslotDAO = new TimeslotDAO();
+            timeslotDAO = EntityCaches.timeslots();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Failed to initialize TimeslotDAO: " + e.getMessage(), 
                                         "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -192,16 +193,25 @@ public class TimeslotPanel extends JPanel {
         });
     }
 
+    @Override
+    public long getDataVersion() {
+        return timeslotDAO == null ? 0 : timeslotDAO.getVersion();
+    }
+
+    @Override
+    public void refresh() {
+        refreshTable();
+    }
+
     /**
      * Refreshes the timeslot table with data from the database.
      */
     private void refreshTable() {
-        try {
+        // Load timeslots from database in the background
+        AsyncDataAccess.supply(this, timeslotDAO::findAll, timeslots -> {
             // Clear existing data
             tableModel.setRowCount(0);
             
-            // Load timeslots from database
-            List<Timeslot> timeslots = timeslotDAO.findAll();
             for (Timeslot timeslot : timeslots) {
                 Object[] row = {
                     timeslot.getId(),
@@ -214,10 +224,7 @@ public class TimeslotPanel extends JPanel {
             
             // Clear selection
             timeslotTable.clearSelection();
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load timeslots: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to load timeslots");
     }
 
     /**
@@ -254,25 +261,20 @@ public class TimeslotPanel extends JPanel {
             return;
         }
 
-        try {
-            // Create and save timeslot
-            Timeslot timeslot = new Timeslot();
-            timeslot.setDayOfWeek(day);
-            timeslot.setStartTime(startTime);
-            timeslot.setEndTime(endTime);
-            
-            timeslotDAO.save(timeslot);
-            
+        // Create and save timeslot
+        Timeslot timeslot = new Timeslot();
+        timeslot.setDayOfWeek(day);
+        timeslot.setStartTime(startTime);
+        timeslot.setEndTime(endTime);
+        
+        AsyncDataAccess.run(this, () -> timeslotDAO.save(timeslot), () -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
             JOptionPane.showMessageDialog(this, "Timeslot added successfully.", 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to add timeslot: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to add timeslot");
     }
 
     /**
@@ -315,26 +317,21 @@ public class TimeslotPanel extends JPanel {
             return;
         }
 
-        try {
-            // Create and update timeslot
-            Timeslot timeslot = new Timeslot();
-            timeslot.setId(selectedTimeslotId);
-            timeslot.setDayOfWeek(day);
-            timeslot.setStartTime(startTime);
-            timeslot.setEndTime(endTime);
-            
-            timeslotDAO.save(timeslot);
-            
+        // Create and update timeslot
+        Timeslot timeslot = new Timeslot();
+        timeslot.setId(selectedTimeslotId);
+        timeslot.setDayOfWeek(day);
+        timeslot.setStartTime(startTime);
+        timeslot.setEndTime(endTime);
+        
+        AsyncDataAccess.run(this, () -> timeslotDAO.save(timeslot), () -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
             JOptionPane.showMessageDialog(this, "Timeslot updated successfully.", 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to update timeslot: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to update timeslot");
     }
 
     /**
@@ -355,19 +352,18 @@ public class TimeslotPanel extends JPanel {
             return;
         }
 
-        try {
-            timeslotDAO.delete(selectedTimeslotId);
-            
+        int timeslotId = selectedTimeslotId;
+        AsyncDataAccess.supply(this, () -> {
+            timeslotDAO.delete(timeslotId);
+            return TimetableRepairs.repairAfter(TimetableChange.timeslotRemoved(timeslotId));
+        }, repaired -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
-            JOptionPane.showMessageDialog(this, "Timeslot deleted successfully.", 
+            JOptionPane.showMessageDialog(this, "Timeslot deleted successfully." + repaired, 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to delete timeslot: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to delete timeslot");
     }
 
     /**
@@ -0,0 +1,142 @@
+package com.timetable.system.gui;
+
+import com.timetable.system.gui.TimetableGridModel.CellEntry;
+
+import javax.swing.*;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TimetableCellRenderer draws the entries of a timetable grid cell: for each entry the course
+ * title in bold, then the lecturer and the venue, one entry below the other.
+ *
+ * <p>The text is drawn directly from the cell's {@link CellEntry} list rather than through an
+ * HTML label, and the {@link TextLayout} of each distinct string is cached, so repainting a cell
+ * does no parsing or text layout. JTable only asks for the cells inside the visible area, so the
+ * cost of a repaint does not depend on the size of the timetable.</p>
+ */
+final class TimetableCellRenderer extends JComponent implements TableCellRenderer {
+
+    // Maximum number of text layouts kept
+    private static final int LAYOUT_CACHE_SIZE = 4096;
+
+    // Space around the text and between its lines
+    private static final int PADDING = 4;
+
+    private final Map<List<Object>, TextLayout> layouts =
+            new LinkedHashMap<List<Object>, TextLayout>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, TextLayout> eldest) {
+                    return size() > LAYOUT_CACHE_SIZE;
+                }
+            };
+
+    // Context the cached layouts were made for; a different one (e.g. a new screen) clears them
+    private FontRenderContext layoutContext;
+
+    private List<CellEntry> entries = Collections.emptyList();
+    private int entryHeight;
+
+    /**
+     * Constructs a new TimetableCellRenderer.
+     */
+    TimetableCellRenderer() {
+        setOpaque(true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                   boolean hasFocus, int row, int column) {
+        entries = value instanceof List ? (List<CellEntry>) value : Collections.emptyList();
+        entryHeight = entries.isEmpty() ? 0 : table.getRowHeight(row) / entries.size();
+        setFont(table.getFont());
+        setBackground(isSelected ? table.getSelectionBackground() : table.getBackground());
+        setForeground(isSelected ? table.getSelectionForeground() : table.getForeground());
+        return this;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        FontRenderContext context = g2.getFontRenderContext();
+        if (!context.equals(layoutContext)) {
+            layouts.clear();
+            layoutContext = context;
+        }
+
+        Font plain = getFont();
+        Font bold = plain.deriveFont(Font.BOLD);
+        Shape clip = g2.getClip();
+        g2.clipRect(0, 0, getWidth() - PADDING, getHeight());
+        g2.setColor(getForeground());
+        for (int i = 0; i < entries.size(); i++) {
+            CellEntry entry = entries.get(i);
+            int top = i * entryHeight;
+            if (i > 0) {
+                g2.drawLine(PADDING, top, getWidth() - PADDING, top);
+            }
+            float y = top + PADDING;
+            y = drawLine(g2, entry.getCourseTitle(), bold, y);
+            y = drawLine(g2, entry.getLecturerName(), plain, y);
+            drawLine(g2, entry.getVenueName(), plain, y);
+        }
+        g2.setClip(clip);
+    }
+
+    /**
+     * Draws a line of text below the given position, skipping missing text.
+     *
+     * @return the position below the line
+     */
+    private float drawLine(Graphics2D g2, String text, Font font, float y) {
+        if (text == null || text.isEmpty()) {
+            return y;
+        }
+        TextLayout layout = layouts.computeIfAbsent(Arrays.asList(font, text),
+                                                    key -> new TextLayout(text, font, layoutContext));
+        float baseline = y + layout.getAscent();
+        layout.draw(g2, PADDING, baseline);
+        return baseline + layout.getDescent() + layout.getLeading();
+    }
+
+    // The renderer is only used to paint, so skip the work JComponent does for live components
+
+    @Override
+    public void validate() {
+    }
+
+    @Override
+    public void invalidate() {
+    }
+
+    @Override
+    public void revalidate() {
+    }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+    }
+
+    @Override
+    public void repaint(Rectangle r) {
+    }
+
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.timetable.system.gui;
+
+import com.timetable.system.Timeslot;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * TimetableGridModel is the table model behind the timetable grid. Rows are time bands (a start
+ * and end time), columns are the days of the week, and each cell holds every entry scheduled in
+ * that band on that day.
+ *
+ * <p>The model keeps an index from timeslot ID to grid cell, so placing the entries is linear in
+ * their number. When the entries are replaced, only the cells whose contents actually changed
+ * are reported to listeners. The value of a day cell is its list of {@link CellEntry} objects,
+ * drawn by {@link TimetableCellRenderer}; no cell text is built up front.</p>
+ */
+final class TimetableGridModel extends AbstractTableModel {
+
+    /**
+     * Days of the week, in column order after the time column.
+     */
+    static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
+
+    // Orders the entries within a cell so that reloading unchanged data yields equal cells
+    private static final Comparator<CellEntry> CELL_ORDER = Comparator
+            .comparing(CellEntry::getVenueName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CellEntry::getCourseTitle, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CellEntry::getLecturerName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // Time band label of each row, in start time order
+    private List<String> bands = Collections.emptyList();
+
+    // Grid position of each timeslot, as {row, column}
+    private Map<Integer, int[]> cellByTimeslot = Collections.emptyMap();
+
+    // Entries of each cell, indexed by row and then by day
+    private List<List<List<CellEntry>>> cells = new ArrayList<>();
+
+    // The entries currently shown, kept so that a change of timeslots can place them again
+    private Collection<CellEntry> entries = Collections.emptyList();
+
+    /**
+     * Sets the timeslots that make up the grid. The rows are rebuilt, and the current entries are
+     * placed again, only if the time bands or the placement of a timeslot changed.
+     *
+     * @param timeslots the timeslots
+     */
+    void setTimeslots(Collection<Timeslot> timeslots) {
+        TreeSet<String[]> sortedBands = new TreeSet<>(Comparator.<String[], String>comparing(band -> band[0])
+                                                              .thenComparing(band -> band[1]));
+        for (Timeslot timeslot : timeslots) {
+            sortedBands.add(new String[] {timeslot.getStartTime(), timeslot.getEndTime()});
+        }
+        List<String> newBands = new ArrayList<>(sortedBands.size());
+        Map<String, Integer> rowByBand = new HashMap<>();
+        for (String[] band : sortedBands) {
+            String label = band[0] + " - " + band[1];
+            rowByBand.put(label, newBands.size());
+            newBands.add(label);
+        }
+
+        Map<Integer, int[]> newIndex = new HashMap<>();
+        List<String> days = Arrays.asList(DAYS);
+        for (Timeslot timeslot : timeslots) {
+            int day = days.indexOf(timeslot.getDayOfWeek());
+            if (day >= 0) {
+                int row = rowByBand.get(timeslot.getStartTime() + " - " + timeslot.getEndTime());
+                newIndex.put(timeslot.getId(), new int[] {row, day + 1});
+            }
+        }
+
+        if (newBands.equals(bands) && samePlacement(newIndex, cellByTimeslot)) {
+            return;
+        }
+        bands = newBands;
+        cellByTimeslot = newIndex;
+        cells = place(entries);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Replaces the entries shown in the grid. Listeners are told about each cell whose entries
+     * changed; cells that stay the same are not repainted.
+     *
+     * @param newEntries the entries, whose timeslots should have been set with {@link #setTimeslots}
+     */
+    void setEntries(Collection<CellEntry> newEntries) {
+        entries = new ArrayList<>(newEntries);
+        List<List<List<CellEntry>>> newCells = place(entries);
+        List<List<List<CellEntry>>> oldCells = cells;
+        cells = newCells;
+        for (int row = 0; row < newCells.size(); row++) {
+            for (int day = 0; day < DAYS.length; day++) {
+                if (!newCells.get(row).get(day).equals(oldCells.get(row).get(day))) {
+                    fireTableCellUpdated(row, day + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the entries in a cell.
+     *
+     * @param row the row index
+     * @param column the column index
+     * @return the entries, in display order; empty for the time column
+     */
+    List<CellEntry> getEntriesAt(int row, int column) {
+        return column == 0 ? Collections.emptyList() : cells.get(row).get(column - 1);
+    }
+
+    /**
+     * Gets the largest number of entries in any cell of a row.
+     *
+     * @param row the row index
+     * @return the largest number of entries in a cell of the row
+     */
+    int getMaxEntries(int row) {
+        int max = 0;
+        for (List<CellEntry> cell : cells.get(row)) {
+            max = Math.max(max, cell.size());
+        }
+        return max;
+    }
+
+    @Override
+    public int getRowCount() {
+        return bands.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return DAYS.length + 1;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return column == 0 ? "Time" : DAYS[column - 1];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? String.class : List.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return column == 0 ? bands.get(row) : cells.get(row).get(column - 1);
+    }
+
+    /**
+     * Places entries into fresh cells using the timeslot index. Entries whose timeslot is not in
+     * the grid are left out.
+     */
+    private List<List<List<CellEntry>>> place(Collection<CellEntry> toPlace) {
+        List<List<List<CellEntry>>> placed = new ArrayList<>(bands.size());
+        for (int row = 0; row < bands.size(); row++) {
+            List<List<CellEntry>> days = new ArrayList<>(DAYS.length);
+            for (int day = 0; day < DAYS.length; day++) {
+                days.add(new ArrayList<>(1));
+            }
+            placed.add(days);
+        }
+        for (CellEntry entry : toPlace) {
+            int[] cell = cellByTimeslot.get(entry.getTimeslotId());
+            if (cell != null) {
+                placed.get(cell[0]).get(cell[1] - 1).add(entry);
+            }
+        }
+        for (List<List<CellEntry>> days : placed) {
+            for (List<CellEntry> cell : days) {
+                cell.sort(CELL_ORDER);
+            }
+        }
+        return placed;
+    }
+
+    private static boolean samePlacement(Map<Integer, int[]> a, Map<Integer, int[]> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (Map.Entry<Integer, int[]> entry : a.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), b.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A timetable entry as shown in the grid, with its course, lecturer and venue resolved to
+     * display names. A name is null if the referenced record no longer exists.
+     */
+    static final class CellEntry {
+        private final int timeslotId;
+        private final String courseTitle;
+        private final String lecturerName;
+        private final String venueName;
+
+        /**
+         * Constructs a new CellEntry.
+         *
+         * @param timeslotId the timeslot ID of the entry
+         * @param courseTitle the course title, or null
+         * @param lecturerName the lecturer name, or null
+         * @param venueName the venue name, or null
+         */
+        CellEntry(int timeslotId, String courseTitle, String lecturerName, String venueName) {
+            this.timeslotId = timeslotId;
+            this.courseTitle = courseTitle;
+            this.lecturerName = lecturerName;
+            this.venueName = venueName;
+        }
+
+        int getTimeslotId() {
+            return timeslotId;
+        }
+
+        String getCourseTitle() {
+            return courseTitle;
+        }
+
+        String getLecturerName() {
+            return lecturerName;
+        }
+
+        String getVenueName() {
+            return venueName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CellEntry)) {
+                return false;
+            }
+            CellEntry other = (CellEntry) o;
+            return timeslotId == other.timeslotId
+                    && Objects.equals(courseTitle, other.courseTitle)
+                    && Objects.equals(lecturerName, other.lecturerName)
+                    && Objects.equals(venueName, other.venueName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(timeslotId, courseTitle, lecturerName, venueName);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.timetable.system.gui;
+
+import com.timetable.system.solver.RepairResult;
+import com.timetable.system.solver.TimetableChange;
+import com.timetable.system.solver.TimetableRepairer;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TimetableRepairs keeps the saved timetable valid after the panels edit the data it was
+ * generated from, by repairing only the affected entries.
+ */
+final class TimetableRepairs {
+
+    // Number of repairs that changed the saved timetable
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private TimetableRepairs() {
+    }
+
+    /**
+     * Gets the version of the saved timetable as changed by repairs, which increases whenever a
+     * repair changes the timetable.
+     *
+     * @return the repair version
+     */
+    static long getVersion() {
+        return VERSION.get();
+    }
+
+    /**
+     * Repairs the saved timetable after a change.
+     *
+     * @param change the change that was just saved
+     * @return a line to append to the panel's success message, or an empty string if the
+     *         timetable did not need to change
+     * @throws SQLException if a database access error occurs
+     */
+    static String repairAfter(TimetableChange change) throws SQLException {
+        RepairResult result = new TimetableRepairer().repairDatabase(change);
+        if (!result.hasChanges()) {
+            return "";
+        }
+        VERSION.incrementAndGet();
+        String message = "\nTimetable repaired: " + result.getAddedEntries().size() + " session(s) rescheduled.";
+        if (!result.isComplete()) {
+            message += "\n" + result.getUnassignedCourses().size() + " course(s) could not be scheduled.";
+        }
+        return message;
+    }
+}
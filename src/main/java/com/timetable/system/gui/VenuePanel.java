@@ -1,7 +1,9 @@
 package com.timetable.system.gui;
 
+import com.timetable.system.CachedDAO;
+import com.timetable.system.EntityCaches;
 import com.timetable.system.Venue;
-import com.timetable.system.VenueDAO;
+import com.timetable.system.solver.TimetableChange;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -9,12 +11,11 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * VenuePanel class represents the UI for managing venues.
  */
-public class VenuePanel extends JPanel {
+public class VenuePanel extends JPanel implements RefreshablePanel {
     private JTable venueTable;
     private DefaultTableModel tableModel;
     private JTextField nameField;
@@ -24,7 +25,7 @@ public class VenuePanel extends JPanel {
     private JButton updateButton;
     private JButton deleteButton;
     private JButton clearButton;
-    private VenueDAO venueDAO;
+    private CachedDAO<Venue> venueDAO;
     private int selectedVenueId = -1;
 
     // Type options
@@ -35,7 +36,7 @@ public class VenuePanel extends JPanel {
      */
     public VenuePanel() {
         try {
-            venueDAO = new VenueDAO();
+            venueDAO = EntityCaches.venues();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Failed to initialize VenueDAO: " + e.getMessage(), 
                                         "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -194,16 +195,25 @@ public class VenuePanel extends JPanel {
         });
     }
 
+    @Override
+    public long getDataVersion() {
+        return venueDAO == null ? 0 : venueDAO.getVersion();
+    }
+
+    @Override
+    public void refresh() {
+        refreshTable();
+    }
+
     /**
      * Refreshes the venue table with data from the database.
      */
     private void refreshTable() {
-        try {
+        // Load venues from database in the background
+        AsyncDataAccess.supply(this, venueDAO::findAll, venues -> {
             // Clear existing data
             tableModel.setRowCount(0);
             
-            // Load venues from database
-            List<Venue> venues = venueDAO.findAll();
             for (Venue venue : venues) {
                 Object[] row = {
                     venue.getId(),
@@ -216,10 +226,7 @@ public class VenuePanel extends JPanel {
             
             // Clear selection
             venueTable.clearSelection();
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to load venues: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to load venues");
     }
 
     /**
@@ -257,25 +264,20 @@ public class VenuePanel extends JPanel {
             return;
         }
 
-        try {
-            // Create and save venue
-            Venue venue = new Venue();
-            venue.setName(name);
-            venue.setCapacity(capacity);
-            venue.setType(type);
-            
-            venueDAO.save(venue);
-            
+        // Create and save venue
+        Venue venue = new Venue();
+        venue.setName(name);
+        venue.setCapacity(capacity);
+        venue.setType(type);
+        
+        AsyncDataAccess.run(this, () -> venueDAO.save(venue), () -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
             JOptionPane.showMessageDialog(this, "Venue added successfully.", 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to add venue: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to add venue");
     }
 
     /**
@@ -319,26 +321,24 @@ public class VenuePanel extends JPanel {
             return;
         }
 
-        try {
-            // Create and update venue
-            Venue venue = new Venue();
-            venue.setId(selectedVenueId);
-            venue.setName(name);
-            venue.setCapacity(capacity);
-            venue.setType(type);
-            
+        // Create and update venue
+        Venue venue = new Venue();
+        venue.setId(selectedVenueId);
+        venue.setName(name);
+        venue.setCapacity(capacity);
+        venue.setType(type);
+        
+        AsyncDataAccess.supply(this, () -> {
             venueDAO.save(venue);
-            
+            return TimetableRepairs.repairAfter(TimetableChange.venueUpdated(venue));
+        }, repaired -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
-            JOptionPane.showMessageDialog(this, "Venue updated successfully.", 
+            JOptionPane.showMessageDialog(this, "Venue updated successfully." + repaired, 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to update venue: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to update venue");
     }
 
     /**
@@ -359,19 +359,18 @@ public class VenuePanel extends JPanel {
             return;
         }
 
-        try {
-            venueDAO.delete(selectedVenueId);
-            
+        int venueId = selectedVenueId;
+        AsyncDataAccess.supply(this, () -> {
+            venueDAO.delete(venueId);
+            return TimetableRepairs.repairAfter(TimetableChange.venueRemoved(venueId));
+        }, repaired -> {
             // Refresh table and clear form
             refreshTable();
             clearForm();
             
-            JOptionPane.showMessageDialog(this, "Venue deleted successfully.", 
+            JOptionPane.showMessageDialog(this, "Venue deleted successfully." + repaired, 
                                         "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Failed to delete venue: " + e.getMessage(), 
-                                        "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to delete venue");
     }
 
     /**
@@ -0,0 +1,632 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Course;
+import com.timetable.system.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * BacktrackingSolver runs a complete depth-first search over (lecturer, venue, timeslot)
+ * assignments with forward checking, minimum-remaining-values (MRV) variable ordering and
+ * least-constraining-value (LCV) value ordering, so a full timetable is found whenever one
+ * exists within the {@link SearchBudget}.
+ *
+ * <p>Courses with the same set of suitable venues are interchangeable, as are lecturers
+ * within a timeslot and venues that suit the same courses. The search exploits this by
+ * branching on (timeslot, venue class) pairs for one course of a course group at a time,
+ * which keeps the branching factor at most timeslots x venue classes. Forward checking
+ * prunes any node where a course group has fewer free (lecturer, venue) slots left than
+ * unassigned courses.</p>
+ *
+ * <p>If the budget runs out or no complete timetable exists, the deepest partial assignment
+ * found is completed greedily and the remaining courses are reported as unassigned.</p>
+ */
+public class BacktrackingSolver implements TimetableSolver {
+    private final Random random;
+    private SearchBudget budget = new SearchBudget();
+
+    /**
+     * Constructs a new BacktrackingSolver with a random seed for tie-breaking.
+     */
+    public BacktrackingSolver() {
+        this.random = new Random();
+    }
+
+    /**
+     * Constructs a new BacktrackingSolver with a fixed seed for tie-breaking.
+     *
+     * @param seed the random seed
+     */
+    public BacktrackingSolver(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Gets the search budget.
+     *
+     * @return the search budget
+     */
+    public SearchBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the search budget.
+     *
+     * @param budget the search budget
+     */
+    public void setBudget(SearchBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public TimetableSolution solve(TimetableProblem problem) {
+        long startTime = System.nanoTime();
+
+        int[] courses = new int[problem.getCourses().size()];
+        for (int c = 0; c < courses.length; c++) {
+            courses[c] = c;
+        }
+
+        Search search = new Search(problem, new Occupancy(problem), courses, budget, random,
+                                   budget.deadlineFrom(startTime));
+        search.run();
+        return search.toSolution("Backtracking", System.nanoTime() - startTime);
+    }
+
+    /**
+     * The state of a single search run.
+     */
+    static final class Search {
+        private final TimetableProblem problem;
+        private final Occupancy initial;
+        private final Occupancy occupancy;
+        private final SearchBudget budget;
+        private final Random random;
+        private final long deadlineNanos;
+        private final int timeslots;
+
+        // Course groups (courses with identical venue masks) and their unassigned courses
+        private final int groupCount;
+        private final int[][] groupCourses;
+        private final int[] groupLimit;
+        private final int[] groupNext;
+        private final List<Integer> skippedCourses = new ArrayList<>();
+        private final boolean[] skipped;
+
+        // Venue classes (venues suitable for the same groups)
+        private final int classCount;
+        private final long[][] classVenueMask;
+        private final boolean[][] classInGroup;
+
+        // Candidate keys hold a timeslot and venue class in their low candidateBits bits,
+        // above them randomBits bits of tie-breaking noise
+        private final int candidateBits;
+        private final int randomBits;
+
+        // Free resource counts per timeslot
+        private final int[] freeLecturers;
+        private final int[][] freeVenues;
+
+        // Per-group bounds computed by forward checking
+        private final int[] slotOptions;
+        private final long[] groupCapacity;
+        private final int[] groupVenuesAt;
+
+        // Search stack, one frame per assigned course
+        private final int depthLimit;
+        private final int[] frameGroup;
+        private final int[] frameCourse;
+        private final int[] frameLecturer;
+        private final int[] frameVenue;
+        private final int[] frameSlot;
+        private final int[] frameClass;
+        private final long[][] frameCandidates;
+        private final int[] frameCount;
+        private final int[] framePos;
+
+        // Deepest partial assignment seen before backtracking
+        private int bestDepth = -1;
+        private int[] bestCourse = new int[0];
+        private int[] bestLecturer = new int[0];
+        private int[] bestVenue = new int[0];
+        private int[] bestSlot = new int[0];
+
+        private int depth;
+        private long nodes;
+        private long backtracks;
+        private boolean exhausted;
+
+        Search(TimetableProblem problem, Occupancy occupancy, int[] courses, SearchBudget budget,
+               Random random, long deadlineNanos) {
+            this.problem = problem;
+            this.initial = occupancy.copy();
+            this.occupancy = occupancy;
+            this.budget = budget;
+            this.random = random;
+            this.deadlineNanos = deadlineNanos;
+            this.timeslots = problem.getTimeslots().size();
+            this.skipped = new boolean[problem.getCourses().size()];
+
+            // Group courses by their suitable venue mask
+            Map<String, Integer> groupIds = new HashMap<>();
+            List<long[]> groupMasks = new ArrayList<>();
+            List<List<Integer>> groupMembers = new ArrayList<>();
+            for (int course : courses) {
+                long[] mask = problem.suitableVenueMask(course);
+                if (BitMatrix.isEmpty(mask)) {
+                    skip(course); // No venue can ever host this course
+                    continue;
+                }
+                Integer group = groupIds.get(Arrays.toString(mask));
+                if (group == null) {
+                    group = groupMasks.size();
+                    groupIds.put(Arrays.toString(mask), group);
+                    groupMasks.add(mask);
+                    groupMembers.add(new ArrayList<>());
+                }
+                groupMembers.get(group).add(course);
+            }
+            this.groupCount = groupMasks.size();
+            this.groupCourses = new int[groupCount][];
+            for (int g = 0; g < groupCount; g++) {
+                List<Integer> members = groupMembers.get(g);
+                groupCourses[g] = new int[members.size()];
+                for (int i = 0; i < members.size(); i++) {
+                    groupCourses[g][i] = members.get(i);
+                }
+            }
+            this.groupLimit = new int[groupCount];
+            this.groupNext = new int[groupCount];
+            for (int g = 0; g < groupCount; g++) {
+                groupLimit[g] = groupCourses[g].length;
+            }
+
+            // Partition venues by the set of groups they are suitable for
+            int venueCount = problem.getVenues().size();
+            Map<String, Integer> classIds = new HashMap<>();
+            List<long[]> classMasks = new ArrayList<>();
+            List<boolean[]> classMembership = new ArrayList<>();
+            for (int v = 0; v < venueCount; v++) {
+                boolean[] membership = new boolean[groupCount];
+                boolean any = false;
+                for (int g = 0; g < groupCount; g++) {
+                    membership[g] = (groupMasks.get(g)[v >>> 6] & (1L << v)) != 0;
+                    any |= membership[g];
+                }
+                if (!any) {
+                    continue;
+                }
+                String key = Arrays.toString(membership);
+                Integer venueClass = classIds.get(key);
+                if (venueClass == null) {
+                    venueClass = classMasks.size();
+                    classIds.put(key, venueClass);
+                    classMasks.add(new long[BitMatrix.wordsFor(venueCount)]);
+                    classMembership.add(membership);
+                }
+                classMasks.get(venueClass)[v >>> 6] |= 1L << v;
+            }
+            this.classCount = classMasks.size();
+            this.classVenueMask = classMasks.toArray(new long[0][]);
+            this.classInGroup = classMembership.toArray(new boolean[0][]);
+
+            long candidates = (long) timeslots * classCount;
+            int neededBits = 64 - Long.numberOfLeadingZeros(Math.max(1, candidates - 1));
+            if (neededBits > 30) {
+                throw new IllegalArgumentException("Too many timeslot and venue combinations to search: "
+                        + timeslots + " timeslots x " + classCount + " venue classes");
+            }
+            this.candidateBits = Math.max(20, neededBits);
+            this.randomBits = 40 - candidateBits;
+
+            this.freeLecturers = new int[timeslots];
+            this.freeVenues = new int[classCount][timeslots];
+            for (int t = 0; t < timeslots; t++) {
+                freeLecturers[t] = occupancy.countAvailableLecturers(t, problem.slotAvailability());
+                for (int k = 0; k < classCount; k++) {
+                    freeVenues[k][t] = occupancy.countFreeVenues(t, classVenueMask[k]);
+                }
+            }
+            this.slotOptions = new int[groupCount];
+            this.groupCapacity = new long[groupCount];
+            this.groupVenuesAt = new int[groupCount];
+
+            trimToCapacity();
+
+            int total = 0;
+            for (int g = 0; g < groupCount; g++) {
+                total += groupLimit[g];
+            }
+            this.depthLimit = total;
+            this.frameGroup = new int[total];
+            this.frameCourse = new int[total];
+            this.frameLecturer = new int[total];
+            this.frameVenue = new int[total];
+            this.frameSlot = new int[total];
+            this.frameClass = new int[total];
+            this.frameCandidates = new long[total][];
+            this.frameCount = new int[total];
+            this.framePos = new int[total];
+        }
+
+        /**
+         * Leaves out courses that provably cannot fit, so the search does not have to
+         * exhaust an infeasible tree to discover it.
+         */
+        private void trimToCapacity() {
+            for (int g = 0; g < groupCount; g++) {
+                long capacity = 0;
+                for (int t = 0; t < timeslots; t++) {
+                    capacity += Math.min(freeLecturers[t], venuesFor(g, t));
+                }
+                while (groupLimit[g] > capacity) {
+                    groupLimit[g]--;
+                    skip(groupCourses[g][groupLimit[g]]);
+                }
+            }
+
+            long unionCapacity = 0;
+            for (int t = 0; t < timeslots; t++) {
+                int venues = 0;
+                for (int k = 0; k < classCount; k++) {
+                    venues += freeVenues[k][t];
+                }
+                unionCapacity += Math.min(freeLecturers[t], venues);
+            }
+            long total = 0;
+            for (int g = 0; g < groupCount; g++) {
+                total += groupLimit[g];
+            }
+            while (total > unionCapacity) {
+                int largest = 0;
+                for (int g = 1; g < groupCount; g++) {
+                    if (groupLimit[g] > groupLimit[largest]) {
+                        largest = g;
+                    }
+                }
+                groupLimit[largest]--;
+                skip(groupCourses[largest][groupLimit[largest]]);
+                total--;
+            }
+        }
+
+        private void skip(int course) {
+            skippedCourses.add(course);
+            skipped[course] = true;
+        }
+
+        private int venuesFor(int group, int timeslot) {
+            int venues = 0;
+            for (int k = 0; k < classCount; k++) {
+                if (classInGroup[k][group]) {
+                    venues += freeVenues[k][timeslot];
+                }
+            }
+            return venues;
+        }
+
+        private int remaining(int group) {
+            return groupLimit[group] - groupNext[group];
+        }
+
+        /**
+         * Runs the search until a complete assignment is found, the tree is exhausted
+         * or the budget runs out.
+         */
+        void run() {
+            if (depthLimit == 0 || !forwardCheck()) {
+                return;
+            }
+            depth = 0;
+            boolean open = false;
+            long nodeLimit = budget.getNodeLimit();
+            long nextBudgetCheck = 0;
+            while (depth < depthLimit) {
+                // Reading the clock is the costly part of a budget check, so it is done every
+                // 256 nodes; the node limit itself is checked before every node below
+                if (nodes >= nextBudgetCheck) {
+                    if (budget.isExhausted(nodes, deadlineNanos)) {
+                        exhausted = true;
+                        break;
+                    }
+                    nextBudgetCheck = nodes + 256;
+                }
+
+                if (!open) {
+                    int group = selectGroup();
+                    frameGroup[depth] = group;
+                    orderCandidates(depth, group);
+                    framePos[depth] = 0;
+                    open = true;
+                }
+
+                boolean advanced = false;
+                while (framePos[depth] < frameCount[depth]) {
+                    if (nodeLimit > 0 && nodes >= nodeLimit) {
+                        exhausted = true;
+                        break;
+                    }
+                    int candidate = (int) (frameCandidates[depth][framePos[depth]++] & ((1L << candidateBits) - 1));
+                    int slot = candidate / classCount;
+                    int venueClass = candidate % classCount;
+                    nodes++;
+                    assign(depth, slot, venueClass);
+                    if (forwardCheck()) {
+                        advanced = true;
+                        break;
+                    }
+                    unassign(depth);
+                }
+                if (exhausted) {
+                    break;
+                }
+
+                if (advanced) {
+                    depth++;
+                    open = false;
+                    continue;
+                }
+
+                // Every value of this variable failed: backtrack
+                if (depth > bestDepth) {
+                    recordBest();
+                }
+                if (depth == 0) {
+                    break;
+                }
+                depth--;
+                backtracks++;
+                unassign(depth);
+                open = true;
+            }
+            if (depth > bestDepth) {
+                recordBest();
+            }
+        }
+
+        private void assign(int frame, int slot, int venueClass) {
+            int group = frameGroup[frame];
+            int course = groupCourses[group][groupNext[group]++];
+            int lecturer = occupancy.firstAvailableLecturer(slot, problem.slotAvailability());
+            int venue = occupancy.firstFreeVenue(slot, classVenueMask[venueClass]);
+            occupancy.assign(lecturer, venue, slot);
+            freeLecturers[slot]--;
+            freeVenues[venueClass][slot]--;
+            frameCourse[frame] = course;
+            frameLecturer[frame] = lecturer;
+            frameVenue[frame] = venue;
+            frameSlot[frame] = slot;
+            frameClass[frame] = venueClass;
+        }
+
+        private void unassign(int frame) {
+            int slot = frameSlot[frame];
+            occupancy.release(frameLecturer[frame], frameVenue[frame], slot);
+            freeLecturers[slot]++;
+            freeVenues[frameClass[frame]][slot]++;
+            groupNext[frameGroup[frame]]--;
+        }
+
+        /**
+         * Checks that every group with unassigned courses still has enough free
+         * (lecturer, venue) pairs left, and records each group's number of usable slots.
+         *
+         * @return true if the current partial assignment may still be extended to a full one
+         */
+        private boolean forwardCheck() {
+            long totalRemaining = 0;
+            for (int g = 0; g < groupCount; g++) {
+                slotOptions[g] = 0;
+                groupCapacity[g] = 0;
+                totalRemaining += remaining(g);
+            }
+            if (totalRemaining == 0) {
+                return true;
+            }
+
+            long unionCapacity = 0;
+            for (int t = 0; t < timeslots; t++) {
+                int lecturers = freeLecturers[t];
+                if (lecturers == 0) {
+                    continue;
+                }
+                int unionVenues = 0;
+                for (int k = 0; k < classCount; k++) {
+                    if (freeVenues[k][t] == 0) {
+                        continue;
+                    }
+                    for (int g = 0; g < groupCount; g++) {
+                        if (classInGroup[k][g] && remaining(g) > 0) {
+                            unionVenues += freeVenues[k][t];
+                            break;
+                        }
+                    }
+                }
+                unionCapacity += Math.min(lecturers, unionVenues);
+                for (int g = 0; g < groupCount; g++) {
+                    if (remaining(g) == 0) {
+                        continue;
+                    }
+                    int venues = venuesFor(g, t);
+                    if (venues > 0) {
+                        slotOptions[g]++;
+                        groupCapacity[g] += Math.min(lecturers, venues);
+                    }
+                }
+            }
+
+            if (unionCapacity < totalRemaining) {
+                return false;
+            }
+            for (int g = 0; g < groupCount; g++) {
+                if (groupCapacity[g] < remaining(g)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Picks the group with the fewest usable timeslots (MRV), preferring the group with
+         * the most unassigned courses on ties.
+         *
+         * @return the group index
+         */
+        private int selectGroup() {
+            int selected = -1;
+            for (int g = 0; g < groupCount; g++) {
+                if (remaining(g) == 0) {
+                    continue;
+                }
+                if (selected < 0
+                        || slotOptions[g] < slotOptions[selected]
+                        || (slotOptions[g] == slotOptions[selected] && remaining(g) > remaining(selected))) {
+                    selected = g;
+                }
+            }
+            return selected;
+        }
+
+        /**
+         * Orders the (timeslot, venue class) values of a group so that the values removing
+         * the fewest options from other unassigned groups (LCV) are tried first. Ties go to
+         * timeslots with more slack, then to a random order.
+         *
+         * @param frame the frame to fill
+         * @param group the group being assigned
+         */
+        private void orderCandidates(int frame, int group) {
+            long[] keys = frameCandidates[frame];
+            if (keys == null) {
+                keys = new long[Math.max(1, timeslots * classCount)];
+                frameCandidates[frame] = keys;
+            }
+            int count = 0;
+            for (int t = 0; t < timeslots; t++) {
+                int lecturers = freeLecturers[t];
+                if (lecturers == 0) {
+                    continue;
+                }
+                for (int g = 0; g < groupCount; g++) {
+                    groupVenuesAt[g] = venuesFor(g, t);
+                }
+                int slack = Math.min(lecturers, groupVenuesAt[group]);
+                for (int k = 0; k < classCount; k++) {
+                    if (!classInGroup[k][group] || freeVenues[k][t] == 0) {
+                        continue;
+                    }
+                    long impact = 0;
+                    for (int g = 0; g < groupCount; g++) {
+                        if (g == group ? remaining(g) <= 1 : remaining(g) == 0) {
+                            continue;
+                        }
+                        int venues = groupVenuesAt[g];
+                        int after = Math.min(lecturers - 1, venues - (classInGroup[k][g] ? 1 : 0));
+                        impact += Math.min(lecturers, venues) - after;
+                    }
+                    long candidate = (long) t * classCount + k;
+                    keys[count++] = (Math.min(impact, 1023L) << 50)
+                            | ((1023L - Math.min(slack, 1023)) << 40)
+                            | ((randomBits > 0 ? (long) random.nextInt(1 << randomBits) : 0L) << candidateBits)
+                            | candidate;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+            frameCount[frame] = count;
+        }
+
+        private void recordBest() {
+            bestDepth = depth;
+            bestCourse = Arrays.copyOf(frameCourse, depth);
+            bestLecturer = Arrays.copyOf(frameLecturer, depth);
+            bestVenue = Arrays.copyOf(frameVenue, depth);
+            bestSlot = Arrays.copyOf(frameSlot, depth);
+        }
+
+        /**
+         * Checks whether the search found a complete assignment of every course it was given.
+         *
+         * @return true if every non-skipped course was assigned
+         */
+        boolean isSolved() {
+            return depth == depthLimit && !exhausted;
+        }
+
+        long getNodes() {
+            return nodes;
+        }
+
+        long getBacktracks() {
+            return backtracks;
+        }
+
+        boolean isExhausted() {
+            return exhausted;
+        }
+
+        /**
+         * Builds the solution from the best assignment found, greedily placing any course the
+         * search did not reach.
+         *
+         * @param solverName the solver name to report
+         * @param elapsedNanos the duration of the run
+         * @return the solution
+         */
+        TimetableSolution toSolution(String solverName, long elapsedNanos) {
+            Occupancy result = initial.copy();
+            boolean[] placed = new boolean[problem.getCourses().size()];
+            List<TimetableEntry> entries = new ArrayList<>();
+            for (int i = 0; i < bestDepth; i++) {
+                result.assign(bestLecturer[i], bestVenue[i], bestSlot[i]);
+                placed[bestCourse[i]] = true;
+                entries.add(createEntry(bestCourse[i], bestLecturer[i], bestVenue[i], bestSlot[i]));
+            }
+
+            List<Integer> leftovers = new ArrayList<>(skippedCourses);
+            for (int g = 0; g < groupCount; g++) {
+                for (int course : groupCourses[g]) {
+                    if (!placed[course] && !skipped[course]) {
+                        leftovers.add(course);
+                    }
+                }
+            }
+
+            List<Course> unassigned = new ArrayList<>();
+            for (int course : leftovers) {
+                long[] venueMask = problem.suitableVenueMask(course);
+                boolean done = false;
+                for (int t = 0; t < timeslots && !done; t++) {
+                    int lecturer = result.firstAvailableLecturer(t, problem.slotAvailability());
+                    int venue = lecturer < 0 ? -1 : result.firstFreeVenue(t, venueMask);
+                    if (venue >= 0) {
+                        result.assign(lecturer, venue, t);
+                        entries.add(createEntry(course, lecturer, venue, t));
+                        done = true;
+                    }
+                }
+                if (!done) {
+                    unassigned.add(problem.getCourses().get(course));
+                }
+            }
+
+            SolverStatistics statistics = new SolverStatistics(solverName, elapsedNanos,
+                    entries.size() + unassigned.size(), entries.size(), nodes, backtracks, exhausted);
+            return new TimetableSolution(entries, unassigned, statistics);
+        }
+
+        private TimetableEntry createEntry(int course, int lecturer, int venue, int slot) {
+            TimetableEntry entry = new TimetableEntry();
+            entry.setCourseId(problem.getCourses().get(course).getId());
+            entry.setLecturerId(problem.getLecturers().get(lecturer).getId());
+            entry.setVenueId(problem.getVenues().get(venue).getId());
+            entry.setTimeslotId(problem.getTimeslots().get(slot).getId());
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.timetable.system.solver;
+
+import java.util.Arrays;
+
+/**
+ * BitMatrix is a dense rows-by-columns bit matrix backed by a single {@code long[]}.
+ * Each row occupies a fixed number of 64-bit words, so single-bit reads and writes are
+ * O(1) and row scans are word-at-a-time.
+ */
+final class BitMatrix {
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * Constructs a new, all-clear BitMatrix.
+     *
+     * @param rows the number of rows
+     * @param columns the number of columns
+     */
+    BitMatrix(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = wordsFor(columns);
+        this.words = new long[rows * wordsPerRow];
+    }
+
+    private BitMatrix(BitMatrix other) {
+        this.rows = other.rows;
+        this.columns = other.columns;
+        this.wordsPerRow = other.wordsPerRow;
+        this.words = other.words.clone();
+    }
+
+    /**
+     * Gets the number of 64-bit words needed to hold the given number of bits.
+     *
+     * @param bits the number of bits
+     * @return the number of words
+     */
+    static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Creates a mask with the first {@code bits} bits set.
+     *
+     * @param bits the number of bits to set
+     * @return the mask
+     */
+    static long[] fullMask(int bits) {
+        long[] mask = new long[wordsFor(bits)];
+        Arrays.fill(mask, -1L);
+        if ((bits & 63) != 0) {
+            mask[mask.length - 1] = -1L >>> (64 - (bits & 63));
+        }
+        return mask;
+    }
+
+    /**
+     * Checks whether a mask has no bits set.
+     *
+     * @param mask the mask
+     * @return true if every word is zero, false otherwise
+     */
+    static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the position of the n-th set bit of a mask.
+     *
+     * @param mask the mask
+     * @param n the zero-based rank of the bit
+     * @return the bit position, or -1 if the mask has fewer bits set
+     */
+    static int nthSetBit(long[] mask, int n) {
+        for (int w = 0; w < mask.length; w++) {
+            long bits = mask[w];
+            int count = Long.bitCount(bits);
+            if (n >= count) {
+                n -= count;
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                bits &= bits - 1;
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        return -1;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int columns() {
+        return columns;
+    }
+
+    int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    boolean get(int row, int column) {
+        return (words[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    void set(int row, int column) {
+        words[row * wordsPerRow + (column >>> 6)] |= 1L << column;
+    }
+
+    void clear(int row, int column) {
+        words[row * wordsPerRow + (column >>> 6)] &= ~(1L << column);
+    }
+
+    /**
+     * Sets every column of a row.
+     *
+     * @param row the row
+     */
+    void setRow(int row) {
+        int base = row * wordsPerRow;
+        Arrays.fill(words, base, base + wordsPerRow, -1L);
+        if ((columns & 63) != 0) {
+            words[base + wordsPerRow - 1] = -1L >>> (64 - (columns & 63));
+        }
+    }
+
+    /**
+     * Gets one 64-bit word of a row.
+     *
+     * @param row the row
+     * @param wordIndex the word index within the row
+     * @return the word
+     */
+    long word(int row, int wordIndex) {
+        return words[row * wordsPerRow + wordIndex];
+    }
+
+    /**
+     * Counts the set bits of a row.
+     *
+     * @param row the row
+     * @return the number of set bits
+     */
+    int cardinality(int row) {
+        int base = row * wordsPerRow;
+        int count = 0;
+        for (int i = 0; i < wordsPerRow; i++) {
+            count += Long.bitCount(words[base + i]);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first column that is clear in this row and set in the mask.
+     *
+     * @param row the row
+     * @param mask a mask of candidate columns, {@link #wordsPerRow()} words long
+     * @return the column, or -1 if there is none
+     */
+    int firstClearIn(int row, long[] mask) {
+        int base = row * wordsPerRow;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long candidates = mask[i] & ~words[base + i];
+            if (candidates != 0) {
+                return (i << 6) + Long.numberOfTrailingZeros(candidates);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first column that is set in this row and clear in a row of another matrix.
+     *
+     * @param row the row in this matrix
+     * @param other the matrix whose bits exclude columns
+     * @param otherRow the row in the other matrix
+     * @return the column, or -1 if there is none
+     */
+    int firstSetAndNot(int row, BitMatrix other, int otherRow) {
+        int base = row * wordsPerRow;
+        int otherBase = otherRow * other.wordsPerRow;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long candidates = words[base + i] & ~other.words[otherBase + i];
+            if (candidates != 0) {
+                return (i << 6) + Long.numberOfTrailingZeros(candidates);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the columns that are clear in this row and set in the mask.
+     *
+     * @param row the row
+     * @param mask a mask of candidate columns, {@link #wordsPerRow()} words long
+     * @return the number of columns
+     */
+    int countClearIn(int row, long[] mask) {
+        int base = row * wordsPerRow;
+        int count = 0;
+        for (int i = 0; i < wordsPerRow; i++) {
+            count += Long.bitCount(mask[i] & ~words[base + i]);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the columns that are set in this row and clear in a row of another matrix.
+     *
+     * @param row the row in this matrix
+     * @param other the matrix whose bits exclude columns
+     * @param otherRow the row in the other matrix
+     * @return the number of columns
+     */
+    int countSetAndNot(int row, BitMatrix other, int otherRow) {
+        int base = row * wordsPerRow;
+        int otherBase = otherRow * other.wordsPerRow;
+        int count = 0;
+        for (int i = 0; i < wordsPerRow; i++) {
+            count += Long.bitCount(words[base + i] & ~other.words[otherBase + i]);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the n-th column that is clear in this row and set in the mask.
+     *
+     * @param row the row
+     * @param mask a mask of candidate columns, {@link #wordsPerRow()} words long
+     * @param n the zero-based rank of the column among the matching columns
+     * @return the column, or -1 if fewer columns match
+     */
+    int nthClearIn(int row, long[] mask, int n) {
+        int base = row * wordsPerRow;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long candidates = mask[i] & ~words[base + i];
+            int count = Long.bitCount(candidates);
+            if (n >= count) {
+                n -= count;
+                continue;
+            }
+            for (int j = 0; j < n; j++) {
+                candidates &= candidates - 1;
+            }
+            return (i << 6) + Long.numberOfTrailingZeros(candidates);
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the n-th column that is set in this row and clear in a row of another matrix.
+     *
+     * @param row the row in this matrix
+     * @param other the matrix whose bits exclude columns
+     * @param otherRow the row in the other matrix
+     * @param n the zero-based rank of the column among the matching columns
+     * @return the column, or -1 if fewer columns match
+     */
+    int nthSetAndNot(int row, BitMatrix other, int otherRow, int n) {
+        int base = row * wordsPerRow;
+        int otherBase = otherRow * other.wordsPerRow;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long candidates = words[base + i] & ~other.words[otherBase + i];
+            int count = Long.bitCount(candidates);
+            if (n >= count) {
+                n -= count;
+                continue;
+            }
+            for (int j = 0; j < n; j++) {
+                candidates &= candidates - 1;
+            }
+            return (i << 6) + Long.numberOfTrailingZeros(candidates);
+        }
+        return -1;
+    }
+
+    /**
+     * Creates an independent copy of this matrix.
+     *
+     * @return the copy
+     */
+    BitMatrix copy() {
+        return new BitMatrix(this);
+    }
+}
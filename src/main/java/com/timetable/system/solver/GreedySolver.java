@@ -0,0 +1,90 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Course;
+import com.timetable.system.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * GreedySolver assigns each course, in order, to a random timeslot in which both an available
+ * lecturer and a suitable venue are still free, booking the first such lecturer and venue.
+ * Candidate timeslots come from intersecting the availability matrix with free-venue bits.
+ * Bookings are tracked in an {@link Occupancy}, so no lecturer or venue is ever double-booked.
+ * Courses that cannot be placed are reported as unassigned.
+ */
+public class GreedySolver implements TimetableSolver {
+    private final Random random;
+
+    /**
+     * Constructs a new GreedySolver with a random seed.
+     */
+    public GreedySolver() {
+        this.random = new Random();
+    }
+
+    /**
+     * Constructs a new GreedySolver with a fixed seed, for reproducible runs.
+     *
+     * @param seed the random seed
+     */
+    public GreedySolver(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public TimetableSolution solve(TimetableProblem problem) {
+        long startTime = System.nanoTime();
+
+        List<Course> courses = problem.getCourses();
+        int slotWords = BitMatrix.wordsFor(problem.getTimeslots().size());
+        Occupancy occupancy = new Occupancy(problem);
+
+        // Timeslots in which some lecturer is both available and free, kept up to date incrementally
+        long[] lecturerSlots = new long[slotWords];
+        occupancy.availableLecturerSlots(problem.lecturerAvailability(), lecturerSlots);
+        long[] venueSlots = new long[slotWords];
+
+        List<TimetableEntry> entries = new ArrayList<>();
+        List<Course> unassigned = new ArrayList<>();
+
+        for (int c = 0; c < courses.size(); c++) {
+            Course course = courses.get(c);
+            long[] venueMask = problem.suitableVenueMask(c);
+
+            // Candidate timeslots = available lecturers AND free suitable venues
+            occupancy.freeVenueSlots(venueMask, venueSlots);
+            int candidates = 0;
+            for (int w = 0; w < slotWords; w++) {
+                venueSlots[w] &= lecturerSlots[w];
+                candidates += Long.bitCount(venueSlots[w]);
+            }
+
+            if (candidates == 0) {
+                unassigned.add(course);
+                continue;
+            }
+
+            // Pick a random feasible timeslot
+            int timeslot = BitMatrix.nthSetBit(venueSlots, random.nextInt(candidates));
+            int lecturer = occupancy.firstAvailableLecturer(timeslot, problem.slotAvailability());
+            int venue = occupancy.firstFreeVenue(timeslot, venueMask);
+            occupancy.assign(lecturer, venue, timeslot);
+            if (!occupancy.hasAvailableLecturer(timeslot, problem.slotAvailability())) {
+                lecturerSlots[timeslot >>> 6] &= ~(1L << timeslot);
+            }
+
+            TimetableEntry entry = new TimetableEntry();
+            entry.setCourseId(course.getId());
+            entry.setLecturerId(problem.getLecturers().get(lecturer).getId());
+            entry.setVenueId(problem.getVenues().get(venue).getId());
+            entry.setTimeslotId(problem.getTimeslots().get(timeslot).getId());
+            entries.add(entry);
+        }
+
+        SolverStatistics statistics = new SolverStatistics("Greedy", System.nanoTime() - startTime,
+                                                           courses.size(), entries.size());
+        return new TimetableSolution(entries, unassigned, statistics);
+    }
+}
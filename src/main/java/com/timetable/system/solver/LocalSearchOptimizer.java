@@ -0,0 +1,595 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Course;
+import com.timetable.system.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * LocalSearchOptimizer improves the soft constraints of an existing, feasible timetable
+ * without re-solving it. Starting from a set of {@link TimetableEntry} objects it explores
+ * move and swap neighbourhoods (change timeslot, venue or lecturer of one entry, or swap the
+ * timeslots of two entries) and only ever visits timetables that satisfy every hard constraint.
+ *
+ * <p>Each move is scored incrementally: only the venue terms of the moved entries and the
+ * day masks of the lecturers involved are re-evaluated, so a move costs O(1) regardless of
+ * the timetable size. Two strategies are available: simulated annealing, which accepts
+ * worsening moves with a probability that decreases over the run, and tabu search, which
+ * takes the best of a sample of moves while forbidding entries from returning to timeslots
+ * they recently left.</p>
+ */
+public class LocalSearchOptimizer {
+
+    /**
+     * The search strategy.
+     */
+    public enum Mode {
+        SIMULATED_ANNEALING,
+        TABU
+    }
+
+    // Iteration cap used when the budget has neither a node nor a time limit
+    private static final long DEFAULT_ITERATIONS = 200000;
+
+    static final long INFEASIBLE = Long.MIN_VALUE;
+
+    private final Random random;
+    private Mode mode = Mode.SIMULATED_ANNEALING;
+    private SearchBudget budget = new SearchBudget(0, 1000);
+    private SoftConstraintScorer scorer = new SoftConstraintScorer();
+    private double initialTemperature = 20.0;
+    private double finalTemperature = 0.1;
+    private int tabuTenure = 15;
+    private int tabuSampleSize = 30;
+
+    /**
+     * Constructs a new LocalSearchOptimizer with a random seed.
+     */
+    public LocalSearchOptimizer() {
+        this.random = new Random();
+    }
+
+    /**
+     * Constructs a new LocalSearchOptimizer with a fixed seed, for reproducible runs.
+     *
+     * @param seed the random seed
+     */
+    public LocalSearchOptimizer(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Improves a timetable.
+     *
+     * @param problem the problem the entries belong to
+     * @param entries a feasible timetable for the problem
+     * @return the best timetable found, with the original entry IDs preserved
+     * @throws IllegalArgumentException if an entry references data outside the problem or
+     *         the entries double-book a lecturer or venue
+     */
+    public TimetableSolution optimize(TimetableProblem problem, List<TimetableEntry> entries) {
+        long startTime = System.nanoTime();
+        long deadline = budget.deadlineFrom(startTime);
+        long iterationLimit = budget.getNodeLimit() > 0 ? budget.getNodeLimit()
+                : budget.getTimeLimitMillis() > 0 ? 0 : DEFAULT_ITERATIONS;
+
+        State state = new State(problem, entries);
+        long iterations = mode == Mode.TABU
+                ? runTabu(state, startTime, deadline, iterationLimit)
+                : runAnnealing(state, startTime, deadline, iterationLimit);
+        // Both searches run until a budget check stops them, unless there is nothing to move
+        boolean exhausted = state.size > 0;
+        state.restoreBest();
+
+        List<TimetableEntry> result = state.entries();
+        boolean[] placed = new boolean[problem.getCourses().size()];
+        for (int i = 0; i < state.size; i++) {
+            placed[state.course[i]] = true;
+        }
+        List<Course> unassigned = new ArrayList<>();
+        for (int c = 0; c < placed.length; c++) {
+            if (!placed[c]) {
+                unassigned.add(problem.getCourses().get(c));
+            }
+        }
+
+        String name = mode == Mode.TABU ? "TabuSearch" : "SimulatedAnnealing";
+        SolverStatistics statistics = new SolverStatistics(name, System.nanoTime() - startTime,
+                problem.getCourses().size(), result.size(), iterations, 0, exhausted);
+        return new TimetableSolution(result, unassigned, statistics);
+    }
+
+    private long runAnnealing(State state, long startTime, long deadline, long iterationLimit) {
+        long iterations = 0;
+        double temperature = initialTemperature;
+        while (state.size > 0) {
+            if ((iterations & 255) == 0) {
+                double progress = progress(iterations, startTime, deadline, iterationLimit);
+                if (progress >= 1.0 || budget.isCancelled()) {
+                    break;
+                }
+                temperature = initialTemperature * Math.pow(finalTemperature / initialTemperature, progress);
+            }
+            iterations++;
+
+            long delta = state.tryRandomMove(random);
+            if (delta == INFEASIBLE) {
+                continue;
+            }
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                state.commit(delta);
+            } else {
+                state.undo();
+            }
+        }
+        return iterations;
+    }
+
+    private long runTabu(State state, long startTime, long deadline, long iterationLimit) {
+        int timeslots = state.problem.getTimeslots().size();
+        long[] tabuUntil = new long[state.size * timeslots];
+        int[] bestIndex = new int[2];
+        int[] bestLecturer = new int[2];
+        int[] bestVenue = new int[2];
+        int[] bestSlot = new int[2];
+
+        long iterations = 0;
+        while (state.size > 0) {
+            if ((iterations & 15) == 0
+                    && (progress(iterations, startTime, deadline, iterationLimit) >= 1.0 || budget.isCancelled())) {
+                break;
+            }
+            iterations++;
+
+            long bestDelta = Long.MAX_VALUE;
+            int bestCount = 0;
+            for (int sample = 0; sample < tabuSampleSize; sample++) {
+                long delta = state.tryRandomMove(random);
+                if (delta == INFEASIBLE) {
+                    continue;
+                }
+                boolean tabu = false;
+                for (int m = 0; m < state.moveCount; m++) {
+                    int i = state.moveIndex[m];
+                    tabu |= tabuUntil[i * timeslots + state.slot[i]] > iterations;
+                }
+                boolean aspiration = state.cost + delta < state.bestCost;
+                if ((!tabu || aspiration) && delta < bestDelta) {
+                    bestDelta = delta;
+                    bestCount = state.moveCount;
+                    for (int m = 0; m < bestCount; m++) {
+                        int i = state.moveIndex[m];
+                        bestIndex[m] = i;
+                        bestLecturer[m] = state.lecturer[i];
+                        bestVenue[m] = state.venue[i];
+                        bestSlot[m] = state.slot[i];
+                    }
+                }
+                state.undo();
+            }
+            if (bestCount == 0) {
+                continue;
+            }
+
+            for (int m = 0; m < bestCount; m++) {
+                int i = bestIndex[m];
+                tabuUntil[i * timeslots + state.slot[i]] = iterations + tabuTenure;
+            }
+            long delta = state.relocate(bestCount, bestIndex, bestLecturer, bestVenue, bestSlot);
+            if (delta != INFEASIBLE) {
+                state.commit(delta);
+            }
+        }
+        return iterations;
+    }
+
+    private static double progress(long iterations, long startTime, long deadline, long iterationLimit) {
+        double progress = 0.0;
+        if (iterationLimit > 0) {
+            progress = (double) iterations / iterationLimit;
+        }
+        if (deadline != Long.MAX_VALUE) {
+            progress = Math.max(progress, (double) (System.nanoTime() - startTime) / (deadline - startTime));
+        }
+        return progress;
+    }
+
+    /**
+     * The timetable being optimised, with its occupancy and incrementally maintained score.
+     */
+    final class State {
+        private final TimetableProblem problem;
+        private final int size;
+        private final int words;
+        private final int[] id;
+        private final int[] course;
+        private final int[] lecturer;
+        private final int[] venue;
+        private final int[] slot;
+        private final Occupancy occupancy;
+        private final long[] lecturerDays;
+        private long cost;
+
+        // Best timetable seen, captured lazily before leaving it
+        private long bestCost;
+        private boolean atBest = true;
+        private int[] bestLecturer;
+        private int[] bestVenue;
+        private int[] bestSlot;
+
+        // The last tentative move, so it can be undone
+        private int moveCount;
+        private final int[] moveIndex = new int[2];
+        private final int[] oldLecturer = new int[2];
+        private final int[] oldVenue = new int[2];
+        private final int[] oldSlot = new int[2];
+        private final int[] newLecturer = new int[2];
+        private final int[] newVenue = new int[2];
+        private final int[] newSlot = new int[2];
+        private final int[] keys = new int[4];
+        private final long[] keyCost = new long[4];
+
+        State(TimetableProblem problem, List<TimetableEntry> entries) {
+            this.problem = problem;
+            this.size = entries.size();
+            this.words = problem.dayWords();
+            this.id = new int[size];
+            this.course = new int[size];
+            this.lecturer = new int[size];
+            this.venue = new int[size];
+            this.slot = new int[size];
+            this.occupancy = new Occupancy(problem);
+            this.lecturerDays = SoftConstraintScorer.newLecturerDays(problem);
+
+            for (int i = 0; i < size; i++) {
+                TimetableEntry entry = entries.get(i);
+                id[i] = entry.getId();
+                course[i] = problem.indexOfCourse(entry.getCourseId());
+                lecturer[i] = problem.indexOfLecturer(entry.getLecturerId());
+                venue[i] = problem.indexOfVenue(entry.getVenueId());
+                slot[i] = problem.indexOfTimeslot(entry.getTimeslotId());
+                if (course[i] < 0 || lecturer[i] < 0 || venue[i] < 0 || slot[i] < 0) {
+                    throw new IllegalArgumentException(
+                        "Timetable entry references data that is not part of the problem: " + entry);
+                }
+                if (!occupancy.canAssign(lecturer[i], venue[i], slot[i])) {
+                    throw new IllegalArgumentException("Timetable entry double-books a lecturer or venue: " + entry);
+                }
+                occupancy.assign(lecturer[i], venue[i], slot[i]);
+                SoftConstraintScorer.addSession(problem, lecturerDays, lecturer[i], slot[i]);
+                cost += scorer.entryCost(problem, course[i], venue[i]);
+            }
+            for (int key = 0; key < lecturerDays.length / words; key++) {
+                cost += scorer.lecturerDayCost(lecturerDays, key, words);
+            }
+            this.bestCost = cost;
+            this.bestLecturer = lecturer.clone();
+            this.bestVenue = venue.clone();
+            this.bestSlot = slot.clone();
+        }
+
+        /**
+         * Applies a random feasible move from one of the neighbourhoods.
+         *
+         * @param random the source of randomness
+         * @return the score delta of the applied move, or {@link #INFEASIBLE} if nothing was applied
+         */
+        long tryRandomMove(Random random) {
+            int i = random.nextInt(size);
+            int l = lecturer[i];
+            int v = venue[i];
+            int t = slot[i];
+            int timeslots = problem.getTimeslots().size();
+
+            switch (random.nextInt(5)) {
+                case 0: // Move to another timeslot, keeping lecturer and venue
+                    newLecturer[0] = l;
+                    newVenue[0] = v;
+                    newSlot[0] = random.nextInt(timeslots);
+                    break;
+                case 1: // Move to another free suitable venue in the same timeslot
+                    newLecturer[0] = l;
+                    newVenue[0] = occupancy.randomFreeVenue(t, problem.suitableVenueMask(course[i]), random);
+                    newSlot[0] = t;
+                    break;
+                case 2: // Hand the session to another available lecturer
+                    newLecturer[0] = occupancy.randomAvailableLecturer(t, problem.slotAvailability(), random);
+                    newVenue[0] = v;
+                    newSlot[0] = t;
+                    break;
+                case 3: // Move to another timeslot with any free lecturer and venue
+                    int target = random.nextInt(timeslots);
+                    newLecturer[0] = problem.lecturerAvailability().get(l, target) && occupancy.isLecturerFree(l, target)
+                            ? l : occupancy.randomAvailableLecturer(target, problem.slotAvailability(), random);
+                    newVenue[0] = occupancy.randomFreeVenue(target, problem.suitableVenueMask(course[i]), random);
+                    newSlot[0] = target;
+                    break;
+                default: // Swap the timeslots of two entries
+                    int j = random.nextInt(size);
+                    if (j == i || slot[j] == t) {
+                        return INFEASIBLE;
+                    }
+                    moveIndex[1] = j;
+                    newLecturer[0] = l;
+                    newVenue[0] = v;
+                    newSlot[0] = slot[j];
+                    newLecturer[1] = lecturer[j];
+                    newVenue[1] = venue[j];
+                    newSlot[1] = t;
+                    moveIndex[0] = i;
+                    return relocate(2, moveIndex, newLecturer, newVenue, newSlot);
+            }
+            if (newLecturer[0] < 0 || newVenue[0] < 0
+                    || (newLecturer[0] == l && newVenue[0] == v && newSlot[0] == t)) {
+                return INFEASIBLE;
+            }
+            moveIndex[0] = i;
+            return relocate(1, moveIndex, newLecturer, newVenue, newSlot);
+        }
+
+        /**
+         * Moves one or two entries to new (lecturer, venue, timeslot) triples if the result is
+         * feasible, remembering the old values for {@link #undo()}.
+         *
+         * @return the score delta, or {@link #INFEASIBLE} if the move was rejected and nothing changed
+         */
+        long relocate(int count, int[] index, int[] toLecturer, int[] toVenue, int[] toSlot) {
+            // Copy the targets first, the arrays passed in may be the move buffers themselves
+            int i0 = index[0];
+            int i1 = count > 1 ? index[1] : -1;
+            int l0 = toLecturer[0];
+            int v0 = toVenue[0];
+            int t0 = toSlot[0];
+            int l1 = count > 1 ? toLecturer[1] : -1;
+            int v1 = count > 1 ? toVenue[1] : -1;
+            int t1 = count > 1 ? toSlot[1] : -1;
+
+            moveCount = count;
+            moveIndex[0] = i0;
+            moveIndex[1] = i1;
+            newLecturer[0] = l0;
+            newVenue[0] = v0;
+            newSlot[0] = t0;
+            newLecturer[1] = l1;
+            newVenue[1] = v1;
+            newSlot[1] = t1;
+
+            // Lecturer-day masks touched by the move, with their current cost
+            int keyCount = 0;
+            for (int m = 0; m < count; m++) {
+                int i = moveIndex[m];
+                oldLecturer[m] = lecturer[i];
+                oldVenue[m] = venue[i];
+                oldSlot[m] = slot[i];
+                keyCount = addKey(keyCount, SoftConstraintScorer.dayKey(problem, lecturer[i], slot[i]));
+                keyCount = addKey(keyCount, SoftConstraintScorer.dayKey(problem, newLecturer[m], newSlot[m]));
+            }
+            long delta = 0;
+            for (int k = 0; k < keyCount; k++) {
+                keyCost[k] = scorer.lecturerDayCost(lecturerDays, keys[k], words);
+            }
+
+            for (int m = 0; m < count; m++) {
+                int i = moveIndex[m];
+                occupancy.release(lecturer[i], venue[i], slot[i]);
+            }
+            boolean feasible = true;
+            for (int m = 0; m < count && feasible; m++) {
+                int i = moveIndex[m];
+                int l = newLecturer[m];
+                int v = newVenue[m];
+                int t = newSlot[m];
+                feasible = occupancy.canAssign(l, v, t)
+                        && problem.lecturerAvailability().get(l, t)
+                        && (problem.suitableVenueMask(course[i])[v >>> 6] & (1L << v)) != 0;
+                if (feasible) {
+                    occupancy.assign(l, v, t);
+                } else {
+                    for (int r = 0; r < m; r++) {
+                        occupancy.release(newLecturer[r], newVenue[r], newSlot[r]);
+                    }
+                }
+            }
+            if (!feasible) {
+                for (int m = 0; m < count; m++) {
+                    occupancy.assign(oldLecturer[m], oldVenue[m], oldSlot[m]);
+                }
+                moveCount = 0;
+                return INFEASIBLE;
+            }
+
+            for (int m = 0; m < count; m++) {
+                int i = moveIndex[m];
+                SoftConstraintScorer.removeSession(problem, lecturerDays, lecturer[i], slot[i]);
+                delta -= scorer.entryCost(problem, course[i], venue[i]);
+            }
+            for (int m = 0; m < count; m++) {
+                int i = moveIndex[m];
+                lecturer[i] = newLecturer[m];
+                venue[i] = newVenue[m];
+                slot[i] = newSlot[m];
+                SoftConstraintScorer.addSession(problem, lecturerDays, lecturer[i], slot[i]);
+                delta += scorer.entryCost(problem, course[i], venue[i]);
+            }
+            for (int k = 0; k < keyCount; k++) {
+                delta += scorer.lecturerDayCost(lecturerDays, keys[k], words) - keyCost[k];
+            }
+            return delta;
+        }
+
+        private int addKey(int keyCount, int key) {
+            for (int k = 0; k < keyCount; k++) {
+                if (keys[k] == key) {
+                    return keyCount;
+                }
+            }
+            keys[keyCount] = key;
+            return keyCount + 1;
+        }
+
+        /**
+         * Reverts the last move applied by {@link #relocate}.
+         */
+        void undo() {
+            for (int m = 0; m < moveCount; m++) {
+                int i = moveIndex[m];
+                occupancy.release(lecturer[i], venue[i], slot[i]);
+                SoftConstraintScorer.removeSession(problem, lecturerDays, lecturer[i], slot[i]);
+            }
+            for (int m = 0; m < moveCount; m++) {
+                int i = moveIndex[m];
+                lecturer[i] = oldLecturer[m];
+                venue[i] = oldVenue[m];
+                slot[i] = oldSlot[m];
+                occupancy.assign(lecturer[i], venue[i], slot[i]);
+                SoftConstraintScorer.addSession(problem, lecturerDays, lecturer[i], slot[i]);
+            }
+            moveCount = 0;
+        }
+
+        /**
+         * Accepts the last move applied by {@link #relocate}.
+         *
+         * @param delta the score delta of the move
+         */
+        void commit(long delta) {
+            if (atBest && delta > 0) {
+                // Leaving the best timetable seen so far: keep a copy of it as it was before the move
+                System.arraycopy(lecturer, 0, bestLecturer, 0, size);
+                System.arraycopy(venue, 0, bestVenue, 0, size);
+                System.arraycopy(slot, 0, bestSlot, 0, size);
+                for (int m = 0; m < moveCount; m++) {
+                    bestLecturer[moveIndex[m]] = oldLecturer[m];
+                    bestVenue[moveIndex[m]] = oldVenue[m];
+                    bestSlot[moveIndex[m]] = oldSlot[m];
+                }
+                bestCost = cost;
+                atBest = false;
+            }
+            cost += delta;
+            if (cost < bestCost || (cost == bestCost && !atBest)) {
+                bestCost = cost;
+                atBest = true;
+            }
+            moveCount = 0;
+        }
+
+        /**
+         * Gets the score of the current timetable, maintained incrementally.
+         *
+         * @return the score
+         */
+        long cost() {
+            return cost;
+        }
+
+        /**
+         * Gets the current timetable, with the original entry IDs.
+         *
+         * @return the entries
+         */
+        List<TimetableEntry> entries() {
+            List<TimetableEntry> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new TimetableEntry(id[i],
+                        problem.getCourses().get(course[i]).getId(),
+                        problem.getLecturers().get(lecturer[i]).getId(),
+                        problem.getVenues().get(venue[i]).getId(),
+                        problem.getTimeslots().get(slot[i]).getId()));
+            }
+            return result;
+        }
+
+        /**
+         * Puts the best timetable seen back into the arrays.
+         */
+        void restoreBest() {
+            if (!atBest) {
+                System.arraycopy(bestLecturer, 0, lecturer, 0, size);
+                System.arraycopy(bestVenue, 0, venue, 0, size);
+                System.arraycopy(bestSlot, 0, slot, 0, size);
+                cost = bestCost;
+                atBest = true;
+            }
+        }
+    }
+
+    /**
+     * Gets the search strategy.
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the search strategy.
+     *
+     * @param mode the mode
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Gets the search budget. The node limit caps the number of iterations.
+     *
+     * @return the search budget
+     */
+    public SearchBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the search budget. The node limit caps the number of iterations.
+     *
+     * @param budget the search budget
+     */
+    public void setBudget(SearchBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the scorer used to evaluate timetables.
+     *
+     * @return the scorer
+     */
+    public SoftConstraintScorer getScorer() {
+        return scorer;
+    }
+
+    /**
+     * Sets the scorer used to evaluate timetables.
+     *
+     * @param scorer the scorer
+     */
+    public void setScorer(SoftConstraintScorer scorer) {
+        this.scorer = scorer;
+    }
+
+    /**
+     * Sets the simulated annealing temperature schedule. The temperature decays geometrically
+     * from the initial to the final value over the budget.
+     *
+     * @param initialTemperature the starting temperature
+     * @param finalTemperature the temperature at the end of the budget
+     */
+    public void setTemperatures(double initialTemperature, double finalTemperature) {
+        this.initialTemperature = initialTemperature;
+        this.finalTemperature = finalTemperature;
+    }
+
+    /**
+     * Sets the tabu search parameters.
+     *
+     * @param tabuTenure the number of iterations an entry may not return to a timeslot it left
+     * @param tabuSampleSize the number of neighbours sampled per iteration
+     */
+    public void setTabuParameters(int tabuTenure, int tabuSampleSize) {
+        this.tabuTenure = tabuTenure;
+        this.tabuSampleSize = tabuSampleSize;
+    }
+}
@@ -0,0 +1,227 @@
+package com.timetable.system.solver;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Occupancy tracks which lecturers and venues are already booked in which timeslots,
+ * using dense indices from a {@link TimetableProblem}.
+ * Each booking is kept both per resource (lecturer/venue x timeslot) and per timeslot
+ * (timeslot x lecturer/venue), so feasibility checks and updates are single-word operations
+ * and "first free resource in this slot" lookups scan whole words at a time.
+ * An assignment accepted by {@link #canAssign(int, int, int)} can never violate the
+ * {@code UNIQUE(lecturer_id, timeslot_id)} or {@code UNIQUE(venue_id, timeslot_id)} constraints.
+ */
+final class Occupancy {
+    private final BitMatrix lecturerSlots;
+    private final BitMatrix venueSlots;
+    private final BitMatrix slotLecturers;
+    private final BitMatrix slotVenues;
+
+    /**
+     * Constructs a new, empty Occupancy.
+     *
+     * @param lecturers the number of lecturers
+     * @param venues the number of venues
+     * @param timeslots the number of timeslots
+     */
+    Occupancy(int lecturers, int venues, int timeslots) {
+        this.lecturerSlots = new BitMatrix(lecturers, timeslots);
+        this.venueSlots = new BitMatrix(venues, timeslots);
+        this.slotLecturers = new BitMatrix(timeslots, lecturers);
+        this.slotVenues = new BitMatrix(timeslots, venues);
+    }
+
+    /**
+     * Constructs a new, empty Occupancy sized for a problem.
+     *
+     * @param problem the problem
+     */
+    Occupancy(TimetableProblem problem) {
+        this(problem.getLecturers().size(), problem.getVenues().size(), problem.getTimeslots().size());
+    }
+
+    private Occupancy(Occupancy other) {
+        this.lecturerSlots = other.lecturerSlots.copy();
+        this.venueSlots = other.venueSlots.copy();
+        this.slotLecturers = other.slotLecturers.copy();
+        this.slotVenues = other.slotVenues.copy();
+    }
+
+    boolean isLecturerFree(int lecturer, int timeslot) {
+        return !lecturerSlots.get(lecturer, timeslot);
+    }
+
+    boolean isVenueFree(int venue, int timeslot) {
+        return !venueSlots.get(venue, timeslot);
+    }
+
+    boolean canAssign(int lecturer, int venue, int timeslot) {
+        return !lecturerSlots.get(lecturer, timeslot) && !venueSlots.get(venue, timeslot);
+    }
+
+    /**
+     * Books a lecturer and a venue for a timeslot.
+     *
+     * @param lecturer the lecturer index
+     * @param venue the venue index
+     * @param timeslot the timeslot index
+     */
+    void assign(int lecturer, int venue, int timeslot) {
+        lecturerSlots.set(lecturer, timeslot);
+        slotLecturers.set(timeslot, lecturer);
+        venueSlots.set(venue, timeslot);
+        slotVenues.set(timeslot, venue);
+    }
+
+    /**
+     * Releases a booking made by {@link #assign(int, int, int)}.
+     *
+     * @param lecturer the lecturer index
+     * @param venue the venue index
+     * @param timeslot the timeslot index
+     */
+    void release(int lecturer, int venue, int timeslot) {
+        lecturerSlots.clear(lecturer, timeslot);
+        slotLecturers.clear(timeslot, lecturer);
+        venueSlots.clear(venue, timeslot);
+        slotVenues.clear(timeslot, venue);
+    }
+
+    /**
+     * Finds the first lecturer that is both available and free in a timeslot.
+     *
+     * @param timeslot the timeslot index
+     * @param slotAvailability the timeslot x lecturer availability matrix
+     * @return the lecturer index, or -1 if none is available and free
+     */
+    int firstAvailableLecturer(int timeslot, BitMatrix slotAvailability) {
+        return slotAvailability.firstSetAndNot(timeslot, slotLecturers, timeslot);
+    }
+
+    /**
+     * Checks whether any lecturer is both available and free in a timeslot.
+     *
+     * @param timeslot the timeslot index
+     * @param slotAvailability the timeslot x lecturer availability matrix
+     * @return true if at least one lecturer can still teach in the timeslot
+     */
+    boolean hasAvailableLecturer(int timeslot, BitMatrix slotAvailability) {
+        return firstAvailableLecturer(timeslot, slotAvailability) >= 0;
+    }
+
+    /**
+     * Counts the lecturers that are both available and free in a timeslot.
+     *
+     * @param timeslot the timeslot index
+     * @param slotAvailability the timeslot x lecturer availability matrix
+     * @return the number of lecturers
+     */
+    int countAvailableLecturers(int timeslot, BitMatrix slotAvailability) {
+        return slotAvailability.countSetAndNot(timeslot, slotLecturers, timeslot);
+    }
+
+    /**
+     * Counts the venues of the mask that are free in a timeslot.
+     *
+     * @param timeslot the timeslot index
+     * @param venueMask the candidate venues
+     * @return the number of venues
+     */
+    int countFreeVenues(int timeslot, long[] venueMask) {
+        return slotVenues.countClearIn(timeslot, venueMask);
+    }
+
+    /**
+     * Picks a random lecturer that is both available and free in a timeslot.
+     *
+     * @param timeslot the timeslot index
+     * @param slotAvailability the timeslot x lecturer availability matrix
+     * @param random the source of randomness
+     * @return the lecturer index, or -1 if none is available and free
+     */
+    int randomAvailableLecturer(int timeslot, BitMatrix slotAvailability, Random random) {
+        int count = countAvailableLecturers(timeslot, slotAvailability);
+        if (count == 0) {
+            return -1;
+        }
+        return slotAvailability.nthSetAndNot(timeslot, slotLecturers, timeslot, random.nextInt(count));
+    }
+
+    /**
+     * Picks a random venue of the mask that is free in a timeslot.
+     *
+     * @param timeslot the timeslot index
+     * @param venueMask the candidate venues
+     * @param random the source of randomness
+     * @return the venue index, or -1 if none is free
+     */
+    int randomFreeVenue(int timeslot, long[] venueMask, Random random) {
+        int count = countFreeVenues(timeslot, venueMask);
+        if (count == 0) {
+            return -1;
+        }
+        return slotVenues.nthClearIn(timeslot, venueMask, random.nextInt(count));
+    }
+
+    /**
+     * Computes the timeslots in which at least one lecturer is both available and free.
+     *
+     * @param lecturerAvailability the lecturer x timeslot availability matrix
+     * @param out receives the timeslot mask
+     */
+    void availableLecturerSlots(BitMatrix lecturerAvailability, long[] out) {
+        Arrays.fill(out, 0L);
+        int words = lecturerSlots.wordsPerRow();
+        for (int lecturer = 0; lecturer < lecturerSlots.rows(); lecturer++) {
+            for (int w = 0; w < words; w++) {
+                out[w] |= lecturerAvailability.word(lecturer, w) & ~lecturerSlots.word(lecturer, w);
+            }
+        }
+    }
+
+    /**
+     * Computes the timeslots in which at least one venue of the mask is free.
+     *
+     * @param venueMask the candidate venues
+     * @param out receives the timeslot mask
+     */
+    void freeVenueSlots(long[] venueMask, long[] out) {
+        Arrays.fill(out, 0L);
+        int words = venueSlots.wordsPerRow();
+        for (int i = 0; i < venueMask.length; i++) {
+            long bits = venueMask[i];
+            while (bits != 0) {
+                int venue = (i << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (int w = 0; w < words; w++) {
+                    out[w] |= ~venueSlots.word(venue, w);
+                }
+            }
+        }
+        int timeslots = venueSlots.columns();
+        if ((timeslots & 63) != 0 && words > 0) {
+            out[words - 1] &= -1L >>> (64 - (timeslots & 63));
+        }
+    }
+
+    /**
+     * Finds the first venue in the mask that is free in a timeslot.
+     *
+     * @param timeslot the timeslot index
+     * @param venueMask the candidate venues
+     * @return the venue index, or -1 if none is free
+     */
+    int firstFreeVenue(int timeslot, long[] venueMask) {
+        return slotVenues.firstClearIn(timeslot, venueMask);
+    }
+
+    /**
+     * Creates an independent copy of this occupancy.
+     *
+     * @return the copy
+     */
+    Occupancy copy() {
+        return new Occupancy(this);
+    }
+}
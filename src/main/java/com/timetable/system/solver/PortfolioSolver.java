@@ -0,0 +1,263 @@
+package com.timetable.system.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PortfolioSolver runs several independent solver instances in parallel on a
+ * {@link ForkJoinPool}, one per worker, and returns the best timetable any of them found.
+ *
+ * <p>Workers differ in seed and strategy: backtracking or greedy construction, followed by
+ * simulated annealing or tabu search on the soft constraints. Every timetable a worker
+ * produces is offered to a shared incumbent held in an {@link AtomicReference}; a timetable
+ * replaces the incumbent if it schedules more courses, or as many with a lower soft score.
+ * The run stops at the budget's deadline, when the budget is cancelled, or as soon as a worker
+ * finds a timetable that schedules every course with a suitable venue and whose score reaches
+ * {@link SoftConstraintScorer}'s lower bound, which proves it optimal.</p>
+ */
+public class PortfolioSolver implements TimetableSolver {
+    private final int parallelism;
+    private final long seed;
+    private SearchBudget budget = new SearchBudget();
+    private SoftConstraintScorer scorer = new SoftConstraintScorer();
+
+    /**
+     * Constructs a new PortfolioSolver with one worker per available processor.
+     */
+    public PortfolioSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new PortfolioSolver.
+     *
+     * @param parallelism the number of workers
+     */
+    public PortfolioSolver(int parallelism) {
+        this(parallelism, System.nanoTime());
+    }
+
+    /**
+     * Constructs a new PortfolioSolver with a fixed base seed. Worker i uses seed + i.
+     *
+     * @param parallelism the number of workers
+     * @param seed the base seed
+     */
+    public PortfolioSolver(int parallelism, long seed) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the number of workers.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Gets the search budget shared by all workers.
+     *
+     * @return the search budget
+     */
+    public SearchBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the search budget shared by all workers. With a time limit, workers keep restarting
+     * until the deadline; without one, each worker makes a single construction and improvement pass.
+     *
+     * @param budget the search budget
+     */
+    public void setBudget(SearchBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the scorer used to compare timetables.
+     *
+     * @return the scorer
+     */
+    public SoftConstraintScorer getScorer() {
+        return scorer;
+    }
+
+    /**
+     * Sets the scorer used to compare timetables.
+     *
+     * @param scorer the scorer
+     */
+    public void setScorer(SoftConstraintScorer scorer) {
+        this.scorer = scorer;
+    }
+
+    @Override
+    public TimetableSolution solve(TimetableProblem problem) {
+        long startTime = System.nanoTime();
+        long deadline = budget.deadlineFrom(startTime);
+        Run run = new Run(problem, budget.child(), deadline, scorer.lowerBound(problem));
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            final int worker = i;
+            workers.add(() -> {
+                run.work(worker, seed + worker);
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Void> future : pool.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.stop.cancel();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Portfolio worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Incumbent best = run.incumbent.get();
+        TimetableSolution solution = best != null ? best.solution
+                : new GreedySolver(seed).solve(problem);
+        SolverStatistics statistics = new SolverStatistics("Portfolio", System.nanoTime() - startTime,
+                problem.getCourses().size(), solution.getEntries().size(),
+                run.nodes.get(), run.backtracks.get(), !run.optimal && budget.isExhausted(0, deadline));
+        return new TimetableSolution(solution.getEntries(), solution.getUnassignedCourses(), statistics);
+    }
+
+    /**
+     * A timetable together with the values it is compared by.
+     */
+    private static final class Incumbent {
+        private final TimetableSolution solution;
+        private final int assigned;
+        private final long score;
+
+        Incumbent(TimetableSolution solution, long score) {
+            this.solution = solution;
+            this.assigned = solution.getEntries().size();
+            this.score = score;
+        }
+
+        boolean isBetterThan(Incumbent other) {
+            return other == null || assigned > other.assigned
+                    || (assigned == other.assigned && score < other.score);
+        }
+    }
+
+    /**
+     * The state shared by the workers of one portfolio run.
+     */
+    private final class Run {
+        private final TimetableProblem problem;
+        private final SearchBudget stop;
+        private final long deadlineNanos;
+        private final long lowerBound;
+        private final AtomicReference<Incumbent> incumbent = new AtomicReference<>();
+        private final AtomicLong nodes = new AtomicLong();
+        private final AtomicLong backtracks = new AtomicLong();
+        private volatile boolean optimal;
+
+        Run(TimetableProblem problem, SearchBudget stop, long deadlineNanos, long lowerBound) {
+            this.problem = problem;
+            this.stop = stop;
+            this.deadlineNanos = deadlineNanos;
+            this.lowerBound = lowerBound;
+        }
+
+        /**
+         * Runs one worker: construct, improve and offer timetables until the run stops.
+         */
+        void work(int worker, long workerSeed) {
+            boolean greedy = worker % 2 == 1;
+            LocalSearchOptimizer.Mode mode = worker % 4 < 2
+                    ? LocalSearchOptimizer.Mode.SIMULATED_ANNEALING : LocalSearchOptimizer.Mode.TABU;
+            long round = 0;
+            do {
+                long roundSeed = workerSeed + round * parallelism;
+                TimetableSolution constructed;
+                if (greedy) {
+                    constructed = new GreedySolver(roundSeed).solve(problem);
+                } else {
+                    BacktrackingSolver solver = new BacktrackingSolver(roundSeed);
+                    solver.setBudget(remainingBudget());
+                    constructed = solver.solve(problem);
+                }
+                record(constructed);
+                if (offer(constructed) || stop.isCancelled()) {
+                    return;
+                }
+
+                if (!constructed.getEntries().isEmpty()) {
+                    LocalSearchOptimizer optimizer = new LocalSearchOptimizer(roundSeed);
+                    optimizer.setMode(mode);
+                    optimizer.setScorer(scorer);
+                    SearchBudget improvement = remainingBudget();
+                    improvement.setNodeLimit(0);
+                    optimizer.setBudget(improvement);
+                    TimetableSolution improved = optimizer.optimize(problem, constructed.getEntries());
+                    record(improved);
+                    if (offer(improved)) {
+                        return;
+                    }
+                }
+                round++;
+            } while (deadlineNanos != Long.MAX_VALUE && !stop.isExhausted(0, deadlineNanos));
+        }
+
+        /**
+         * Creates a budget for the next step of a worker that ends at the run's deadline.
+         */
+        private SearchBudget remainingBudget() {
+            SearchBudget remaining = stop.child();
+            if (deadlineNanos != Long.MAX_VALUE) {
+                remaining.setTimeLimitMillis(Math.max(1, (deadlineNanos - System.nanoTime()) / 1_000_000L));
+            }
+            return remaining;
+        }
+
+        private void record(TimetableSolution solution) {
+            nodes.addAndGet(solution.getStatistics().getNodes());
+            backtracks.addAndGet(solution.getStatistics().getBacktracks());
+        }
+
+        /**
+         * Offers a timetable to the shared incumbent.
+         *
+         * @return true if the timetable is provably optimal and the run has been stopped
+         */
+        private boolean offer(TimetableSolution solution) {
+            Incumbent candidate = new Incumbent(solution, scorer.score(problem, solution.getEntries()));
+            Incumbent current = incumbent.get();
+            while (candidate.isBetterThan(current)) {
+                if (incumbent.compareAndSet(current, candidate)) {
+                    break;
+                }
+                current = incumbent.get();
+            }
+            // Courses without a suitable venue count neither towards the bound nor here
+            if (candidate.assigned >= problem.placeableCourseCount() && candidate.score <= lowerBound) {
+                optimal = true;
+                stop.cancel();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Course;
+import com.timetable.system.TimetableEntry;
+import com.timetable.system.TimetableEntryDAO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RepairResult is the outcome of a {@link TimetableRepairer} run: the entries that stay as
+ * they are, the entries that must be deleted, the new entries that replace them and the
+ * courses that could still not be placed.
+ */
+public final class RepairResult implements TimetableEntryDAO.Changes {
+    private final List<TimetableEntry> keptEntries;
+    private final List<TimetableEntry> removedEntries;
+    private final List<TimetableEntry> addedEntries;
+    private final List<Course> unassignedCourses;
+    private final SolverStatistics statistics;
+
+    /**
+     * Constructs a new RepairResult.
+     *
+     * @param keptEntries the entries left untouched
+     * @param removedEntries the existing entries to delete
+     * @param addedEntries the new (unsaved) entries
+     * @param unassignedCourses the courses that could not be scheduled
+     * @param statistics the statistics of the run
+     */
+    public RepairResult(List<TimetableEntry> keptEntries, List<TimetableEntry> removedEntries,
+                        List<TimetableEntry> addedEntries, List<Course> unassignedCourses,
+                        SolverStatistics statistics) {
+        this.keptEntries = Collections.unmodifiableList(new ArrayList<>(keptEntries));
+        this.removedEntries = Collections.unmodifiableList(new ArrayList<>(removedEntries));
+        this.addedEntries = Collections.unmodifiableList(new ArrayList<>(addedEntries));
+        this.unassignedCourses = Collections.unmodifiableList(new ArrayList<>(unassignedCourses));
+        this.statistics = statistics;
+    }
+
+    /**
+     * Gets the entries left untouched.
+     *
+     * @return an unmodifiable list of entries
+     */
+    public List<TimetableEntry> getKeptEntries() {
+        return keptEntries;
+    }
+
+    /**
+     * Gets the existing entries to delete.
+     *
+     * @return an unmodifiable list of entries
+     */
+    @Override
+    public List<TimetableEntry> getRemovedEntries() {
+        return removedEntries;
+    }
+
+    /**
+     * Gets the new, unsaved entries.
+     *
+     * @return an unmodifiable list of entries
+     */
+    @Override
+    public List<TimetableEntry> getAddedEntries() {
+        return addedEntries;
+    }
+
+    /**
+     * Gets the repaired timetable: the kept entries followed by the added ones.
+     *
+     * @return a new list of entries
+     */
+    public List<TimetableEntry> getEntries() {
+        List<TimetableEntry> entries = new ArrayList<>(keptEntries.size() + addedEntries.size());
+        entries.addAll(keptEntries);
+        entries.addAll(addedEntries);
+        return entries;
+    }
+
+    /**
+     * Gets the courses that could not be scheduled.
+     *
+     * @return an unmodifiable list of courses
+     */
+    public List<Course> getUnassignedCourses() {
+        return unassignedCourses;
+    }
+
+    /**
+     * Gets the statistics of the run.
+     *
+     * @return the statistics
+     */
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Checks if the repair changed anything.
+     *
+     * @return true if entries were removed or added, false otherwise
+     */
+    public boolean hasChanges() {
+        return !removedEntries.isEmpty() || !addedEntries.isEmpty();
+    }
+
+    /**
+     * Checks if every course is scheduled after the repair.
+     *
+     * @return true if no course is left unassigned, false otherwise
+     */
+    public boolean isComplete() {
+        return unassignedCourses.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "RepairResult{" +
+                "kept=" + keptEntries.size() +
+                ", removed=" + removedEntries.size() +
+                ", added=" + addedEntries.size() +
+                ", unassignedCourses=" + unassignedCourses.size() +
+                ", statistics=" + statistics +
+                '}';
+    }
+}
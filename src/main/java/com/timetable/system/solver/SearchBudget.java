@@ -0,0 +1,128 @@
+package com.timetable.system.solver;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SearchBudget limits how much work a solver may do: a maximum number of search nodes,
+ * a wall-clock time limit and a cancellation flag that may be raised from another thread.
+ * A limit of zero means unlimited.
+ */
+public class SearchBudget {
+    private long nodeLimit;
+    private long timeLimitMillis;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final SearchBudget parent;
+
+    /**
+     * Constructs a new, unlimited SearchBudget.
+     */
+    public SearchBudget() {
+        this(0, 0);
+    }
+
+    /**
+     * Constructs a new SearchBudget.
+     *
+     * @param nodeLimit the maximum number of search nodes, or 0 for no limit
+     * @param timeLimitMillis the wall-clock limit in milliseconds, or 0 for no limit
+     */
+    public SearchBudget(long nodeLimit, long timeLimitMillis) {
+        this(nodeLimit, timeLimitMillis, null);
+    }
+
+    private SearchBudget(long nodeLimit, long timeLimitMillis, SearchBudget parent) {
+        this.nodeLimit = nodeLimit;
+        this.timeLimitMillis = timeLimitMillis;
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a budget with the same limits that is also cancelled when this budget is.
+     * Cancelling the child does not cancel this budget, so a run can stop its own workers
+     * without touching the budget it was given.
+     *
+     * @return the child budget
+     */
+    SearchBudget child() {
+        return new SearchBudget(nodeLimit, timeLimitMillis, this);
+    }
+
+    /**
+     * Gets the maximum number of search nodes.
+     *
+     * @return the node limit, or 0 for no limit
+     */
+    public long getNodeLimit() {
+        return nodeLimit;
+    }
+
+    /**
+     * Sets the maximum number of search nodes.
+     *
+     * @param nodeLimit the node limit, or 0 for no limit
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Gets the wall-clock limit.
+     *
+     * @return the limit in milliseconds, or 0 for no limit
+     */
+    public long getTimeLimitMillis() {
+        return timeLimitMillis;
+    }
+
+    /**
+     * Sets the wall-clock limit.
+     *
+     * @param timeLimitMillis the limit in milliseconds, or 0 for no limit
+     */
+    public void setTimeLimitMillis(long timeLimitMillis) {
+        this.timeLimitMillis = timeLimitMillis;
+    }
+
+    /**
+     * Requests that any solver using this budget stops as soon as possible.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * Checks if cancellation has been requested.
+     *
+     * @return true if cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return cancelled.get() || (parent != null && parent.isCancelled());
+    }
+
+    /**
+     * Computes the deadline of a run that started at the given time.
+     *
+     * @param startNanos the start of the run, from {@link System#nanoTime()}
+     * @return the deadline in {@link System#nanoTime()} units, or {@link Long#MAX_VALUE} for no limit
+     */
+    long deadlineFrom(long startNanos) {
+        return timeLimitMillis > 0 ? startNanos + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+    }
+
+    /**
+     * Checks whether a run has used up this budget.
+     *
+     * @param nodes the number of nodes explored so far
+     * @param deadlineNanos the deadline returned by {@link #deadlineFrom(long)}
+     * @return true if the run must stop, false otherwise
+     */
+    boolean isExhausted(long nodes, long deadlineNanos) {
+        if (isCancelled()) {
+            return true;
+        }
+        if (nodeLimit > 0 && nodes >= nodeLimit) {
+            return true;
+        }
+        return deadlineNanos != Long.MAX_VALUE && System.nanoTime() >= deadlineNanos;
+    }
+}
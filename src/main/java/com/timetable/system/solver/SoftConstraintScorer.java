@@ -0,0 +1,280 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Course;
+import com.timetable.system.TimetableEntry;
+import com.timetable.system.Venue;
+
+import java.util.List;
+
+/**
+ * SoftConstraintScorer measures how desirable a feasible timetable is. Lower scores are better.
+ * The score is a weighted sum of:
+ * <ul>
+ *   <li>lecturer gaps: idle timeslots between a lecturer's first and last session of a day,</li>
+ *   <li>day spread: the square of each lecturer's number of sessions per day, which favours
+ *       spreading teaching across the week,</li>
+ *   <li>capacity waste: seats above {@link TimetableProblem#MINIMUM_CAPACITY}, per ten seats,</li>
+ *   <li>lab placement: lab courses outside a Lab and other courses occupying a Lab.</li>
+ * </ul>
+ * Each lecturer's sessions on a day are kept as a bit mask of positions within the day, a
+ * single 64-bit word unless a day has more timeslots, so the lecturer terms of a single change
+ * can be re-scored in O(1).
+ */
+public class SoftConstraintScorer {
+    private int gapWeight = 10;
+    private int dailyLoadWeight = 2;
+    private int capacityWasteWeight = 1;
+    private int labMisuseWeight = 5;
+    private int labMissingWeight = 100;
+
+    /**
+     * Constructs a new SoftConstraintScorer with the default weights.
+     */
+    public SoftConstraintScorer() {
+    }
+
+    /**
+     * Scores a timetable from scratch.
+     *
+     * @param problem the problem the entries belong to
+     * @param entries the timetable entries
+     * @return the soft constraint score, lower is better
+     */
+    public long score(TimetableProblem problem, List<TimetableEntry> entries) {
+        long[] lecturerDays = newLecturerDays(problem);
+        long score = 0;
+        for (TimetableEntry entry : entries) {
+            int course = problem.indexOfCourse(entry.getCourseId());
+            int lecturer = problem.indexOfLecturer(entry.getLecturerId());
+            int venue = problem.indexOfVenue(entry.getVenueId());
+            int timeslot = problem.indexOfTimeslot(entry.getTimeslotId());
+            if (course < 0 || lecturer < 0 || venue < 0 || timeslot < 0) {
+                continue;
+            }
+            score += entryCost(problem, course, venue);
+            addSession(problem, lecturerDays, lecturer, timeslot);
+        }
+        int words = problem.dayWords();
+        for (int key = 0; key < lecturerDays.length / words; key++) {
+            score += lecturerDayCost(lecturerDays, key, words);
+        }
+        return score;
+    }
+
+    /**
+     * Computes a lower bound on the score of any timetable that schedules every placeable
+     * course: each course pays at least its cheapest suitable venue and one session of daily
+     * load, and gaps cost nothing. Courses without a suitable venue cannot be scheduled and add
+     * nothing. A timetable that schedules all {@link TimetableProblem#placeableCourseCount()}
+     * courses and reaches the bound is optimal.
+     *
+     * @param problem the problem
+     * @return the lower bound of a timetable that schedules every placeable course
+     */
+    long lowerBound(TimetableProblem problem) {
+        long bound = 0;
+        for (int c = 0; c < problem.getCourses().size(); c++) {
+            long cheapest = Long.MAX_VALUE;
+            long[] mask = problem.suitableVenueMask(c);
+            for (int v = 0; v < problem.getVenues().size(); v++) {
+                if ((mask[v >>> 6] & (1L << v)) != 0) {
+                    cheapest = Math.min(cheapest, entryCost(problem, c, v));
+                }
+            }
+            if (cheapest != Long.MAX_VALUE) {
+                bound += cheapest + dailyLoadWeight;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Creates empty lecturer-day masks for a problem: {@link TimetableProblem#dayWords()} words
+     * for each lecturer and day, with an extra day for timeslots on an unknown day.
+     *
+     * @param problem the problem
+     * @return the masks, indexed by {@link #dayKey} times the number of words
+     */
+    static long[] newLecturerDays(TimetableProblem problem) {
+        int days = TimetableProblem.DAYS.size() + 1;
+        return new long[problem.getLecturers().size() * days * problem.dayWords()];
+    }
+
+    /**
+     * Gets the key of the lecturer-day mask a session belongs to.
+     *
+     * @param problem the problem
+     * @param lecturer the lecturer index
+     * @param timeslot the timeslot index
+     * @return the mask key
+     */
+    static int dayKey(TimetableProblem problem, int lecturer, int timeslot) {
+        return lecturer * (TimetableProblem.DAYS.size() + 1) + problem.dayOf(timeslot);
+    }
+
+    /**
+     * Sets the bit of a session in its lecturer-day mask.
+     *
+     * @param problem the problem
+     * @param lecturerDays the lecturer-day masks
+     * @param lecturer the lecturer index
+     * @param timeslot the timeslot index
+     */
+    static void addSession(TimetableProblem problem, long[] lecturerDays, int lecturer, int timeslot) {
+        int position = problem.positionInDay(timeslot);
+        lecturerDays[dayKey(problem, lecturer, timeslot) * problem.dayWords() + (position >>> 6)] |= 1L << position;
+    }
+
+    /**
+     * Clears the bit of a session in its lecturer-day mask.
+     *
+     * @param problem the problem
+     * @param lecturerDays the lecturer-day masks
+     * @param lecturer the lecturer index
+     * @param timeslot the timeslot index
+     */
+    static void removeSession(TimetableProblem problem, long[] lecturerDays, int lecturer, int timeslot) {
+        int position = problem.positionInDay(timeslot);
+        lecturerDays[dayKey(problem, lecturer, timeslot) * problem.dayWords() + (position >>> 6)] &= ~(1L << position);
+    }
+
+    /**
+     * Scores the venue-related terms of a single entry.
+     *
+     * @param problem the problem
+     * @param course the course index
+     * @param venue the venue index
+     * @return the cost of holding the course in the venue
+     */
+    long entryCost(TimetableProblem problem, int course, int venue) {
+        Course c = problem.getCourses().get(course);
+        Venue v = problem.getVenues().get(venue);
+        boolean lab = "Lab".equals(v.getType());
+        long cost = (long) capacityWasteWeight * (Math.max(0, v.getCapacity() - TimetableProblem.MINIMUM_CAPACITY) / 10);
+        if (c.isLabRequired() && !lab) {
+            cost += labMissingWeight;
+        } else if (!c.isLabRequired() && lab) {
+            cost += labMisuseWeight;
+        }
+        return cost;
+    }
+
+    /**
+     * Scores one lecturer's sessions on one day.
+     *
+     * @param lecturerDays the lecturer-day masks
+     * @param key the key of the lecturer's day
+     * @param words the number of words per mask
+     * @return the cost of the day
+     */
+    long lecturerDayCost(long[] lecturerDays, int key, int words) {
+        int count = 0;
+        int first = -1;
+        int last = -1;
+        for (int w = 0; w < words; w++) {
+            long mask = lecturerDays[key * words + w];
+            if (mask != 0) {
+                count += Long.bitCount(mask);
+                if (first < 0) {
+                    first = (w << 6) + Long.numberOfTrailingZeros(mask);
+                }
+                last = (w << 6) + 63 - Long.numberOfLeadingZeros(mask);
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        int span = last - first + 1;
+        return (long) gapWeight * (span - count) + (long) dailyLoadWeight * count * count;
+    }
+
+    /**
+     * Gets the weight of one idle timeslot in a lecturer's day.
+     *
+     * @return the gap weight
+     */
+    public int getGapWeight() {
+        return gapWeight;
+    }
+
+    /**
+     * Sets the weight of one idle timeslot in a lecturer's day.
+     *
+     * @param gapWeight the gap weight
+     */
+    public void setGapWeight(int gapWeight) {
+        this.gapWeight = gapWeight;
+    }
+
+    /**
+     * Gets the weight of the squared number of sessions a lecturer teaches per day.
+     *
+     * @return the daily load weight
+     */
+    public int getDailyLoadWeight() {
+        return dailyLoadWeight;
+    }
+
+    /**
+     * Sets the weight of the squared number of sessions a lecturer teaches per day.
+     *
+     * @param dailyLoadWeight the daily load weight
+     */
+    public void setDailyLoadWeight(int dailyLoadWeight) {
+        this.dailyLoadWeight = dailyLoadWeight;
+    }
+
+    /**
+     * Gets the weight of every ten seats of unused venue capacity.
+     *
+     * @return the capacity waste weight
+     */
+    public int getCapacityWasteWeight() {
+        return capacityWasteWeight;
+    }
+
+    /**
+     * Sets the weight of every ten seats of unused venue capacity.
+     *
+     * @param capacityWasteWeight the capacity waste weight
+     */
+    public void setCapacityWasteWeight(int capacityWasteWeight) {
+        this.capacityWasteWeight = capacityWasteWeight;
+    }
+
+    /**
+     * Gets the weight of a course without lab requirements occupying a Lab.
+     *
+     * @return the lab misuse weight
+     */
+    public int getLabMisuseWeight() {
+        return labMisuseWeight;
+    }
+
+    /**
+     * Sets the weight of a course without lab requirements occupying a Lab.
+     *
+     * @param labMisuseWeight the lab misuse weight
+     */
+    public void setLabMisuseWeight(int labMisuseWeight) {
+        this.labMisuseWeight = labMisuseWeight;
+    }
+
+    /**
+     * Gets the weight of a lab course held outside a Lab.
+     *
+     * @return the missing lab weight
+     */
+    public int getLabMissingWeight() {
+        return labMissingWeight;
+    }
+
+    /**
+     * Sets the weight of a lab course held outside a Lab.
+     *
+     * @param labMissingWeight the missing lab weight
+     */
+    public void setLabMissingWeight(int labMissingWeight) {
+        this.labMissingWeight = labMissingWeight;
+    }
+}
@@ -0,0 +1,143 @@
+package com.timetable.system.solver;
+
+/**
+ * SolverStatistics holds the measurements collected during a single solver run.
+ */
+public final class SolverStatistics {
+    private final String solverName;
+    private final long elapsedNanos;
+    private final int coursesTotal;
+    private final int coursesAssigned;
+    private final long nodes;
+    private final long backtracks;
+    private final boolean budgetExhausted;
+
+    /**
+     * Constructs a new SolverStatistics for a run without search nodes.
+     *
+     * @param solverName the name of the solver that produced the run
+     * @param elapsedNanos the wall-clock duration of the run in nanoseconds
+     * @param coursesTotal the number of courses in the problem
+     * @param coursesAssigned the number of courses that were scheduled
+     */
+    public SolverStatistics(String solverName, long elapsedNanos, int coursesTotal, int coursesAssigned) {
+        this(solverName, elapsedNanos, coursesTotal, coursesAssigned, 0, 0, false);
+    }
+
+    /**
+     * Constructs a new SolverStatistics.
+     *
+     * @param solverName the name of the solver that produced the run
+     * @param elapsedNanos the wall-clock duration of the run in nanoseconds
+     * @param coursesTotal the number of courses in the problem
+     * @param coursesAssigned the number of courses that were scheduled
+     * @param nodes the number of search nodes explored
+     * @param backtracks the number of times the search backtracked
+     * @param budgetExhausted whether the run stopped because its budget ran out
+     */
+    public SolverStatistics(String solverName, long elapsedNanos, int coursesTotal, int coursesAssigned,
+                            long nodes, long backtracks, boolean budgetExhausted) {
+        this.solverName = solverName;
+        this.elapsedNanos = elapsedNanos;
+        this.coursesTotal = coursesTotal;
+        this.coursesAssigned = coursesAssigned;
+        this.nodes = nodes;
+        this.backtracks = backtracks;
+        this.budgetExhausted = budgetExhausted;
+    }
+
+    /**
+     * Gets the solver name.
+     *
+     * @return the solver name
+     */
+    public String getSolverName() {
+        return solverName;
+    }
+
+    /**
+     * Gets the wall-clock duration of the run.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the wall-clock duration of the run.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000L;
+    }
+
+    /**
+     * Gets the number of courses in the problem.
+     *
+     * @return the number of courses
+     */
+    public int getCoursesTotal() {
+        return coursesTotal;
+    }
+
+    /**
+     * Gets the number of courses that were scheduled.
+     *
+     * @return the number of scheduled courses
+     */
+    public int getCoursesAssigned() {
+        return coursesAssigned;
+    }
+
+    /**
+     * Gets the number of search nodes explored.
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the number of times the search backtracked.
+     *
+     * @return the number of backtracks
+     */
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * Gets the search throughput.
+     *
+     * @return the number of nodes explored per second
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos > 0 ? nodes * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    /**
+     * Checks whether the run stopped because its budget ran out.
+     *
+     * @return true if the node limit, time limit or cancellation ended the run
+     */
+    public boolean isBudgetExhausted() {
+        return budgetExhausted;
+    }
+
+    @Override
+    public String toString() {
+        return "SolverStatistics{" +
+                "solverName='" + solverName + '\'' +
+                ", elapsedMillis=" + getElapsedMillis() +
+                ", coursesTotal=" + coursesTotal +
+                ", coursesAssigned=" + coursesAssigned +
+                ", nodes=" + nodes +
+                ", backtracks=" + backtracks +
+                ", nodesPerSecond=" + Math.round(getNodesPerSecond()) +
+                ", budgetExhausted=" + budgetExhausted +
+                '}';
+    }
+}
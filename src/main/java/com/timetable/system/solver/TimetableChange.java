@@ -0,0 +1,165 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Availability;
+import com.timetable.system.Lecturer;
+import com.timetable.system.Timeslot;
+import com.timetable.system.Venue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TimetableChange describes a single edit to the data a timetable was built from, such as
+ * "venue 12 removed" or "lecturer 7 is no longer available in timeslot 3". A change can be
+ * applied to a {@link TimetableProblem} snapshot, so a {@link TimetableRepairer} can work out
+ * the new problem without reloading it. Applying a change that is already reflected in the
+ * snapshot leaves it unchanged.
+ */
+public final class TimetableChange {
+
+    /**
+     * The kind of edit.
+     */
+    public enum Type {
+        VENUE_REMOVED,
+        VENUE_UPDATED,
+        LECTURER_REMOVED,
+        TIMESLOT_REMOVED,
+        AVAILABILITY_REMOVED,
+        AVAILABILITY_ADDED
+    }
+
+    private final Type type;
+    private final int id;
+    private final int timeslotId;
+    private final Venue venue;
+
+    private TimetableChange(Type type, int id, int timeslotId, Venue venue) {
+        this.type = type;
+        this.id = id;
+        this.timeslotId = timeslotId;
+        this.venue = venue;
+    }
+
+    /**
+     * Creates a change for a deleted venue.
+     *
+     * @param venueId the ID of the venue
+     * @return the change
+     */
+    public static TimetableChange venueRemoved(int venueId) {
+        return new TimetableChange(Type.VENUE_REMOVED, venueId, 0, null);
+    }
+
+    /**
+     * Creates a change for a venue whose capacity or type was edited.
+     *
+     * @param venue the venue with its new values
+     * @return the change
+     */
+    public static TimetableChange venueUpdated(Venue venue) {
+        return new TimetableChange(Type.VENUE_UPDATED, venue.getId(), 0,
+                new Venue(venue.getId(), venue.getName(), venue.getCapacity(), venue.getType()));
+    }
+
+    /**
+     * Creates a change for a deleted lecturer.
+     *
+     * @param lecturerId the ID of the lecturer
+     * @return the change
+     */
+    public static TimetableChange lecturerRemoved(int lecturerId) {
+        return new TimetableChange(Type.LECTURER_REMOVED, lecturerId, 0, null);
+    }
+
+    /**
+     * Creates a change for a deleted timeslot.
+     *
+     * @param timeslotId the ID of the timeslot
+     * @return the change
+     */
+    public static TimetableChange timeslotRemoved(int timeslotId) {
+        return new TimetableChange(Type.TIMESLOT_REMOVED, 0, timeslotId, null);
+    }
+
+    /**
+     * Creates a change for a lecturer who is no longer available in a timeslot.
+     *
+     * @param lecturerId the ID of the lecturer
+     * @param timeslotId the ID of the timeslot
+     * @return the change
+     */
+    public static TimetableChange availabilityRemoved(int lecturerId, int timeslotId) {
+        return new TimetableChange(Type.AVAILABILITY_REMOVED, lecturerId, timeslotId, null);
+    }
+
+    /**
+     * Creates a change for a lecturer who became available in a timeslot.
+     *
+     * @param lecturerId the ID of the lecturer
+     * @param timeslotId the ID of the timeslot
+     * @return the change
+     */
+    public static TimetableChange availabilityAdded(int lecturerId, int timeslotId) {
+        return new TimetableChange(Type.AVAILABILITY_ADDED, lecturerId, timeslotId, null);
+    }
+
+    /**
+     * Gets the kind of edit.
+     *
+     * @return the type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Applies this change to a problem snapshot.
+     *
+     * @param problem the problem before the change
+     * @return a new problem reflecting the change
+     */
+    public TimetableProblem applyTo(TimetableProblem problem) {
+        List<Venue> venues = new ArrayList<>(problem.getVenues());
+        List<Lecturer> lecturers = new ArrayList<>(problem.getLecturers());
+        List<Timeslot> timeslots = new ArrayList<>(problem.getTimeslots());
+        List<Availability> availabilities = new ArrayList<>(problem.getAvailabilities());
+
+        switch (type) {
+            case VENUE_REMOVED:
+                venues.removeIf(v -> v.getId() == id);
+                break;
+            case VENUE_UPDATED:
+                venues.replaceAll(v -> v.getId() == id ? venue : v);
+                break;
+            case LECTURER_REMOVED:
+                lecturers.removeIf(l -> l.getId() == id);
+                availabilities.removeIf(a -> a.getLecturerId() == id);
+                break;
+            case TIMESLOT_REMOVED:
+                timeslots.removeIf(t -> t.getId() == timeslotId);
+                availabilities.removeIf(a -> a.getTimeslotId() == timeslotId);
+                break;
+            case AVAILABILITY_REMOVED:
+                availabilities.removeIf(a -> a.getLecturerId() == id && a.getTimeslotId() == timeslotId);
+                break;
+            case AVAILABILITY_ADDED:
+                if (!problem.isLecturerAvailable(id, timeslotId)) {
+                    availabilities.add(new Availability(0, id, timeslotId));
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown change type: " + type);
+        }
+        return new TimetableProblem(problem.getCourses(), lecturers, venues, timeslots, availabilities);
+    }
+
+    @Override
+    public String toString() {
+        return "TimetableChange{" +
+                "type=" + type +
+                ", id=" + id +
+                ", timeslotId=" + timeslotId +
+                '}';
+    }
+}
@@ -0,0 +1,387 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Availability;
+import com.timetable.system.AvailabilityDAO;
+import com.timetable.system.Course;
+import com.timetable.system.EntityCaches;
+import com.timetable.system.Lecturer;
+import com.timetable.system.Timeslot;
+import com.timetable.system.Venue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TimetableProblem is an immutable, in-memory snapshot of everything a solver needs:
+ * courses, lecturers, venues, timeslots and lecturer availability.
+ * Entities are copied on construction, so later edits made through the GUI or the DAOs
+ * never leak into a running solver.
+ * A lecturer is only available in the timeslots listed for them in the Availability table;
+ * the rows are precomputed into a lecturer x timeslot bit matrix.
+ */
+public final class TimetableProblem {
+
+    /**
+     * Minimum venue capacity a course may be scheduled into.
+     */
+    public static final int MINIMUM_CAPACITY = 30;
+
+    /**
+     * Days of the week, in timetable order.
+     */
+    public static final List<String> DAYS = Collections.unmodifiableList(Arrays.asList(
+        "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"));
+
+    private final List<Course> courses;
+    private final List<Lecturer> lecturers;
+    private final List<Venue> venues;
+    private final List<Timeslot> timeslots;
+    private final List<Availability> availabilities;
+
+    // Dense index lookups (entity ID -> position in the lists above)
+    private final Map<Integer, Integer> courseIndex;
+    private final Map<Integer, Integer> lecturerIndex;
+    private final Map<Integer, Integer> venueIndex;
+    private final Map<Integer, Integer> timeslotIndex;
+
+    // Per course, the bit mask of venue indices that satisfy its type and capacity requirements
+    private final long[][] suitableVenueMasks;
+    // Number of courses with at least one suitable venue
+    private final int placeableCourseCount;
+
+    // Lecturer availability as lecturer x timeslot and timeslot x lecturer bit matrices
+    private final BitMatrix lecturerAvailability;
+    private final BitMatrix slotAvailability;
+
+    // Per timeslot, its day (index into DAYS) and its distinct position within that day
+    private final int[] slotDay;
+    private final int[] slotPosition;
+    // Number of 64-bit words needed for a bit per timeslot of the busiest day
+    private final int dayWords;
+
+    /**
+     * Constructs a new TimetableProblem.
+     *
+     * @param courses the courses to schedule
+     * @param lecturers the lecturers that can teach
+     * @param venues the venues that can host courses
+     * @param timeslots the timeslots that can be used
+     * @param availabilities the lecturer availability rows
+     */
+    public TimetableProblem(List<Course> courses, List<Lecturer> lecturers, List<Venue> venues,
+                            List<Timeslot> timeslots, List<Availability> availabilities) {
+        List<Course> courseCopies = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            courseCopies.add(new Course(course.getId(), course.getTitle(), course.getLevel(), course.isLabRequired()));
+        }
+        List<Lecturer> lecturerCopies = new ArrayList<>(lecturers.size());
+        for (Lecturer lecturer : lecturers) {
+            lecturerCopies.add(new Lecturer(lecturer.getId(), lecturer.getName(), lecturer.getRank()));
+        }
+        List<Venue> venueCopies = new ArrayList<>(venues.size());
+        for (Venue venue : venues) {
+            venueCopies.add(new Venue(venue.getId(), venue.getName(), venue.getCapacity(), venue.getType()));
+        }
+        List<Timeslot> timeslotCopies = new ArrayList<>(timeslots.size());
+        for (Timeslot timeslot : timeslots) {
+            timeslotCopies.add(new Timeslot(timeslot.getId(), timeslot.getDayOfWeek(),
+                                            timeslot.getStartTime(), timeslot.getEndTime()));
+        }
+        List<Availability> availabilityCopies = new ArrayList<>(availabilities.size());
+        for (Availability availability : availabilities) {
+            availabilityCopies.add(new Availability(availability.getId(), availability.getLecturerId(),
+                                                    availability.getTimeslotId()));
+        }
+
+        this.courses = Collections.unmodifiableList(courseCopies);
+        this.lecturers = Collections.unmodifiableList(lecturerCopies);
+        this.venues = Collections.unmodifiableList(venueCopies);
+        this.timeslots = Collections.unmodifiableList(timeslotCopies);
+        this.availabilities = Collections.unmodifiableList(availabilityCopies);
+
+        this.courseIndex = new HashMap<>();
+        for (int i = 0; i < courseCopies.size(); i++) {
+            courseIndex.put(courseCopies.get(i).getId(), i);
+        }
+        this.lecturerIndex = new HashMap<>();
+        for (int i = 0; i < lecturerCopies.size(); i++) {
+            lecturerIndex.put(lecturerCopies.get(i).getId(), i);
+        }
+        this.venueIndex = new HashMap<>();
+        for (int i = 0; i < venueCopies.size(); i++) {
+            venueIndex.put(venueCopies.get(i).getId(), i);
+        }
+        this.timeslotIndex = new HashMap<>();
+        for (int i = 0; i < timeslotCopies.size(); i++) {
+            timeslotIndex.put(timeslotCopies.get(i).getId(), i);
+        }
+
+        this.suitableVenueMasks = new long[courseCopies.size()][];
+        int placeable = 0;
+        for (int c = 0; c < courseCopies.size(); c++) {
+            long[] mask = new long[BitMatrix.wordsFor(venueCopies.size())];
+            boolean suitable = false;
+            for (int v = 0; v < venueCopies.size(); v++) {
+                if (isVenueSuitable(courseCopies.get(c), venueCopies.get(v))) {
+                    mask[v >>> 6] |= 1L << v;
+                    suitable = true;
+                }
+            }
+            suitableVenueMasks[c] = mask;
+            if (suitable) {
+                placeable++;
+            }
+        }
+        this.placeableCourseCount = placeable;
+
+        this.lecturerAvailability = new BitMatrix(lecturerCopies.size(), timeslotCopies.size());
+        this.slotAvailability = new BitMatrix(timeslotCopies.size(), lecturerCopies.size());
+        for (Availability availability : availabilityCopies) {
+            int lecturer = indexOfLecturer(availability.getLecturerId());
+            int timeslot = indexOfTimeslot(availability.getTimeslotId());
+            if (lecturer >= 0 && timeslot >= 0) {
+                lecturerAvailability.set(lecturer, timeslot);
+                slotAvailability.set(timeslot, lecturer);
+            }
+        }
+
+        this.slotDay = new int[timeslotCopies.size()];
+        this.slotPosition = new int[timeslotCopies.size()];
+        Integer[] order = new Integer[timeslotCopies.size()];
+        for (int t = 0; t < timeslotCopies.size(); t++) {
+            int day = DAYS.indexOf(timeslotCopies.get(t).getDayOfWeek());
+            slotDay[t] = day >= 0 ? day : DAYS.size();
+            order[t] = t;
+        }
+        // Timeslots sharing a start time are ordered by end time, then by index, so no two
+        // timeslots of a day share a position
+        Comparator<String> time = Comparator.nullsFirst(Comparator.naturalOrder());
+        Arrays.sort(order, Comparator.<Integer>comparingInt(t -> slotDay[t])
+                .thenComparing(t -> timeslotCopies.get(t).getStartTime(), time)
+                .thenComparing(t -> timeslotCopies.get(t).getEndTime(), time)
+                .thenComparingInt(t -> t));
+        int[] daySlots = new int[DAYS.size() + 1];
+        int busiestDay = 0;
+        for (int t : order) {
+            slotPosition[t] = daySlots[slotDay[t]]++;
+            busiestDay = Math.max(busiestDay, daySlots[slotDay[t]]);
+        }
+        this.dayWords = Math.max(1, BitMatrix.wordsFor(busiestDay));
+    }
+
+    /**
+     * Loads a problem snapshot from the database. Lecturers, courses, venues and timeslots
+     * are read through the shared {@link EntityCaches}.
+     *
+     * @return a new problem built from the current database contents
+     * @throws SQLException if a database access error occurs
+     */
+    public static TimetableProblem fromDatabase() throws SQLException {
+        List<Course> courses = EntityCaches.courses().findAll();
+        List<Lecturer> lecturers = EntityCaches.lecturers().findAll();
+        List<Venue> venues = EntityCaches.venues().findAll();
+        List<Timeslot> timeslots = EntityCaches.timeslots().findAll();
+        List<Availability> availabilities = new AvailabilityDAO().findAll();
+        return new TimetableProblem(courses, lecturers, venues, timeslots, availabilities);
+    }
+
+    /**
+     * Checks whether a venue satisfies the type and capacity requirements of a course.
+     *
+     * @param course the course
+     * @param venue the venue
+     * @return true if the course may be held in the venue, false otherwise
+     */
+    public static boolean isVenueSuitable(Course course, Venue venue) {
+        if (course.isLabRequired() && !"Lab".equals(venue.getType())) {
+            return false; // Course requires lab but venue is not a lab
+        }
+        return venue.getCapacity() >= MINIMUM_CAPACITY;
+    }
+
+    /**
+     * Gets the courses to schedule.
+     *
+     * @return an unmodifiable list of courses
+     */
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * Gets the lecturers.
+     *
+     * @return an unmodifiable list of lecturers
+     */
+    public List<Lecturer> getLecturers() {
+        return lecturers;
+    }
+
+    /**
+     * Gets the venues.
+     *
+     * @return an unmodifiable list of venues
+     */
+    public List<Venue> getVenues() {
+        return venues;
+    }
+
+    /**
+     * Gets the timeslots.
+     *
+     * @return an unmodifiable list of timeslots
+     */
+    public List<Timeslot> getTimeslots() {
+        return timeslots;
+    }
+
+    /**
+     * Gets the lecturer availability rows.
+     *
+     * @return an unmodifiable list of availabilities
+     */
+    public List<Availability> getAvailabilities() {
+        return availabilities;
+    }
+
+    /**
+     * Checks whether a lecturer has declared availability for a timeslot.
+     *
+     * @param lecturerId the lecturer ID
+     * @param timeslotId the timeslot ID
+     * @return true if the lecturer is available, false otherwise
+     */
+    public boolean isLecturerAvailable(int lecturerId, int timeslotId) {
+        int lecturer = indexOfLecturer(lecturerId);
+        int timeslot = indexOfTimeslot(timeslotId);
+        return lecturer >= 0 && timeslot >= 0 && lecturerAvailability.get(lecturer, timeslot);
+    }
+
+    /**
+     * Gets the dense index of a course.
+     *
+     * @param courseId the course ID
+     * @return the index into {@link #getCourses()}, or -1 if unknown
+     */
+    public int indexOfCourse(int courseId) {
+        return courseIndex.getOrDefault(courseId, -1);
+    }
+
+    /**
+     * Gets the dense index of a lecturer.
+     *
+     * @param lecturerId the lecturer ID
+     * @return the index into {@link #getLecturers()}, or -1 if unknown
+     */
+    public int indexOfLecturer(int lecturerId) {
+        return lecturerIndex.getOrDefault(lecturerId, -1);
+    }
+
+    /**
+     * Gets the dense index of a venue.
+     *
+     * @param venueId the venue ID
+     * @return the index into {@link #getVenues()}, or -1 if unknown
+     */
+    public int indexOfVenue(int venueId) {
+        return venueIndex.getOrDefault(venueId, -1);
+    }
+
+    /**
+     * Gets the dense index of a timeslot.
+     *
+     * @param timeslotId the timeslot ID
+     * @return the index into {@link #getTimeslots()}, or -1 if unknown
+     */
+    public int indexOfTimeslot(int timeslotId) {
+        return timeslotIndex.getOrDefault(timeslotId, -1);
+    }
+
+    /**
+     * Gets the number of courses that have at least one suitable venue. No timetable can
+     * schedule more courses than this.
+     *
+     * @return the number of placeable courses
+     */
+    int placeableCourseCount() {
+        return placeableCourseCount;
+    }
+
+    /**
+     * Gets the venues a course may be held in, as a bit mask over venue indices.
+     * The returned array is shared and must not be modified.
+     *
+     * @param courseIndex the course index
+     * @return the venue mask
+     */
+    long[] suitableVenueMask(int courseIndex) {
+        return suitableVenueMasks[courseIndex];
+    }
+
+    /**
+     * Gets the availability matrix with one row per lecturer and one column per timeslot.
+     * The matrix is shared and must not be modified.
+     *
+     * @return the lecturer x timeslot availability matrix
+     */
+    BitMatrix lecturerAvailability() {
+        return lecturerAvailability;
+    }
+
+    /**
+     * Gets the availability matrix with one row per timeslot and one column per lecturer.
+     * The matrix is shared and must not be modified.
+     *
+     * @return the timeslot x lecturer availability matrix
+     */
+    BitMatrix slotAvailability() {
+        return slotAvailability;
+    }
+
+    /**
+     * Gets the day of a timeslot.
+     *
+     * @param timeslot the timeslot index
+     * @return the index into {@link #DAYS}, or {@code DAYS.size()} for an unknown day
+     */
+    int dayOf(int timeslot) {
+        return slotDay[timeslot];
+    }
+
+    /**
+     * Gets the position of a timeslot within its day, ordered by start time, then end time.
+     * Every timeslot of a day has a different position.
+     *
+     * @param timeslot the timeslot index
+     * @return the zero-based position
+     */
+    int positionInDay(int timeslot) {
+        return slotPosition[timeslot];
+    }
+
+    /**
+     * Gets the number of 64-bit words that hold one bit per timeslot of the busiest day.
+     *
+     * @return the number of words, at least one
+     */
+    int dayWords() {
+        return dayWords;
+    }
+
+    @Override
+    public String toString() {
+        return "TimetableProblem{" +
+                "courses=" + courses.size() +
+                ", lecturers=" + lecturers.size() +
+                ", venues=" + venues.size() +
+                ", timeslots=" + timeslots.size() +
+                ", availabilities=" + availabilities.size() +
+                '}';
+    }
+}
@@ -0,0 +1,270 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Course;
+import com.timetable.system.TimetableEntry;
+import com.timetable.system.TimetableEntryDAO;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * TimetableRepairer updates an existing timetable after a small change instead of generating
+ * a new one. Entries that are still valid in the changed problem are pinned; only entries that
+ * became invalid, and courses that were not scheduled, are re-solved with the
+ * {@link BacktrackingSolver} search around the pinned bookings.
+ *
+ * <p>If the freed courses do not fit around the pinned entries, the neighbourhood is widened:
+ * pinned entries held in venues the unplaced courses could use are released as well, twice as
+ * many on every round, up to {@link #getMaxWidenings()} rounds. A widened repair is only kept if
+ * it places more courses, so the rest of a published timetable moves as little as possible.</p>
+ */
+public class TimetableRepairer {
+    private final Random random;
+    private SearchBudget budget = new SearchBudget(0, 1000);
+    private int maxWidenings = 3;
+
+    /**
+     * Constructs a new TimetableRepairer with a random seed.
+     */
+    public TimetableRepairer() {
+        this.random = new Random();
+    }
+
+    /**
+     * Constructs a new TimetableRepairer with a fixed seed, for reproducible runs.
+     *
+     * @param seed the random seed
+     */
+    public TimetableRepairer(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Repairs a timetable after a change.
+     *
+     * @param problem the problem before the change
+     * @param current the current timetable entries
+     * @param change the change
+     * @return the repair
+     */
+    public RepairResult repair(TimetableProblem problem, List<TimetableEntry> current, TimetableChange change) {
+        return repair(change.applyTo(problem), current);
+    }
+
+    /**
+     * Repairs a timetable so it is valid for a problem. Entries that reference data missing from
+     * the problem, double-book a lecturer or venue, or break availability or venue suitability
+     * are replaced.
+     *
+     * @param problem the problem the timetable must satisfy
+     * @param current the current timetable entries
+     * @return the repair
+     */
+    public RepairResult repair(TimetableProblem problem, List<TimetableEntry> current) {
+        long startTime = System.nanoTime();
+        long deadline = budget.deadlineFrom(startTime);
+        int courseCount = problem.getCourses().size();
+
+        // Pin every entry that is still valid
+        Occupancy pinned = new Occupancy(problem);
+        boolean[] placed = new boolean[courseCount];
+        List<TimetableEntry> kept = new ArrayList<>();
+        List<int[]> keptIndices = new ArrayList<>();
+        List<TimetableEntry> removed = new ArrayList<>();
+        for (TimetableEntry entry : current) {
+            int c = problem.indexOfCourse(entry.getCourseId());
+            int l = problem.indexOfLecturer(entry.getLecturerId());
+            int v = problem.indexOfVenue(entry.getVenueId());
+            int t = problem.indexOfTimeslot(entry.getTimeslotId());
+            boolean valid = c >= 0 && l >= 0 && v >= 0 && t >= 0
+                    && !placed[c]
+                    && problem.lecturerAvailability().get(l, t)
+                    && (problem.suitableVenueMask(c)[v >>> 6] & (1L << v)) != 0
+                    && pinned.canAssign(l, v, t);
+            if (valid) {
+                pinned.assign(l, v, t);
+                placed[c] = true;
+                kept.add(entry);
+                keptIndices.add(new int[] {c, l, v, t});
+            } else {
+                removed.add(entry);
+            }
+        }
+
+        List<Integer> freed = new ArrayList<>();
+        for (int c = 0; c < courseCount; c++) {
+            if (!placed[c]) {
+                freed.add(c);
+            }
+        }
+
+        long nodes = 0;
+        long backtracks = 0;
+        boolean exhausted = false;
+        List<TimetableEntry> added = new ArrayList<>();
+        List<Course> unassigned = new ArrayList<>();
+        if (!freed.isEmpty()) {
+            BacktrackingSolver.Search search = new BacktrackingSolver.Search(problem, pinned.copy(),
+                    toArray(freed, Collections.emptyList()), budget, random, deadline);
+            search.run();
+            TimetableSolution solution = search.toSolution("Repair", 0);
+            nodes += search.getNodes();
+            backtracks += search.getBacktracks();
+            exhausted = search.isExhausted();
+            added.addAll(solution.getEntries());
+            unassigned.addAll(solution.getUnassignedCourses());
+
+            // Widen the neighbourhood while courses are left over and time remains
+            for (int round = 1; round <= maxWidenings && !unassigned.isEmpty()
+                    && !budget.isExhausted(0, deadline); round++) {
+                List<Integer> released = pickReleases(problem, unassigned, keptIndices,
+                        (long) unassigned.size() << round);
+                if (released.isEmpty()) {
+                    break;
+                }
+                boolean[] release = new boolean[kept.size()];
+                List<Integer> releasedCourses = new ArrayList<>();
+                for (int k : released) {
+                    release[k] = true;
+                    releasedCourses.add(keptIndices.get(k)[0]);
+                }
+                Occupancy widened = new Occupancy(problem);
+                for (int k = 0; k < kept.size(); k++) {
+                    if (!release[k]) {
+                        int[] e = keptIndices.get(k);
+                        widened.assign(e[1], e[2], e[3]);
+                    }
+                }
+
+                BacktrackingSolver.Search retry = new BacktrackingSolver.Search(problem, widened,
+                        toArray(freed, releasedCourses), budget, random, deadline);
+                retry.run();
+                TimetableSolution retried = retry.toSolution("Repair", 0);
+                nodes += retry.getNodes();
+                backtracks += retry.getBacktracks();
+                // A round that runs out of budget leaves the repair short, even if it is discarded
+                exhausted |= retry.isExhausted();
+                if (retried.getUnassignedCourses().size() < unassigned.size()) {
+                    List<TimetableEntry> stillKept = new ArrayList<>();
+                    List<int[]> stillKeptIndices = new ArrayList<>();
+                    for (int k = 0; k < kept.size(); k++) {
+                        if (release[k]) {
+                            removed.add(kept.get(k));
+                        } else {
+                            stillKept.add(kept.get(k));
+                            stillKeptIndices.add(keptIndices.get(k));
+                        }
+                    }
+                    kept = stillKept;
+                    keptIndices = stillKeptIndices;
+                    freed.addAll(releasedCourses);
+                    added = new ArrayList<>(retried.getEntries());
+                    unassigned = new ArrayList<>(retried.getUnassignedCourses());
+                }
+            }
+        }
+
+        SolverStatistics statistics = new SolverStatistics("Repair", System.nanoTime() - startTime,
+                courseCount, kept.size() + added.size(), nodes, backtracks, exhausted);
+        return new RepairResult(kept, removed, added, unassigned, statistics);
+    }
+
+    /**
+     * Repairs the timetable stored in the database after a change and saves the result.
+     * The timetable is read and the repair saved in one transaction, so a timetable generated
+     * in the meantime is never mixed with the repair. Nothing happens if no timetable has been
+     * generated yet.
+     *
+     * @param change the change, which may already be reflected in the database
+     * @return the repair
+     * @throws SQLException if a database access error occurs or the timetable was replaced
+     *         while it was being repaired
+     */
+    public RepairResult repairDatabase(TimetableChange change) throws SQLException {
+        // Loaded first, so the transaction does not wait for a second pooled connection
+        TimetableProblem problem = change.applyTo(TimetableProblem.fromDatabase());
+        return new TimetableEntryDAO().applyChanges(current -> {
+            if (current.isEmpty()) {
+                return new RepairResult(current, current, current, Collections.emptyList(),
+                        new SolverStatistics("Repair", 0, 0, 0));
+            }
+            return repair(problem, current);
+        });
+    }
+
+    /**
+     * Chooses pinned entries to release: those held in a venue one of the unplaced courses
+     * could use, in random order.
+     */
+    private List<Integer> pickReleases(TimetableProblem problem, List<Course> unassigned,
+                                       List<int[]> keptIndices, long limit) {
+        long[] wanted = new long[BitMatrix.wordsFor(problem.getVenues().size())];
+        for (Course course : unassigned) {
+            long[] mask = problem.suitableVenueMask(problem.indexOfCourse(course.getId()));
+            for (int w = 0; w < wanted.length; w++) {
+                wanted[w] |= mask[w];
+            }
+        }
+        List<Integer> candidates = new ArrayList<>();
+        for (int k = 0; k < keptIndices.size(); k++) {
+            int v = keptIndices.get(k)[2];
+            if ((wanted[v >>> 6] & (1L << v)) != 0) {
+                candidates.add(k);
+            }
+        }
+        Collections.shuffle(candidates, random);
+        return candidates.subList(0, (int) Math.min(limit, candidates.size()));
+    }
+
+    private static int[] toArray(List<Integer> first, List<Integer> second) {
+        int[] courses = new int[first.size() + second.size()];
+        int i = 0;
+        for (int course : first) {
+            courses[i++] = course;
+        }
+        for (int course : second) {
+            courses[i++] = course;
+        }
+        return courses;
+    }
+
+    /**
+     * Gets the search budget of a repair.
+     *
+     * @return the search budget
+     */
+    public SearchBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the search budget of a repair. The wall-clock limit covers all widening rounds.
+     *
+     * @param budget the search budget
+     */
+    public void setBudget(SearchBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the maximum number of times the neighbourhood is widened.
+     *
+     * @return the maximum number of widening rounds
+     */
+    public int getMaxWidenings() {
+        return maxWidenings;
+    }
+
+    /**
+     * Sets the maximum number of times the neighbourhood is widened. Zero only re-solves the
+     * entries that became invalid.
+     *
+     * @param maxWidenings the maximum number of widening rounds
+     */
+    public void setMaxWidenings(int maxWidenings) {
+        this.maxWidenings = maxWidenings;
+    }
+}
@@ -0,0 +1,77 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Course;
+import com.timetable.system.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TimetableSolution is the result of a solver run: the generated (unsaved) timetable entries,
+ * the courses that could not be placed and the statistics of the run.
+ */
+public final class TimetableSolution {
+    private final List<TimetableEntry> entries;
+    private final List<Course> unassignedCourses;
+    private final SolverStatistics statistics;
+
+    /**
+     * Constructs a new TimetableSolution.
+     *
+     * @param entries the generated timetable entries
+     * @param unassignedCourses the courses that could not be scheduled
+     * @param statistics the statistics of the run
+     */
+    public TimetableSolution(List<TimetableEntry> entries, List<Course> unassignedCourses,
+                             SolverStatistics statistics) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.unassignedCourses = Collections.unmodifiableList(new ArrayList<>(unassignedCourses));
+        this.statistics = statistics;
+    }
+
+    /**
+     * Gets the generated timetable entries.
+     *
+     * @return an unmodifiable list of entries
+     */
+    public List<TimetableEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the courses that could not be scheduled.
+     *
+     * @return an unmodifiable list of courses
+     */
+    public List<Course> getUnassignedCourses() {
+        return unassignedCourses;
+    }
+
+    /**
+     * Gets the statistics of the run.
+     *
+     * @return the statistics
+     */
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Checks if every course was scheduled.
+     *
+     * @return true if no course is left unassigned, false otherwise
+     */
+    public boolean isComplete() {
+        return unassignedCourses.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "TimetableSolution{" +
+                "entries=" + entries.size() +
+                ", unassignedCourses=" + unassignedCourses.size() +
+                ", statistics=" + statistics +
+                '}';
+    }
+}
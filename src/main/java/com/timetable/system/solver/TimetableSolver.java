@@ -0,0 +1,17 @@
+package com.timetable.system.solver;
+
+/**
+ * TimetableSolver defines the contract for timetable generation engines.
+ * Solvers work purely on an in-memory {@link TimetableProblem} and never touch
+ * the database or the GUI, so they can be run from batch jobs, tests and benchmarks.
+ */
+public interface TimetableSolver {
+
+    /**
+     * Solves the given problem.
+     *
+     * @param problem the problem to solve
+     * @return the solution, including statistics about the run
+     */
+    TimetableSolution solve(TimetableProblem problem);
+}
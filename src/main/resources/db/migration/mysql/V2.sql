@@ -0,0 +1,7 @@
+-- V2: secondary indexes (MySQL)
+-- Indexes for lookups and cascading deletes not served by the UNIQUE constraints.
+-- idx_entry_course covers findByCourseId together with the primary key.
+
+CREATE INDEX idx_availability_timeslot ON Availability (timeslot_id);
+CREATE INDEX idx_entry_course ON TimetableEntry (course_id, lecturer_id, venue_id, timeslot_id);
+CREATE INDEX idx_entry_timeslot ON TimetableEntry (timeslot_id);
@@ -1,5 +1,6 @@
--- schema.sql
--- Database schema for Automated Timetable Generation System
+-- V1: initial schema (SQLite)
+-- Creates the tables of the Automated Timetable Generation System. The IF NOT EXISTS
+-- clauses let it run on databases created before schema versioning.
 
 -- Table: Lecturer
 CREATE TABLE IF NOT EXISTS Lecturer (
@@ -59,4 +60,4 @@ CREATE TABLE IF NOT EXISTS TimetableEntry (
     FOREIGN KEY (timeslot_id) REFERENCES Timeslot(id) ON DELETE CASCADE,
     UNIQUE(lecturer_id, timeslot_id),
     UNIQUE(venue_id, timeslot_id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,7 @@
+-- V2: secondary indexes (SQLite)
+-- Indexes for lookups and cascading deletes not served by the UNIQUE constraints.
+-- idx_entry_course covers findByCourseId: together with the rowid it holds every column.
+
+CREATE INDEX IF NOT EXISTS idx_availability_timeslot ON Availability (timeslot_id);
+CREATE INDEX IF NOT EXISTS idx_entry_course ON TimetableEntry (course_id, lecturer_id, venue_id, timeslot_id);
+CREATE INDEX IF NOT EXISTS idx_entry_timeslot ON TimetableEntry (timeslot_id);
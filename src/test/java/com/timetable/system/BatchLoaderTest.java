@@ -0,0 +1,103 @@
+package com.timetable.system;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Unit tests for the BatchLoader class.
+ */
+public class BatchLoaderTest {
+
+    private InMemoryDAO<Lecturer> dao;
+    private BatchLoader<Lecturer> loader;
+
+    @Before
+    public void setUp() {
+        dao = new InMemoryDAO<>();
+        dao.add(new Lecturer(1, "John Doe", "Professor"));
+        dao.add(new Lecturer(2, "Jane Roe", "Lecturer I"));
+        dao.add(new Lecturer(3, "Sam Poe", "Lecturer II"));
+        loader = new BatchLoader<>(dao);
+    }
+
+    @Test
+    public void testLoadsAreCoalescedIntoOneLookup() throws SQLException {
+        CompletableFuture<Lecturer> first = loader.load(1);
+        CompletableFuture<Lecturer> second = loader.load(2);
+        CompletableFuture<Lecturer> again = loader.load(1);
+
+        assertFalse(first.isDone());
+        loader.dispatch();
+
+        assertEquals("John Doe", first.join().getName());
+        assertEquals("Jane Roe", second.join().getName());
+        assertSame(first, again);
+        assertEquals(1, dao.lookups.size());
+        assertEquals(Arrays.asList(1, 2), dao.lookups.get(0));
+    }
+
+    @Test
+    public void testMissingEntityCompletesWithNull() throws SQLException {
+        CompletableFuture<Lecturer> missing = loader.load(99);
+        loader.dispatch();
+
+        assertTrue(missing.isDone());
+        assertNull(missing.join());
+    }
+
+    @Test
+    public void testLoadedEntitiesAreNotFetchedAgain() throws SQLException {
+        loader.load(1);
+        loader.dispatch();
+
+        assertTrue(loader.load(1).isDone());
+        loader.load(3);
+        loader.dispatch();
+        loader.dispatch();
+
+        assertEquals(2, loader.getDispatchCount());
+        assertEquals(Arrays.asList(3), dao.lookups.get(1));
+    }
+
+    @Test
+    public void testLoadMany() throws SQLException {
+        CompletableFuture<Map<Integer, Lecturer>> many = loader.loadMany(Arrays.asList(3, 1, 99));
+        loader.dispatch();
+
+        Map<Integer, Lecturer> lecturers = many.join();
+        assertEquals(Arrays.asList(3, 1), new ArrayList<>(lecturers.keySet()));
+        assertEquals(1, dao.lookups.size());
+    }
+
+    @Test
+    public void testFailedDispatchFailsPendingLoadsAndAllowsRetry() throws SQLException {
+        dao.failure = new SQLException("Connection lost");
+        CompletableFuture<Lecturer> failed = loader.load(1);
+
+        try {
+            loader.dispatch();
+            fail("Expected the dispatch to fail");
+        } catch (SQLException e) {
+            assertEquals("Connection lost", e.getMessage());
+        }
+        try {
+            failed.join();
+            fail("Expected the load to fail");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+
+        dao.failure = null;
+        CompletableFuture<Lecturer> retried = loader.load(1);
+        loader.dispatch();
+        assertEquals("John Doe", retried.join().getName());
+    }
+}
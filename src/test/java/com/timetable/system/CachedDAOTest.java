@@ -0,0 +1,122 @@
+package com.timetable.system;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the CachedDAO class.
+ */
+public class CachedDAOTest {
+
+    private InMemoryDAO<Venue> dao;
+    private CachedDAO<Venue> cache;
+
+    @Before
+    public void setUp() {
+        dao = new InMemoryDAO<>();
+        dao.add(new Venue(1, "Hall A", 120, "Lecture Hall"));
+        dao.add(new Venue(2, "Lab 1", 40, "Lab"));
+        dao.add(new Venue(3, "Hall B", 80, "Lecture Hall"));
+        cache = new CachedDAO<>(dao, 10);
+    }
+
+    @Test
+    public void testFindAllIsServedFromMemoryAfterFirstLoad() throws SQLException {
+        assertEquals(3, cache.findAll().size());
+        List<Venue> venues = cache.findAll();
+        assertNotNull(cache.findById(2));
+        assertNull(cache.findById(99));
+
+        assertEquals(1, dao.queries);
+        assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(venues.get(0).getId(), venues.get(1).getId(), venues.get(2).getId()));
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testWritesGoThroughAndBumpTheVersion() throws SQLException {
+        cache.findAll();
+        long version = cache.getVersion();
+
+        Venue added = new Venue(-1, "Lab 2", 30, "Lab");
+        cache.save(added);
+        cache.save(new Venue(1, "Main Hall", 150, "Lecture Hall"));
+        cache.delete(3);
+
+        assertTrue(dao.rows.containsKey(added.getId()));
+        assertEquals("Main Hall", dao.rows.get(1).getName());
+        assertFalse(dao.rows.containsKey(3));
+        assertEquals(version + 3, cache.getVersion());
+
+        int queries = dao.queries;
+        assertEquals(3, cache.findAll().size());
+        assertEquals("Main Hall", cache.findById(1).getName());
+        assertNull(cache.findById(3));
+        assertEquals(queries, dao.queries);
+    }
+
+    @Test
+    public void testFailedWriteDoesNotChangeTheCache() throws SQLException {
+        cache.findAll();
+        long version = cache.getVersion();
+
+        try {
+            cache.delete(99);
+            fail("Expected the delete to fail");
+        } catch (SQLException e) {
+            assertEquals(version, cache.getVersion());
+        }
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testCapacityEvictsLeastRecentlyUsed() throws SQLException {
+        cache = new CachedDAO<>(dao, 2);
+        cache.findById(1);
+        cache.findById(2);
+        cache.findById(1);
+        cache.findById(3);
+
+        assertEquals(2, cache.size());
+        int queries = dao.queries;
+        cache.findById(1);
+        assertEquals(queries, dao.queries);
+        cache.findById(2);
+        assertEquals(queries + 1, dao.queries);
+    }
+
+    @Test
+    public void testTableLargerThanCapacityIsNotServedFromMemory() throws SQLException {
+        cache = new CachedDAO<>(dao, 2);
+        cache.findAll();
+        cache.findAll();
+
+        assertEquals(2, dao.queries);
+    }
+
+    @Test
+    public void testFindByIdsOnlyFetchesMissingEntities() throws SQLException {
+        cache.findById(1);
+        assertEquals(2, cache.findByIds(Arrays.asList(1, 2, 99)).size());
+
+        assertEquals(Arrays.asList(2, 99), dao.lookups.get(0));
+    }
+
+    @Test
+    public void testInvalidateReloads() throws SQLException {
+        cache.findAll();
+        dao.add(new Venue(4, "Hall C", 60, "Lecture Hall"));
+        assertEquals(3, cache.findAll().size());
+
+        long version = cache.getVersion();
+        cache.invalidate();
+
+        assertEquals(4, cache.findAll().size());
+        assertTrue(cache.getVersion() > version);
+    }
+}
@@ -0,0 +1,226 @@
+package com.timetable.system;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Unit tests for the ConnectionPool class.
+ */
+public class ConnectionPoolTest {
+
+    private File databaseFile;
+    private ConnectionPool pool;
+
+    @Before
+    public void setUp() throws IOException {
+        databaseFile = File.createTempFile("pool-test", ".db");
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        databaseFile.delete();
+        new File(databaseFile.getPath() + "-wal").delete();
+        new File(databaseFile.getPath() + "-shm").delete();
+    }
+
+    private ConnectionPool createPool(int minSize, int maxSize, long idleTimeoutMillis,
+                                      long acquireTimeoutMillis) throws SQLException {
+        return createPool(minSize, maxSize, idleTimeoutMillis, acquireTimeoutMillis, 64);
+    }
+
+    private ConnectionPool createPool(int minSize, int maxSize, long idleTimeoutMillis,
+                                      long acquireTimeoutMillis, int statementCacheSize) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("db.url", "jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        properties.setProperty("db.pool.minSize", String.valueOf(minSize));
+        properties.setProperty("db.pool.maxSize", String.valueOf(maxSize));
+        properties.setProperty("db.pool.idleTimeoutMillis", String.valueOf(idleTimeoutMillis));
+        properties.setProperty("db.pool.acquireTimeoutMillis", String.valueOf(acquireTimeoutMillis));
+        properties.setProperty("db.pool.statementCacheSize", String.valueOf(statementCacheSize));
+        return new ConnectionPool(new DatabaseConfig(properties));
+    }
+
+    @Test
+    public void testConnectionIsReused() throws SQLException {
+        pool = createPool(1, 4, 60000, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            try (Connection connection = pool.borrow()) {
+                assertFalse(connection.isClosed());
+            }
+        }
+
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(10, metrics.getBorrowCount());
+        assertEquals(1, metrics.getCreatedCount());
+        assertEquals(0, metrics.getActiveConnections());
+        assertEquals(1, metrics.getIdleConnections());
+    }
+
+    @Test
+    public void testBorrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        pool = createPool(0, 2, 60000, 100);
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+
+        try {
+            pool.borrow();
+            fail("Expected the third borrow to time out");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains("Timed out"));
+        }
+        assertEquals(1, pool.getMetrics().getTimeoutCount());
+
+        first.close();
+        try (Connection third = pool.borrow()) {
+            assertFalse(third.isClosed());
+        }
+        second.close();
+    }
+
+    @Test(expected = SQLException.class)
+    public void testReturnedConnectionCannotBeUsed() throws SQLException {
+        pool = createPool(1, 1, 60000, 1000);
+        Connection connection = pool.borrow();
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        connection.createStatement();
+    }
+
+    @Test
+    public void testUncommittedWorkIsRolledBackOnReturn() throws SQLException {
+        pool = createPool(1, 1, 60000, 1000);
+        try (Connection connection = pool.borrow();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE Item (id INTEGER PRIMARY KEY)");
+        }
+
+        try (Connection connection = pool.borrow()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO Item (id) VALUES (1)");
+            }
+        }
+
+        try (Connection connection = pool.borrow();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM Item")) {
+            assertTrue(connection.getAutoCommit());
+            assertTrue(resultSet.next());
+            assertEquals(0, resultSet.getInt(1));
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvicted() throws Exception {
+        pool = createPool(1, 4, 100, 1000);
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        Connection third = pool.borrow();
+        first.close();
+        second.close();
+        third.close();
+        assertEquals(3, pool.getMetrics().getTotalConnections());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.getMetrics().getTotalConnections() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(1, metrics.getTotalConnections());
+        assertEquals(2, metrics.getEvictedCount());
+    }
+
+    @Test
+    public void testPreparedStatementsAreCached() throws SQLException {
+        pool = createPool(1, 1, 60000, 1000);
+        for (int i = 0; i < 5; i++) {
+            try (Connection connection = pool.borrow();
+                 PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+                statement.setInt(1, i);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertEquals(i, resultSet.getInt(1));
+                }
+                assertSame(connection, statement.getConnection());
+            }
+        }
+
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(1, metrics.getStatementCacheMisses());
+        assertEquals(4, metrics.getStatementCacheHits());
+    }
+
+    @Test
+    public void testStatementInUseIsNotShared() throws SQLException {
+        pool = createPool(1, 1, 60000, 1000);
+        try (Connection connection = pool.borrow();
+             PreparedStatement outer = connection.prepareStatement("SELECT ?");
+             PreparedStatement inner = connection.prepareStatement("SELECT ?")) {
+            outer.setInt(1, 1);
+            inner.setInt(1, 2);
+            try (ResultSet first = outer.executeQuery();
+                 ResultSet second = inner.executeQuery()) {
+                assertTrue(first.next());
+                assertTrue(second.next());
+                assertEquals(1, first.getInt(1));
+                assertEquals(2, second.getInt(1));
+            }
+        }
+        assertEquals(2, pool.getMetrics().getStatementCacheMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+        pool = createPool(1, 1, 60000, 1000, 2);
+        String[] queries = {"SELECT 1", "SELECT 2", "SELECT 1", "SELECT 3", "SELECT 2"};
+        for (String sql : queries) {
+            try (Connection connection = pool.borrow();
+                 PreparedStatement statement = connection.prepareStatement(sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+            }
+        }
+
+        // SELECT 1 is hit once; SELECT 2 was evicted by SELECT 3 and must be prepared again
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(1, metrics.getStatementCacheHits());
+        assertEquals(4, metrics.getStatementCacheMisses());
+    }
+
+    @Test
+    public void testSQLiteTuningIsAppliedToNewConnections() throws SQLException {
+        pool = createPool(1, 2, 60000, 1000);
+
+        try (Connection connection = pool.borrow();
+             Statement statement = connection.createStatement()) {
+            assertEquals("wal", pragma(statement, "journal_mode"));
+            assertEquals("1", pragma(statement, "synchronous"));
+            assertEquals("1", pragma(statement, "foreign_keys"));
+            assertEquals("-16384", pragma(statement, "cache_size"));
+        }
+    }
+
+    private static String pragma(Statement statement, String name) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("PRAGMA " + name)) {
+            assertTrue(resultSet.next());
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.timetable.system;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Unit tests for the DatabaseConfig class.
+ */
+public class DatabaseConfigTest {
+
+    private File configFile;
+    private Properties systemProperties;
+    private Map<String, String> environment;
+
+    @Before
+    public void setUp() throws IOException {
+        configFile = File.createTempFile("database", ".properties");
+        try (Writer writer = new FileWriter(configFile)) {
+            writer.write("db.url=jdbc:sqlite:external.db\n");
+            writer.write("db.pool.maxSize=4\n");
+            writer.write("db.fetchSize=100\n");
+        }
+        systemProperties = new Properties();
+        environment = new HashMap<>();
+    }
+
+    @After
+    public void tearDown() {
+        configFile.delete();
+    }
+
+    @Test
+    public void testClasspathFileIsTheDefault() throws SQLException, IOException {
+        Properties classpath = new Properties();
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("database.properties")) {
+            classpath.load(input);
+        }
+
+        DatabaseConfig config = DatabaseConfig.load(systemProperties, environment);
+
+        assertEquals(classpath.getProperty("db.url"), config.getUrl());
+        assertNotNull(config.getDriverClassName());
+    }
+
+    @Test
+    public void testLaterSourcesOverrideEarlierOnes() throws SQLException {
+        environment.put(DatabaseConfig.CONFIG_FILE_VARIABLE, configFile.getPath());
+        environment.put("TIMETABLE_DB_POOL_MAXSIZE", "6");
+        environment.put("TIMETABLE_DB_FETCHSIZE", "200");
+        systemProperties.setProperty("db.fetchSize", "300");
+
+        DatabaseConfig config = DatabaseConfig.load(systemProperties, environment);
+
+        assertEquals("jdbc:sqlite:external.db", config.getUrl());
+        assertEquals("org.sqlite.JDBC", config.getDriverClassName());
+        assertEquals(6, config.getMaxPoolSize());
+        assertEquals(300, config.getFetchSize());
+        // Settings no source gives keep their defaults
+        assertEquals(10000, config.getAcquireTimeoutMillis());
+    }
+
+    @Test
+    public void testSystemPropertyNamesTheConfigFile() throws SQLException {
+        environment.put(DatabaseConfig.CONFIG_FILE_VARIABLE, "missing.properties");
+        systemProperties.setProperty(DatabaseConfig.CONFIG_FILE_PROPERTY, configFile.getPath());
+
+        assertEquals(4, DatabaseConfig.load(systemProperties, environment).getMaxPoolSize());
+    }
+
+    @Test(expected = SQLException.class)
+    public void testMissingConfigFileFails() throws SQLException {
+        systemProperties.setProperty(DatabaseConfig.CONFIG_FILE_PROPERTY, configFile.getPath() + ".missing");
+        DatabaseConfig.load(systemProperties, environment);
+    }
+
+    @Test(expected = SQLException.class)
+    public void testOutOfRangeIntegerSettingFails() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("db.url", "jdbc:sqlite:test.db");
+        properties.setProperty("db.pool.maxSize", "4294967297");
+        new DatabaseConfig(properties);
+    }
+
+    @Test
+    public void testConnectionProperties() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("db.url", "jdbc:mysql://db.example.org/timetable");
+        properties.setProperty("db.user", "timetable");
+        properties.setProperty("db.connectTimeoutMillis", "2500");
+
+        Properties connection = new DatabaseConfig(properties).getConnectionProperties();
+
+        assertEquals("timetable", connection.getProperty("user"));
+        assertNull(connection.getProperty("password"));
+        assertEquals("2500", connection.getProperty("connectTimeout"));
+        assertEquals("TIMETABLE_DB_POOL_MAXSIZE", DatabaseConfig.environmentVariable("db.pool.maxSize"));
+    }
+}
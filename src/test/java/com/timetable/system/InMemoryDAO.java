@@ -0,0 +1,112 @@
+package com.timetable.system;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A DAO backed by a map, for tests of classes that sit on top of a DAO. It counts the
+ * queries it answers and can be told to fail.
+ *
+ * @param <T> the entity type
+ */
+class InMemoryDAO<T extends BaseEntity> implements DAO<T> {
+    final Map<Integer, T> rows = new TreeMap<>();
+    final List<List<Integer>> lookups = new ArrayList<>();
+    int queries;
+    SQLException failure;
+    private int nextId = 1;
+
+    /**
+     * Adds a row without counting it as a query.
+     *
+     * @param entity the entity, which receives the next ID if it is not saved
+     */
+    void add(T entity) {
+        if (!entity.isSaved()) {
+            entity.setId(nextId);
+        }
+        nextId = Math.max(nextId, entity.getId() + 1);
+        rows.put(entity.getId(), entity);
+    }
+
+    private void query() throws SQLException {
+        queries++;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void save(T entity) throws SQLException {
+        if (entity.isSaved()) {
+            update(entity);
+        } else {
+            insert(entity);
+        }
+    }
+
+    @Override
+    public void insert(T entity) throws SQLException {
+        query();
+        add(entity);
+    }
+
+    @Override
+    public void update(T entity) throws SQLException {
+        query();
+        if (!rows.containsKey(entity.getId())) {
+            throw new SQLException("Updating entity failed, no rows affected.");
+        }
+        rows.put(entity.getId(), entity);
+    }
+
+    @Override
+    public void delete(int id) throws SQLException {
+        query();
+        if (rows.remove(id) == null) {
+            throw new SQLException("Deleting entity failed, no rows affected.");
+        }
+    }
+
+    @Override
+    public T findById(int id) throws SQLException {
+        query();
+        return rows.get(id);
+    }
+
+    @Override
+    public Map<Integer, T> findByIds(Collection<Integer> ids) throws SQLException {
+        lookups.add(new ArrayList<>(ids));
+        query();
+        Map<Integer, T> found = new HashMap<>();
+        for (int id : ids) {
+            if (rows.containsKey(id)) {
+                found.put(id, rows.get(id));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<T> findAll() throws SQLException {
+        query();
+        return new ArrayList<>(rows.values());
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) throws SQLException {
+        findAll().forEach(action);
+    }
+
+    @Override
+    public Stream<T> stream() throws SQLException {
+        return findAll().stream();
+    }
+}
@@ -0,0 +1,66 @@
+package com.timetable.system;
+
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Unit tests for the InMemoryDatabase class and the TestDatabase rule.
+ */
+public class InMemoryDatabaseTest {
+
+    @Rule
+    public TestDatabase database = new TestDatabase();
+
+    private static int count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            return resultSet.getInt(1);
+        }
+    }
+
+    @Test
+    public void testStartsFromMigratedSchema() throws SQLException {
+        assertEquals(database.getDatabase(), DatabaseConnection.getConfigSource());
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            SchemaMigrator migrator = SchemaMigrator.forConnection(connection);
+            assertEquals(migrator.getLatestVersion(), migrator.getCurrentVersion(connection));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM Lecturer"));
+            assertEquals(1, count(connection, "SELECT COUNT(*) FROM sqlite_master WHERE name = 'idx_entry_course'"));
+        }
+    }
+
+    @Test
+    public void testDataSurvivesPoolRestart() throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO Lecturer (name, rank) VALUES ('John Doe', 'Professor')");
+        }
+        DatabaseConnection.closeConnection();
+
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            assertEquals(1, count(connection, "SELECT COUNT(*) FROM Lecturer"));
+        }
+    }
+
+    @Test
+    public void testDatabasesAreIsolated() throws SQLException, IOException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO Lecturer (name, rank) VALUES ('John Doe', 'Professor')");
+        }
+
+        try (InMemoryDatabase other = InMemoryDatabase.create();
+             ConnectionPool pool = new ConnectionPool(other.load());
+             Connection connection = pool.borrow()) {
+            assertNotEquals(database.getDatabase().getName(), other.getName());
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM Lecturer"));
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.timetable.system;
 
-import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -13,21 +13,17 @@ import java.util.List;
  */
 public class LecturerDAOTest {
     
+    // Each test runs against a fresh in-memory database
+    @Rule
+    public TestDatabase database = new TestDatabase();
+    
     private LecturerDAO lecturerDAO;
     
     @Before
     public void setUp() throws SQLException {
-        // Initialize the database
-        DatabaseInitializer.initializeDatabase();
         lecturerDAO = new LecturerDAO();
     }
     
-    @After
-    public void tearDown() throws SQLException {
-        // Clean up the database
-        DatabaseConnection.closeConnection();
-    }
-    
     @Test
     public void testInsert() throws SQLException {
         Lecturer lecturer = new Lecturer();
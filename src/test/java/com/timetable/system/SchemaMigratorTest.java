@@ -0,0 +1,103 @@
+package com.timetable.system;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Unit tests for the SchemaMigrator class.
+ */
+public class SchemaMigratorTest {
+
+    private File databaseFile;
+    private Connection connection;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        databaseFile = File.createTempFile("migration-test", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+        databaseFile.delete();
+    }
+
+    private boolean tableExists(String name) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, name, null)) {
+            return tables.next();
+        }
+    }
+
+    @Test
+    public void testMigratesFreshDatabaseOnce() throws SQLException, IOException {
+        SchemaMigrator migrator = SchemaMigrator.forConnection(connection);
+        int latest = migrator.getLatestVersion();
+        assertTrue(latest >= 2);
+        assertEquals(0, migrator.getCurrentVersion(connection));
+
+        assertEquals(latest, migrator.migrate(connection));
+        assertEquals(latest, migrator.getCurrentVersion(connection));
+        assertTrue(tableExists("TimetableEntry"));
+        assertTrue(connection.getAutoCommit());
+
+        assertEquals(0, migrator.migrate(connection));
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM schema_version")) {
+            assertEquals(latest, resultSet.getInt(1));
+        }
+    }
+
+    @Test
+    public void testMigratesUnversionedDatabase() throws SQLException, IOException {
+        // A database created before versioning has the tables but no schema_version
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE Lecturer (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, rank TEXT NOT NULL)");
+            statement.execute("INSERT INTO Lecturer (name, rank) VALUES ('John Doe', 'Professor')");
+        }
+
+        SchemaMigrator migrator = SchemaMigrator.forConnection(connection);
+        assertEquals(migrator.getLatestVersion(), migrator.migrate(connection));
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM Lecturer")) {
+            assertEquals("John Doe", resultSet.getString(1));
+        }
+    }
+
+    @Test
+    public void testFailingScriptRollsBack() throws SQLException, IOException {
+        SchemaMigrator migrator = new SchemaMigrator("db/migration/broken");
+        try {
+            migrator.migrate(connection);
+            fail("Expected the second script to fail");
+        } catch (SQLException e) {
+            // expected
+        }
+
+        assertEquals(0, migrator.getCurrentVersion(connection));
+        assertFalse(tableExists("First"));
+        assertFalse(tableExists("Second"));
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    public void testSplitStatements() {
+        String script = "-- V9: comment; with a semicolon\n"
+                + "CREATE TABLE a (x TEXT DEFAULT 'a;''b'); /* block; comment */\n"
+                + "INSERT INTO \"a;b\" VALUES (1);\n\n";
+
+        assertEquals(Arrays.asList("CREATE TABLE a (x TEXT DEFAULT 'a;''b')", "INSERT INTO \"a;b\" VALUES (1)"),
+                     SchemaMigrator.splitStatements(script));
+    }
+}
@@ -0,0 +1,45 @@
+package com.timetable.system;
+
+import org.junit.rules.ExternalResource;
+
+/**
+ * TestDatabase is a JUnit rule that points {@link DatabaseConnection} at a fresh
+ * {@link InMemoryDatabase} for each test and restores the previous configuration source
+ * afterwards. Every test starts from the migrated schema with empty tables.
+ *
+ * <pre>
+ * &#64;Rule
+ * public TestDatabase database = new TestDatabase();
+ * </pre>
+ */
+public class TestDatabase extends ExternalResource {
+
+    private InMemoryDatabase database;
+    private DatabaseConfigSource previousSource;
+
+    @Override
+    protected void before() throws Throwable {
+        database = InMemoryDatabase.create();
+        previousSource = DatabaseConnection.getConfigSource();
+        DatabaseConnection.setConfigSource(database);
+    }
+
+    @Override
+    protected void after() {
+        try {
+            DatabaseConnection.setConfigSource(previousSource);
+            database.close();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to release the test database", e);
+        }
+    }
+
+    /**
+     * Gets the database of the running test.
+     *
+     * @return the database
+     */
+    public InMemoryDatabase getDatabase() {
+        return database;
+    }
+}
@@ -0,0 +1,229 @@
+package com.timetable.system;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Unit tests for the batched writes of the TimetableEntryDAO class.
+ */
+public class TimetableEntryDAOTest {
+
+    // Each test runs against a fresh in-memory database
+    @Rule
+    public TestDatabase database = new TestDatabase();
+
+    private TimetableEntryDAO timetableEntryDAO;
+    private int course;
+    private int[] lecturers;
+    private int[] venues;
+    private int[] timeslots;
+
+    @Before
+    public void setUp() throws SQLException {
+        Course saved = new Course(0, "Programming", "ND", false);
+        new CourseDAO().insert(saved);
+        course = saved.getId();
+
+        LecturerDAO lecturerDAO = new LecturerDAO();
+        lecturers = new int[2];
+        for (int i = 0; i < lecturers.length; i++) {
+            Lecturer lecturer = new Lecturer(0, "Lecturer " + i, "Lecturer");
+            lecturerDAO.insert(lecturer);
+            lecturers[i] = lecturer.getId();
+        }
+
+        VenueDAO venueDAO = new VenueDAO();
+        venues = new int[2];
+        for (int i = 0; i < venues.length; i++) {
+            Venue venue = new Venue(0, "Hall " + i, 100, "Lecture Hall");
+            venueDAO.insert(venue);
+            venues[i] = venue.getId();
+        }
+
+        TimeslotDAO timeslotDAO = new TimeslotDAO();
+        timeslots = new int[3];
+        for (int i = 0; i < timeslots.length; i++) {
+            Timeslot timeslot = new Timeslot(0, "Monday", String.format("%02d:00", 8 + i), String.format("%02d:00", 9 + i));
+            timeslotDAO.insert(timeslot);
+            timeslots[i] = timeslot.getId();
+        }
+
+        timetableEntryDAO = new TimetableEntryDAO();
+    }
+
+    private TimetableEntry entry(int lecturer, int venue, int timeslot) {
+        return new TimetableEntry(0, course, lecturers[lecturer], venues[venue], timeslots[timeslot]);
+    }
+
+    private List<TimetableEntry> findAllById() throws SQLException {
+        List<TimetableEntry> entries = new ArrayList<>(timetableEntryDAO.findAll());
+        entries.sort(Comparator.comparingInt(TimetableEntry::getId));
+        return entries;
+    }
+
+    private static void assertSameEntries(List<TimetableEntry> expected, List<TimetableEntry> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getLecturerId(), actual.get(i).getLecturerId());
+            assertEquals(expected.get(i).getVenueId(), actual.get(i).getVenueId());
+            assertEquals(expected.get(i).getTimeslotId(), actual.get(i).getTimeslotId());
+        }
+    }
+
+    @Test
+    public void testReplaceAllReplacesPreviousTimetable() throws SQLException {
+        timetableEntryDAO.replaceAll(Arrays.asList(entry(0, 0, 0), entry(1, 1, 0)));
+
+        List<TimetableEntry> replacement = Arrays.asList(entry(0, 1, 1), entry(1, 0, 2), entry(0, 1, 2));
+        timetableEntryDAO.replaceAll(replacement);
+
+        assertSameEntries(replacement, findAllById());
+    }
+
+    @Test
+    public void testReplaceAllAssignsGeneratedIds() throws SQLException {
+        List<TimetableEntry> entries = Arrays.asList(entry(0, 0, 0), entry(1, 1, 0), entry(0, 1, 1));
+        timetableEntryDAO.replaceAll(entries);
+
+        for (TimetableEntry entry : entries) {
+            assertTrue(entry.isSaved());
+            TimetableEntry found = timetableEntryDAO.findById(entry.getId());
+            assertNotNull(found);
+            assertEquals(entry.getLecturerId(), found.getLecturerId());
+            assertEquals(entry.getTimeslotId(), found.getTimeslotId());
+        }
+    }
+
+    @Test
+    public void testFailingReplaceAllKeepsPreviousTimetable() throws SQLException {
+        List<TimetableEntry> previous = Arrays.asList(entry(0, 0, 0), entry(1, 1, 1));
+        timetableEntryDAO.replaceAll(previous);
+
+        // The second entry books the first lecturer twice in the same timeslot
+        try {
+            timetableEntryDAO.replaceAll(Arrays.asList(entry(0, 0, 2), entry(0, 1, 2)));
+            fail("Expected SQLException");
+        } catch (SQLException expected) {
+            // The unique constraint rejects the batch
+        }
+
+        assertSameEntries(previous, findAllById());
+    }
+
+    @Test
+    public void testApplyChangesDeletesAndInserts() throws SQLException {
+        List<TimetableEntry> previous = Arrays.asList(entry(0, 0, 0), entry(1, 1, 0), entry(0, 1, 1));
+        timetableEntryDAO.replaceAll(previous);
+
+        // Moving the first entry to a free timeslot reuses its lecturer and venue
+        TimetableEntry moved = entry(0, 0, 2);
+        timetableEntryDAO.applyChanges(Collections.singletonList(previous.get(0)), Collections.singletonList(moved));
+
+        assertTrue(moved.isSaved());
+        assertNull(timetableEntryDAO.findById(previous.get(0).getId()));
+        assertSameEntries(Arrays.asList(previous.get(1), previous.get(2), moved), findAllById());
+    }
+
+    @Test
+    public void testFailingApplyChangesChangesNothing() throws SQLException {
+        List<TimetableEntry> previous = Arrays.asList(entry(0, 0, 0), entry(1, 1, 1));
+        timetableEntryDAO.replaceAll(previous);
+
+        // The added entry clashes with the second lecturer's existing booking
+        try {
+            timetableEntryDAO.applyChanges(Collections.singletonList(previous.get(0)),
+                                           Collections.singletonList(entry(1, 0, 1)));
+            fail("Expected SQLException");
+        } catch (SQLException expected) {
+            // The unique constraint rejects the insert
+        }
+
+        assertSameEntries(previous, findAllById());
+    }
+
+    @Test
+    public void testFailureInLaterBatchLeavesEntriesUnsaved() throws SQLException {
+        List<TimetableEntry> previous = Arrays.asList(entry(0, 0, 0), entry(1, 1, 1));
+        timetableEntryDAO.replaceAll(previous);
+
+        // More than one batch of 500 rows, two per timeslot, the last clashing with the first
+        TimeslotDAO timeslotDAO = new TimeslotDAO();
+        List<TimetableEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 260; i++) {
+            Timeslot timeslot = new Timeslot(0, "Tuesday", "08:00", "09:00");
+            timeslotDAO.insert(timeslot);
+            entries.add(new TimetableEntry(0, course, lecturers[0], venues[0], timeslot.getId()));
+            entries.add(new TimetableEntry(0, course, lecturers[1], venues[1], timeslot.getId()));
+        }
+        TimetableEntry first = entries.get(0);
+        entries.add(new TimetableEntry(0, course, first.getLecturerId(), venues[1], first.getTimeslotId()));
+
+        try {
+            timetableEntryDAO.replaceAll(entries);
+            fail("Expected SQLException");
+        } catch (SQLException expected) {
+            // The unique constraint rejects the second batch
+        }
+
+        for (TimetableEntry entry : entries) {
+            assertFalse(entry.isSaved());
+        }
+        assertSameEntries(previous, findAllById());
+    }
+
+    @Test
+    public void testApplyChangesRejectsReplacedTimetable() throws SQLException {
+        List<TimetableEntry> previous = Arrays.asList(entry(0, 0, 0), entry(1, 1, 1));
+        timetableEntryDAO.replaceAll(previous);
+        // A new timetable is generated after the changes were planned from the previous one
+        List<TimetableEntry> replacement = Arrays.asList(entry(0, 1, 2), entry(1, 0, 2));
+        timetableEntryDAO.replaceAll(replacement);
+
+        TimetableEntry added = entry(1, 0, 0);
+        try {
+            timetableEntryDAO.applyChanges(Collections.singletonList(previous.get(1)), Collections.singletonList(added));
+            fail("Expected SQLException");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("generate it again"));
+        }
+
+        assertFalse(added.isSaved());
+        assertSameEntries(replacement, findAllById());
+    }
+
+    @Test
+    public void testApplyPlannedChangesReadsSavedTimetable() throws SQLException {
+        List<TimetableEntry> previous = Arrays.asList(entry(0, 0, 0), entry(1, 1, 1));
+        timetableEntryDAO.replaceAll(previous);
+
+        TimetableEntry moved = entry(1, 1, 2);
+        TimetableEntryDAO.Changes changes = timetableEntryDAO.applyChanges(current -> {
+            assertSameEntries(previous, current);
+            return new TimetableEntryDAO.Changes() {
+                @Override
+                public List<TimetableEntry> getRemovedEntries() {
+                    return Collections.singletonList(current.get(1));
+                }
+
+                @Override
+                public List<TimetableEntry> getAddedEntries() {
+                    return Collections.singletonList(moved);
+                }
+            };
+        });
+
+        assertSame(moved, changes.getAddedEntries().get(0));
+        assertTrue(moved.isSaved());
+        assertSameEntries(Arrays.asList(previous.get(0), moved), findAllById());
+    }
+}
@@ -0,0 +1,49 @@
+package com.timetable.system.csv;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+/**
+ * Unit tests for the CsvReader class.
+ */
+public class CsvReaderTest {
+
+    @Test
+    public void testReadsRecordsAndLineNumbers() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("name,rank\r\n\r\nJohn Doe,Professor\nJane Roe,"), ',');
+
+        assertEquals(Arrays.asList("name", "rank"), csv.readRecord());
+        assertEquals(1, csv.getLineNumber());
+        assertEquals(Arrays.asList("John Doe", "Professor"), csv.readRecord());
+        assertEquals(3, csv.getLineNumber());
+        assertEquals(Arrays.asList("Jane Roe", ""), csv.readRecord());
+        assertEquals(4, csv.getLineNumber());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    public void testQuotedFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"Doe, John\",\"Algebra \"\"I\"\"\",\"two\nlines\"\nnext,row\n"), ',');
+
+        assertEquals(Arrays.asList("Doe, John", "Algebra \"I\"", "two\nlines"), csv.readRecord());
+        assertEquals(Arrays.asList("next", "row"), csv.readRecord());
+        assertEquals(3, csv.getLineNumber());
+    }
+
+    @Test
+    public void testTabDelimiterAndByteOrderMark() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\uFEFFday\tstart_time\nMonday\t08:00\n"), '\t');
+
+        assertEquals(Arrays.asList("day", "start_time"), csv.readRecord());
+        assertEquals(Arrays.asList("Monday", "08:00"), csv.readRecord());
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnterminatedQuoteFails() throws IOException {
+        new CsvReader(new StringReader("\"open,field\n"), ',').readRecord();
+    }
+}
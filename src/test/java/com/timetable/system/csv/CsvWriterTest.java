@@ -0,0 +1,37 @@
+package com.timetable.system.csv;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Unit tests for the CsvWriter class.
+ */
+public class CsvWriterTest {
+
+    private static String write(char delimiter, String... values) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out, delimiter);
+        csv.record(values);
+        csv.flush();
+        return out.toString();
+    }
+
+    @Test
+    public void testPlainFieldsAreNotQuoted() throws IOException {
+        assertEquals("Monday,08:00,Hall A\r\n", write(',', "Monday", "08:00", "Hall A"));
+    }
+
+    @Test
+    public void testSpecialFieldsAreQuoted() throws IOException {
+        assertEquals("\"Doe, John\",\"Algebra \"\"I\"\"\",\"two\nlines\"\r\n",
+                     write(',', "Doe, John", "Algebra \"I\"", "two\nlines"));
+    }
+
+    @Test
+    public void testQuotingFollowsTheDelimiter() throws IOException {
+        assertEquals("Doe, John\t\"a\tb\"\t\r\n", write('\t', "Doe, John", "a\tb", null));
+    }
+}
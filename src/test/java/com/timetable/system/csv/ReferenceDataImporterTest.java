@@ -0,0 +1,209 @@
+package com.timetable.system.csv;
+
+import com.timetable.system.CachedDAO;
+import com.timetable.system.Course;
+import com.timetable.system.CourseDAO;
+import com.timetable.system.DatabaseConnection;
+import com.timetable.system.EntityCaches;
+import com.timetable.system.Lecturer;
+import com.timetable.system.LecturerDAO;
+import com.timetable.system.TestDatabase;
+import com.timetable.system.Timeslot;
+import com.timetable.system.TimeslotDAO;
+import com.timetable.system.Venue;
+import com.timetable.system.VenueDAO;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Unit tests for the ReferenceDataImporter class.
+ */
+public class ReferenceDataImporterTest {
+
+    // Each test runs against a fresh in-memory database
+    @Rule
+    public TestDatabase database = new TestDatabase();
+
+    private static ImportResult importCsv(ReferenceDataImporter.Table table, String csv)
+            throws SQLException, IOException {
+        return new ReferenceDataImporter(table).importFrom(new StringReader(csv));
+    }
+
+    private static void assertError(ImportError error, int line, String messagePart) {
+        assertEquals(line, error.getLine());
+        assertTrue(error.getMessage(), error.getMessage().contains(messagePart));
+    }
+
+    @Test
+    public void testImportsLecturers() throws SQLException, IOException {
+        ImportResult result = importCsv(ReferenceDataImporter.Table.LECTURERS,
+                "name,rank\nJohn Doe,Professor\nJane Roe,\n");
+
+        assertEquals(2, result.getImportedRows());
+        assertFalse(result.hasErrors());
+        List<Lecturer> lecturers = new LecturerDAO().findAll();
+        lecturers.sort(Comparator.comparingInt(Lecturer::getId));
+        assertEquals(2, lecturers.size());
+        assertEquals("John Doe", lecturers.get(0).getName());
+        assertEquals("Professor", lecturers.get(0).getRank());
+        assertEquals("Jane Roe", lecturers.get(1).getName());
+        assertNull(lecturers.get(1).getRank());
+    }
+
+    @Test
+    public void testHeadersAreNormalized() throws SQLException, IOException {
+        // Columns in another order, mixed case, spaces for underscores and the day alias
+        ImportResult result = importCsv(ReferenceDataImporter.Table.TIMESLOTS,
+                "End Time, START_TIME ,Day\n10:00,9:00,monday\n");
+
+        assertEquals(1, result.getImportedRows());
+        assertFalse(result.hasErrors());
+        Timeslot timeslot = new TimeslotDAO().findAll().get(0);
+        assertEquals("Monday", timeslot.getDayOfWeek());
+        assertEquals("09:00", timeslot.getStartTime());
+        assertEquals("10:00", timeslot.getEndTime());
+    }
+
+    @Test
+    public void testMissingColumnIsReportedOnTheHeaderLine() throws SQLException, IOException {
+        ImportResult result = importCsv(ReferenceDataImporter.Table.VENUES, "name,type\nHall A,Lab\n");
+
+        assertEquals(0, result.getImportedRows());
+        assertEquals(1, result.getErrors().size());
+        assertError(result.getErrors().get(0), 1, "capacity");
+        assertEquals("Line 1: Missing column(s): capacity", result.getErrors().get(0).toString());
+    }
+
+    @Test
+    public void testInvalidRanksAreRejected() throws SQLException, IOException {
+        ImportResult result = importCsv(ReferenceDataImporter.Table.LECTURERS,
+                "name,rank\nJohn Doe,Dean\n,Lecturer\nJane Roe,lecturer\n");
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(2, result.getErrors().size());
+        assertError(result.getErrors().get(0), 2, "Invalid rank 'Dean'");
+        assertError(result.getErrors().get(1), 3, "Missing name");
+        assertEquals("Lecturer", new LecturerDAO().findAll().get(0).getRank());
+    }
+
+    @Test
+    public void testInvalidCoursesAreRejected() throws SQLException, IOException {
+        ImportResult result = importCsv(ReferenceDataImporter.Table.COURSES,
+                "title,level,lab_required\nAlgebra,BSc,no\nBiology,hnd,yes\nChemistry,ND,maybe\n");
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(2, result.getErrors().size());
+        assertError(result.getErrors().get(0), 2, "Invalid level 'BSc'");
+        assertError(result.getErrors().get(1), 4, "Invalid lab_required 'maybe'");
+        Course course = new CourseDAO().findAll().get(0);
+        assertEquals("Biology", course.getTitle());
+        assertEquals("HND", course.getLevel());
+        assertTrue(course.isLabRequired());
+    }
+
+    @Test
+    public void testInvalidVenuesAreRejected() throws SQLException, IOException {
+        ImportResult result = importCsv(ReferenceDataImporter.Table.VENUES,
+                "name,capacity,type\nHall A,0,Lecture Hall\nHall B,many,Lecture Hall\nRoom C,20,Office\nLab D,30,lab\n");
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(3, result.getErrors().size());
+        assertError(result.getErrors().get(0), 2, "Invalid capacity '0'");
+        assertError(result.getErrors().get(1), 3, "Invalid capacity 'many'");
+        assertError(result.getErrors().get(2), 4, "Invalid type 'Office'");
+        Venue venue = new VenueDAO().findAll().get(0);
+        assertEquals(30, venue.getCapacity());
+        assertEquals("Lab", venue.getType());
+    }
+
+    @Test
+    public void testInvalidTimeslotsAreRejected() throws SQLException, IOException {
+        ImportResult result = importCsv(ReferenceDataImporter.Table.TIMESLOTS,
+                "day_of_week,start_time,end_time\nFunday,08:00,09:00\nMonday,24:00,09:00\n"
+                + "Monday,08:5,09:00\nTuesday,08:00,09:00\n");
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(3, result.getErrors().size());
+        assertError(result.getErrors().get(0), 2, "Invalid day_of_week 'Funday'");
+        assertError(result.getErrors().get(1), 3, "Invalid start_time '24:00'");
+        assertError(result.getErrors().get(2), 4, "Invalid start_time '08:5'");
+    }
+
+    @Test
+    public void testLineNumbersCountBlankLinesAndQuotedLineBreaks() throws SQLException, IOException {
+        ImportResult result = importCsv(ReferenceDataImporter.Table.LECTURERS,
+                "name,rank\n\n\"Doe,\nJohn\",Professor\nJane Roe,Dean\n");
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(1, result.getErrors().size());
+        assertError(result.getErrors().get(0), 5, "Invalid rank 'Dean'");
+    }
+
+    @Test
+    public void testTabDelimiter() throws SQLException, IOException {
+        ReferenceDataImporter importer = new ReferenceDataImporter(ReferenceDataImporter.Table.VENUES);
+        importer.setDelimiter('\t');
+
+        ImportResult result = importer.importFrom(new StringReader("name\tcapacity\ttype\nHall, East\t120\tLecture Hall\n"));
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals("Hall, East", new VenueDAO().findAll().get(0).getName());
+    }
+
+    @Test
+    public void testRejectedBatchFallsBackToSingleRows() throws SQLException, IOException {
+        // The schema has no constraint the importer does not check, so the test adds one
+        try (Connection connection = DatabaseConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE UNIQUE INDEX test_lecturer_name ON Lecturer(name)");
+        }
+
+        ImportResult result = importCsv(ReferenceDataImporter.Table.LECTURERS,
+                "name,rank\nJohn Doe,Professor\nJohn Doe,Lecturer\nJane Roe,Dean\nJane Roe,Lecturer\n");
+
+        // The duplicate fails in the database and the invalid rank in validation, sorted by line
+        assertEquals(2, result.getImportedRows());
+        assertEquals(2, result.getErrors().size());
+        assertError(result.getErrors().get(0), 3, "UNIQUE");
+        assertError(result.getErrors().get(1), 4, "Invalid rank 'Dean'");
+        List<Lecturer> lecturers = new LecturerDAO().findAll();
+        lecturers.sort(Comparator.comparingInt(Lecturer::getId));
+        assertEquals(2, lecturers.size());
+        assertEquals("John Doe", lecturers.get(0).getName());
+        assertEquals("Professor", lecturers.get(0).getRank());
+        assertEquals("Jane Roe", lecturers.get(1).getName());
+    }
+
+    @Test
+    public void testImportInvalidatesEntityCaches() throws SQLException, IOException {
+        CachedDAO<Lecturer> cache = EntityCaches.lecturers();
+        assertTrue(cache.findAll().isEmpty());
+        long version = cache.getVersion();
+
+        importCsv(ReferenceDataImporter.Table.LECTURERS, "name\nJohn Doe\n");
+
+        assertTrue(cache.getVersion() > version);
+        assertEquals(1, cache.findAll().size());
+    }
+
+    @Test
+    public void testEmptyInputImportsNothing() throws SQLException, IOException {
+        CachedDAO<Lecturer> cache = EntityCaches.lecturers();
+        long version = cache.getVersion();
+
+        ImportResult result = importCsv(ReferenceDataImporter.Table.LECTURERS, "");
+
+        assertEquals(0, result.getImportedRows());
+        assertFalse(result.hasErrors());
+        assertEquals(version, cache.getVersion());
+    }
+}
@@ -0,0 +1,134 @@
+package com.timetable.system.csv;
+
+import com.timetable.system.Course;
+import com.timetable.system.CourseDAO;
+import com.timetable.system.Lecturer;
+import com.timetable.system.LecturerDAO;
+import com.timetable.system.TestDatabase;
+import com.timetable.system.Timeslot;
+import com.timetable.system.TimeslotDAO;
+import com.timetable.system.TimetableEntry;
+import com.timetable.system.TimetableEntryDAO;
+import com.timetable.system.Venue;
+import com.timetable.system.VenueDAO;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.SQLException;
+
+/**
+ * Unit tests for the TimetableExporter class.
+ */
+public class TimetableExporterTest {
+
+    private static final String HEADER = "Day,Start Time,End Time,Course,Level,Lecturer,Venue,Venue Type\r\n";
+    private static final String MONDAY_ALGEBRA = "Monday,08:00,09:00,Algebra,ND,Ada,Hall A,Lecture Hall\r\n";
+    private static final String MONDAY_BIOLOGY = "Monday,10:00,11:00,Biology,HND,Ben,Lab B,Lab\r\n";
+    private static final String TUESDAY_ALGEBRA = "Tuesday,08:00,09:00,Algebra,ND,Ada,Hall A,Lecture Hall\r\n";
+    private static final String TUESDAY_BIOLOGY = "Tuesday,08:00,09:00,Biology,HND,Ben,Lab B,Lab\r\n";
+
+    // Each test runs against a fresh in-memory database
+    @Rule
+    public TestDatabase database = new TestDatabase();
+
+    private TimetableExporter exporter;
+    private Lecturer ada;
+    private Venue labB;
+
+    @Before
+    public void setUp() throws SQLException {
+        LecturerDAO lecturerDAO = new LecturerDAO();
+        ada = new Lecturer(0, "Ada", "Professor");
+        Lecturer ben = new Lecturer(0, "Ben", "Lecturer");
+        lecturerDAO.insert(ada);
+        lecturerDAO.insert(ben);
+
+        CourseDAO courseDAO = new CourseDAO();
+        Course algebra = new Course(0, "Algebra", "ND", false);
+        Course biology = new Course(0, "Biology", "HND", true);
+        courseDAO.insert(algebra);
+        courseDAO.insert(biology);
+
+        VenueDAO venueDAO = new VenueDAO();
+        Venue hallA = new Venue(0, "Hall A", 120, "Lecture Hall");
+        labB = new Venue(0, "Lab B", 30, "Lab");
+        venueDAO.insert(hallA);
+        venueDAO.insert(labB);
+
+        // Timeslots are inserted out of day and time order
+        TimeslotDAO timeslotDAO = new TimeslotDAO();
+        Timeslot tuesday = new Timeslot(0, "Tuesday", "08:00", "09:00");
+        Timeslot mondayLate = new Timeslot(0, "Monday", "10:00", "11:00");
+        Timeslot mondayEarly = new Timeslot(0, "Monday", "08:00", "09:00");
+        timeslotDAO.insert(tuesday);
+        timeslotDAO.insert(mondayLate);
+        timeslotDAO.insert(mondayEarly);
+
+        TimetableEntryDAO timetableEntryDAO = new TimetableEntryDAO();
+        timetableEntryDAO.insert(new TimetableEntry(0, biology.getId(), ben.getId(), labB.getId(), tuesday.getId()));
+        timetableEntryDAO.insert(new TimetableEntry(0, algebra.getId(), ada.getId(), hallA.getId(), tuesday.getId()));
+        timetableEntryDAO.insert(new TimetableEntry(0, biology.getId(), ben.getId(), labB.getId(), mondayLate.getId()));
+        timetableEntryDAO.insert(new TimetableEntry(0, algebra.getId(), ada.getId(), hallA.getId(), mondayEarly.getId()));
+
+        exporter = new TimetableExporter();
+    }
+
+    private String export(int expectedRows) throws SQLException, IOException {
+        StringWriter out = new StringWriter();
+        assertEquals(expectedRows, exporter.export(out));
+        return out.toString();
+    }
+
+    @Test
+    public void testExportsAllEntriesByDayAndTime() throws SQLException, IOException {
+        assertEquals(HEADER + MONDAY_ALGEBRA + MONDAY_BIOLOGY + TUESDAY_ALGEBRA + TUESDAY_BIOLOGY, export(4));
+    }
+
+    @Test
+    public void testLecturerFilter() throws SQLException, IOException {
+        exporter.setLecturerId(ada.getId());
+
+        assertEquals(HEADER + MONDAY_ALGEBRA + TUESDAY_ALGEBRA, export(2));
+    }
+
+    @Test
+    public void testVenueFilter() throws SQLException, IOException {
+        exporter.setVenueId(labB.getId());
+
+        assertEquals(HEADER + MONDAY_BIOLOGY + TUESDAY_BIOLOGY, export(2));
+    }
+
+    @Test
+    public void testLevelFilter() throws SQLException, IOException {
+        exporter.setLevel("HND");
+
+        assertEquals(HEADER + MONDAY_BIOLOGY + TUESDAY_BIOLOGY, export(2));
+    }
+
+    @Test
+    public void testCombinedFiltersCanMatchNothing() throws SQLException, IOException {
+        exporter.setLecturerId(ada.getId());
+        exporter.setLevel("HND");
+
+        assertEquals(HEADER, export(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownLevelIsRejected() {
+        exporter.setLevel("BSc");
+    }
+
+    @Test
+    public void testTabDelimiter() throws SQLException, IOException {
+        exporter.setDelimiter('\t');
+        exporter.setVenueId(labB.getId());
+
+        assertEquals("Day\tStart Time\tEnd Time\tCourse\tLevel\tLecturer\tVenue\tVenue Type\r\n"
+                     + "Monday\t10:00\t11:00\tBiology\tHND\tBen\tLab B\tLab\r\n"
+                     + "Tuesday\t08:00\t09:00\tBiology\tHND\tBen\tLab B\tLab\r\n", export(2));
+    }
+}
@@ -0,0 +1,74 @@
+package com.timetable.system.gui;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.*;
+
+/**
+ * Unit tests for the PanelRegistry class.
+ */
+public class PanelRegistryTest {
+
+    /**
+     * A panel that counts its refreshes.
+     */
+    private static class CountingPanel extends JPanel implements RefreshablePanel {
+        long version;
+        int refreshes;
+
+        @Override
+        public long getDataVersion() {
+            return version;
+        }
+
+        @Override
+        public void refresh() {
+            refreshes++;
+        }
+    }
+
+    private PanelRegistry registry;
+    private int created;
+    private CountingPanel lecturers;
+
+    @Before
+    public void setUp() {
+        registry = new PanelRegistry();
+        lecturers = new CountingPanel();
+        registry.register("Lecturers", () -> {
+            created++;
+            return lecturers;
+        });
+        registry.register("Courses", CountingPanel::new);
+    }
+
+    @Test
+    public void testPanelIsCreatedOnceOnFirstShow() {
+        assertFalse(registry.isCreated("Lecturers"));
+        assertSame(lecturers, registry.show("Lecturers"));
+        registry.show("Courses");
+        assertSame(lecturers, registry.show("Lecturers"));
+
+        assertEquals(1, created);
+        assertEquals(0, lecturers.refreshes);
+        assertNull(registry.show("Unknown"));
+    }
+
+    @Test
+    public void testPanelIsRefreshedOnlyIfItsDataChangedWhileHidden() {
+        registry.show("Lecturers");
+        // A change made on the panel itself is already shown
+        lecturers.version++;
+        registry.show("Courses");
+        registry.show("Lecturers");
+        assertEquals(0, lecturers.refreshes);
+
+        registry.show("Courses");
+        lecturers.version++;
+        registry.show("Lecturers");
+        registry.show("Lecturers");
+        assertEquals(1, lecturers.refreshes);
+    }
+}
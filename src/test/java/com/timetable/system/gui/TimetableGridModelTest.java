@@ -0,0 +1,90 @@
+package com.timetable.system.gui;
+
+import com.timetable.system.Timeslot;
+import com.timetable.system.gui.TimetableGridModel.CellEntry;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the TimetableGridModel class.
+ */
+public class TimetableGridModelTest {
+
+    private TimetableGridModel model;
+    private List<TableModelEvent> events;
+
+    @Before
+    public void setUp() {
+        model = new TimetableGridModel();
+        model.setTimeslots(Arrays.asList(
+                new Timeslot(1, "Monday", "10:00", "12:00"),
+                new Timeslot(2, "Monday", "08:00", "10:00"),
+                new Timeslot(3, "Wednesday", "08:00", "10:00")));
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    @Test
+    public void testRowsAreTimeBandsInStartOrder() {
+        assertEquals(2, model.getRowCount());
+        assertEquals(8, model.getColumnCount());
+        assertEquals("08:00 - 10:00", model.getValueAt(0, 0));
+        assertEquals("10:00 - 12:00", model.getValueAt(1, 0));
+        assertEquals("Wednesday", model.getColumnName(3));
+    }
+
+    @Test
+    public void testCellHoldsEveryEntryOfItsSlot() {
+        model.setEntries(Arrays.asList(
+                new CellEntry(2, "Algebra", "John Doe", "Hall B"),
+                new CellEntry(2, "Physics", "Jane Roe", "Hall A"),
+                new CellEntry(3, "Biology", "Sam Poe", "Lab 1"),
+                new CellEntry(99, "Unknown", "Nobody", "Nowhere")));
+
+        List<CellEntry> monday = model.getEntriesAt(0, 1);
+        assertEquals(2, monday.size());
+        assertEquals("Hall A", monday.get(0).getVenueName());
+        assertEquals("Hall B", monday.get(1).getVenueName());
+        assertEquals(2, model.getMaxEntries(0));
+        assertEquals(monday, model.getValueAt(0, 1));
+        assertEquals(1, model.getEntriesAt(0, 3).size());
+        assertTrue(model.getEntriesAt(1, 1).isEmpty());
+    }
+
+    @Test
+    public void testOnlyChangedCellsAreReported() {
+        model.setEntries(Arrays.asList(
+                new CellEntry(1, "Algebra", "John Doe", "Hall A"),
+                new CellEntry(3, "Biology", "Sam Poe", "Lab 1")));
+        events.clear();
+
+        model.setEntries(Arrays.asList(
+                new CellEntry(1, "Algebra", "John Doe", "Hall A"),
+                new CellEntry(3, "Biology", "Jane Roe", "Lab 1")));
+
+        assertEquals(1, events.size());
+        assertEquals(0, events.get(0).getFirstRow());
+        assertEquals(3, events.get(0).getColumn());
+    }
+
+    @Test
+    public void testUnchangedTimeslotsKeepTheGrid() {
+        model.setTimeslots(Arrays.asList(
+                new Timeslot(3, "Wednesday", "08:00", "10:00"),
+                new Timeslot(2, "Monday", "08:00", "10:00"),
+                new Timeslot(1, "Monday", "10:00", "12:00")));
+        assertTrue(events.isEmpty());
+
+        model.setEntries(Arrays.asList(new CellEntry(1, "Algebra", "John Doe", "Hall A")));
+        model.setTimeslots(Arrays.asList(new Timeslot(1, "Friday", "10:00", "12:00")));
+
+        assertEquals(1, model.getRowCount());
+        assertEquals(1, model.getEntriesAt(0, 5).size());
+    }
+}
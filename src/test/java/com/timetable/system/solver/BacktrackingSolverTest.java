@@ -0,0 +1,148 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Availability;
+import com.timetable.system.Course;
+import com.timetable.system.Lecturer;
+import com.timetable.system.TimetableEntry;
+import com.timetable.system.Timeslot;
+import com.timetable.system.Venue;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for the BacktrackingSolver class.
+ */
+public class BacktrackingSolverTest {
+
+    private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday"};
+
+    /**
+     * Creates a random problem where each lecturer is available in roughly 70% of the timeslots.
+     */
+    static TimetableProblem createProblem(int courseCount, int lecturerCount, int hallCount, int labCount,
+                                          int slotsPerDay, long seed) {
+        Random random = new Random(seed);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= courseCount; i++) {
+            courses.add(new Course(i, "Course " + i, i % 2 == 0 ? "ND" : "HND", i % 4 == 0));
+        }
+        List<Lecturer> lecturers = new ArrayList<>();
+        for (int i = 1; i <= lecturerCount; i++) {
+            lecturers.add(new Lecturer(i, "Lecturer " + i, "Lecturer"));
+        }
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 1; i <= hallCount + labCount; i++) {
+            venues.add(new Venue(i, "Venue " + i, 30 + random.nextInt(100), i <= hallCount ? "Lecture Hall" : "Lab"));
+        }
+        List<Timeslot> timeslots = new ArrayList<>();
+        for (String day : DAYS) {
+            for (int hour = 0; hour < slotsPerDay; hour++) {
+                timeslots.add(new Timeslot(timeslots.size() + 1, day,
+                                           String.format("%02d:00", 8 + hour), String.format("%02d:00", 9 + hour)));
+            }
+        }
+        List<Availability> availabilities = new ArrayList<>();
+        for (Lecturer lecturer : lecturers) {
+            for (Timeslot timeslot : timeslots) {
+                if (random.nextInt(10) < 7) {
+                    availabilities.add(new Availability(availabilities.size() + 1, lecturer.getId(), timeslot.getId()));
+                }
+            }
+        }
+        return new TimetableProblem(courses, lecturers, venues, timeslots, availabilities);
+    }
+
+    /**
+     * Asserts that a solution satisfies every hard constraint of the problem.
+     */
+    static void assertFeasible(TimetableProblem problem, TimetableSolution solution) {
+        Set<String> lecturerSlots = new HashSet<>();
+        Set<String> venueSlots = new HashSet<>();
+        Set<Integer> courses = new HashSet<>();
+        for (TimetableEntry entry : solution.getEntries()) {
+            assertTrue(courses.add(entry.getCourseId()));
+            assertTrue(lecturerSlots.add(entry.getLecturerId() + "@" + entry.getTimeslotId()));
+            assertTrue(venueSlots.add(entry.getVenueId() + "@" + entry.getTimeslotId()));
+            assertTrue(problem.isLecturerAvailable(entry.getLecturerId(), entry.getTimeslotId()));
+            Course course = problem.getCourses().get(problem.indexOfCourse(entry.getCourseId()));
+            Venue venue = problem.getVenues().get(problem.indexOfVenue(entry.getVenueId()));
+            assertTrue(TimetableProblem.isVenueSuitable(course, venue));
+        }
+        assertEquals(problem.getCourses().size(), solution.getEntries().size() + solution.getUnassignedCourses().size());
+    }
+
+    @Test
+    public void testFindsCompleteAssignmentWhenLabsAreScarce() {
+        // One lab and one hall over two slots: the two lab courses must get both lab slots
+        List<Course> courses = new ArrayList<>();
+        courses.add(new Course(1, "Programming I", "ND", false));
+        courses.add(new Course(2, "Programming II", "ND", false));
+        courses.add(new Course(3, "Databases Lab", "ND", true));
+        courses.add(new Course(4, "Networks Lab", "HND", true));
+        List<Lecturer> lecturers = new ArrayList<>();
+        lecturers.add(new Lecturer(1, "John Doe", "Professor"));
+        lecturers.add(new Lecturer(2, "Jane Smith", "Lecturer"));
+        List<Venue> venues = new ArrayList<>();
+        venues.add(new Venue(1, "Lab 1", 40, "Lab"));
+        venues.add(new Venue(2, "Hall A", 100, "Lecture Hall"));
+        List<Timeslot> timeslots = new ArrayList<>();
+        timeslots.add(new Timeslot(1, "Monday", "09:00", "10:00"));
+        timeslots.add(new Timeslot(2, "Monday", "10:00", "11:00"));
+        List<Availability> availabilities = new ArrayList<>();
+        for (Lecturer lecturer : lecturers) {
+            for (Timeslot timeslot : timeslots) {
+                availabilities.add(new Availability(availabilities.size() + 1, lecturer.getId(), timeslot.getId()));
+            }
+        }
+        TimetableProblem problem = new TimetableProblem(courses, lecturers, venues, timeslots, availabilities);
+
+        for (long seed = 0; seed < 20; seed++) {
+            TimetableSolution solution = new BacktrackingSolver(seed).solve(problem);
+            assertTrue(solution.isComplete());
+            assertFeasible(problem, solution);
+        }
+    }
+
+    @Test
+    public void testLargeProblemIsSolvedCompletely() {
+        TimetableProblem problem = createProblem(600, 40, 12, 4, 8, 1L);
+
+        TimetableSolution solution = new BacktrackingSolver(1L).solve(problem);
+
+        assertTrue(solution.isComplete());
+        assertFeasible(problem, solution);
+        assertTrue(solution.getStatistics().getNodes() >= 600);
+        assertFalse(solution.getStatistics().isBudgetExhausted());
+    }
+
+    @Test
+    public void testOverconstrainedProblemReportsUnassignedCourses() {
+        // 5 days x 2 slots x 3 venues = 30 venue slots for 50 courses
+        TimetableProblem problem = createProblem(50, 10, 2, 1, 2, 2L);
+
+        TimetableSolution solution = new BacktrackingSolver(2L).solve(problem);
+
+        assertFalse(solution.isComplete());
+        assertTrue(solution.getEntries().size() <= 30);
+        assertFeasible(problem, solution);
+    }
+
+    @Test
+    public void testNodeLimitStopsSearch() {
+        TimetableProblem problem = createProblem(600, 40, 12, 4, 8, 3L);
+        BacktrackingSolver solver = new BacktrackingSolver(3L);
+        solver.setBudget(new SearchBudget(100, 0));
+
+        TimetableSolution solution = solver.solve(problem);
+
+        assertTrue(solution.getStatistics().isBudgetExhausted());
+        assertTrue(solution.getStatistics().getNodes() <= 100);
+        assertFeasible(problem, solution);
+    }
+}
@@ -0,0 +1,169 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Availability;
+import com.timetable.system.Course;
+import com.timetable.system.Lecturer;
+import com.timetable.system.TimetableEntry;
+import com.timetable.system.Timeslot;
+import com.timetable.system.Venue;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for the GreedySolver class.
+ */
+public class GreedySolverTest {
+
+    private static List<Availability> availableAlways(List<Lecturer> lecturers, List<Timeslot> timeslots) {
+        List<Availability> availabilities = new ArrayList<>();
+        for (Lecturer lecturer : lecturers) {
+            for (Timeslot timeslot : timeslots) {
+                availabilities.add(new Availability(availabilities.size() + 1, lecturer.getId(), timeslot.getId()));
+            }
+        }
+        return availabilities;
+    }
+
+    private TimetableProblem createProblem() {
+        List<Course> courses = Arrays.asList(
+            new Course(1, "Programming I", "ND", false),
+            new Course(2, "Databases", "ND", true),
+            new Course(3, "Networks", "HND", false)
+        );
+        List<Lecturer> lecturers = Arrays.asList(
+            new Lecturer(1, "John Doe", "Professor"),
+            new Lecturer(2, "Jane Smith", "Lecturer")
+        );
+        List<Venue> venues = Arrays.asList(
+            new Venue(1, "Hall A", 100, "Lecture Hall"),
+            new Venue(2, "Lab 1", 40, "Lab")
+        );
+        List<Timeslot> timeslots = new ArrayList<>();
+        timeslots.add(new Timeslot(1, "Monday", "09:00", "10:00"));
+        timeslots.add(new Timeslot(2, "Monday", "10:00", "11:00"));
+        timeslots.add(new Timeslot(3, "Tuesday", "09:00", "10:00"));
+        return new TimetableProblem(courses, lecturers, venues, timeslots, availableAlways(lecturers, timeslots));
+    }
+
+    @Test
+    public void testSolveAssignsAllCourses() {
+        TimetableSolution solution = new GreedySolver(42L).solve(createProblem());
+
+        assertTrue(solution.isComplete());
+        assertEquals(3, solution.getEntries().size());
+        assertEquals(3, solution.getStatistics().getCoursesAssigned());
+        for (TimetableEntry entry : solution.getEntries()) {
+            assertFalse(entry.isSaved());
+        }
+    }
+
+    @Test
+    public void testLabCourseIsPlacedInLab() {
+        TimetableSolution solution = new GreedySolver(42L).solve(createProblem());
+
+        for (TimetableEntry entry : solution.getEntries()) {
+            if (entry.getCourseId() == 2) {
+                assertEquals(2, entry.getVenueId());
+            }
+        }
+    }
+
+    @Test
+    public void testCourseWithoutSuitableVenueIsUnassigned() {
+        List<Lecturer> lecturers = Collections.singletonList(new Lecturer(1, "John Doe", "Professor"));
+        List<Timeslot> timeslots = Collections.singletonList(new Timeslot(1, "Monday", "09:00", "10:00"));
+        TimetableProblem problem = new TimetableProblem(
+            Collections.singletonList(new Course(1, "Databases", "ND", true)),
+            lecturers,
+            Collections.singletonList(new Venue(1, "Hall A", 100, "Lecture Hall")),
+            timeslots,
+            availableAlways(lecturers, timeslots));
+
+        TimetableSolution solution = new GreedySolver(42L).solve(problem);
+
+        assertFalse(solution.isComplete());
+        assertTrue(solution.getEntries().isEmpty());
+        assertEquals(1, solution.getUnassignedCourses().get(0).getId());
+    }
+
+    @Test
+    public void testProblemIsDetachedFromInputEntities() {
+        Course course = new Course(1, "Programming I", "ND", false);
+        TimetableProblem problem = new TimetableProblem(
+            Collections.singletonList(course),
+            Collections.<Lecturer>emptyList(),
+            Collections.<Venue>emptyList(),
+            Collections.<Timeslot>emptyList(),
+            Collections.<Availability>emptyList());
+
+        course.setTitle("Changed");
+
+        assertEquals("Programming I", problem.getCourses().get(0).getTitle());
+        assertEquals(0, problem.indexOfCourse(1));
+        assertEquals(-1, problem.indexOfCourse(99));
+    }
+
+    @Test
+    public void testNoLecturerOrVenueIsDoubleBooked() {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            courses.add(new Course(i, "Course " + i, "ND", false));
+        }
+        List<Lecturer> lecturers = Arrays.asList(new Lecturer(1, "John Doe", "Professor"),
+                                                 new Lecturer(2, "Jane Smith", "Lecturer"));
+        List<Timeslot> timeslots = Arrays.asList(new Timeslot(1, "Monday", "09:00", "10:00"),
+                                                 new Timeslot(2, "Monday", "10:00", "11:00"),
+                                                 new Timeslot(3, "Tuesday", "09:00", "10:00"));
+        TimetableProblem problem = new TimetableProblem(
+            courses,
+            lecturers,
+            Arrays.asList(new Venue(1, "Hall A", 100, "Lecture Hall"), new Venue(2, "Hall B", 60, "Lecture Hall")),
+            timeslots,
+            availableAlways(lecturers, timeslots));
+
+        TimetableSolution solution = new GreedySolver(7L).solve(problem);
+
+        // Two lecturers and two venues over three slots leave room for exactly six sessions
+        assertEquals(6, solution.getEntries().size());
+        assertEquals(4, solution.getUnassignedCourses().size());
+
+        Set<String> lecturerSlots = new HashSet<>();
+        Set<String> venueSlots = new HashSet<>();
+        for (TimetableEntry entry : solution.getEntries()) {
+            assertTrue(lecturerSlots.add(entry.getLecturerId() + "@" + entry.getTimeslotId()));
+            assertTrue(venueSlots.add(entry.getVenueId() + "@" + entry.getTimeslotId()));
+        }
+    }
+
+    @Test
+    public void testLecturersAreOnlyBookedWhenAvailable() {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            courses.add(new Course(i, "Course " + i, "ND", false));
+        }
+        // John is only available on Monday 09:00, Jane only on Tuesday 09:00
+        List<Availability> availabilities = Arrays.asList(new Availability(1, 1, 1), new Availability(2, 2, 3));
+        TimetableProblem problem = new TimetableProblem(
+            courses,
+            Arrays.asList(new Lecturer(1, "John Doe", "Professor"), new Lecturer(2, "Jane Smith", "Lecturer")),
+            Collections.singletonList(new Venue(1, "Hall A", 100, "Lecture Hall")),
+            Arrays.asList(new Timeslot(1, "Monday", "09:00", "10:00"),
+                          new Timeslot(2, "Monday", "10:00", "11:00"),
+                          new Timeslot(3, "Tuesday", "09:00", "10:00")),
+            availabilities);
+
+        TimetableSolution solution = new GreedySolver(3L).solve(problem);
+
+        assertEquals(2, solution.getEntries().size());
+        for (TimetableEntry entry : solution.getEntries()) {
+            assertTrue(problem.isLecturerAvailable(entry.getLecturerId(), entry.getTimeslotId()));
+        }
+    }
+}
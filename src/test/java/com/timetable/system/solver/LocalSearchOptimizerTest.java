@@ -0,0 +1,162 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Availability;
+import com.timetable.system.Course;
+import com.timetable.system.Lecturer;
+import com.timetable.system.Timeslot;
+import com.timetable.system.TimetableEntry;
+import com.timetable.system.Venue;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the LocalSearchOptimizer class.
+ */
+public class LocalSearchOptimizerTest {
+
+    private TimetableSolution optimize(LocalSearchOptimizer.Mode mode) {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(200, 30, 12, 4, 8, 11L);
+        TimetableSolution initial = new GreedySolver(3L).solve(problem);
+        SoftConstraintScorer scorer = new SoftConstraintScorer();
+        long before = scorer.score(problem, initial.getEntries());
+
+        LocalSearchOptimizer optimizer = new LocalSearchOptimizer(5L);
+        optimizer.setMode(mode);
+        optimizer.setBudget(new SearchBudget(20000, 0));
+        TimetableSolution improved = optimizer.optimize(problem, initial.getEntries());
+
+        BacktrackingSolverTest.assertFeasible(problem, improved);
+        assertEquals(initial.getEntries().size(), improved.getEntries().size());
+        assertTrue(scorer.score(problem, improved.getEntries()) < before);
+        // The search ran until its iteration limit
+        assertTrue(improved.getStatistics().isBudgetExhausted());
+        return improved;
+    }
+
+    @Test
+    public void testSimulatedAnnealingImprovesScore() {
+        TimetableSolution solution = optimize(LocalSearchOptimizer.Mode.SIMULATED_ANNEALING);
+        assertEquals("SimulatedAnnealing", solution.getStatistics().getSolverName());
+    }
+
+    @Test
+    public void testTabuSearchImprovesScore() {
+        TimetableSolution solution = optimize(LocalSearchOptimizer.Mode.TABU);
+        assertEquals("TabuSearch", solution.getStatistics().getSolverName());
+    }
+
+    @Test
+    public void testEntryIdsArePreserved() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(20, 5, 4, 2, 6, 2L);
+        TimetableSolution initial = new BacktrackingSolver(1L).solve(problem);
+        TimetableEntry first = initial.getEntries().get(0);
+        TimetableEntry numbered = new TimetableEntry(42, first.getCourseId(), first.getLecturerId(),
+                                                     first.getVenueId(), first.getTimeslotId());
+
+        LocalSearchOptimizer optimizer = new LocalSearchOptimizer(1L);
+        optimizer.setBudget(new SearchBudget(1000, 0));
+        TimetableSolution result = optimizer.optimize(problem, Collections.singletonList(numbered));
+
+        assertEquals(1, result.getEntries().size());
+        assertEquals(42, result.getEntries().get(0).getId());
+        assertEquals(first.getCourseId(), result.getEntries().get(0).getCourseId());
+    }
+
+    @Test
+    public void testEmptyTimetableDoesNotExhaustBudget() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(20, 5, 4, 2, 6, 2L);
+        TimetableSolution result = new LocalSearchOptimizer(1L).optimize(problem, Collections.emptyList());
+
+        assertTrue(result.getEntries().isEmpty());
+        assertFalse(result.getStatistics().isBudgetExhausted());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDoubleBookingIsRejected() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(20, 5, 4, 2, 6, 2L);
+        TimetableEntry first = new BacktrackingSolver(1L).solve(problem).getEntries().get(0);
+        TimetableEntry clash = new TimetableEntry(0, first.getCourseId() % 20 + 1, first.getLecturerId(),
+                                                  first.getVenueId(), first.getTimeslotId());
+        new LocalSearchOptimizer().optimize(problem, Arrays.asList(first, clash));
+    }
+
+    /**
+     * Creates a problem with the given Monday timeslots, where every lecturer is always available.
+     */
+    private static TimetableProblem createMondayProblem(String[][] times) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            courses.add(new Course(i, "Course " + i, "ND", false));
+        }
+        List<Lecturer> lecturers = Arrays.asList(new Lecturer(1, "Lecturer 1", "Lecturer"),
+                                                 new Lecturer(2, "Lecturer 2", "Lecturer"));
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            venues.add(new Venue(i, "Venue " + i, 30 + 20 * i, "Lecture Hall"));
+        }
+        List<Timeslot> timeslots = new ArrayList<>();
+        List<Availability> availabilities = new ArrayList<>();
+        for (String[] time : times) {
+            Timeslot timeslot = new Timeslot(timeslots.size() + 1, "Monday", time[0], time[1]);
+            timeslots.add(timeslot);
+            for (Lecturer lecturer : lecturers) {
+                availabilities.add(new Availability(availabilities.size() + 1, lecturer.getId(), timeslot.getId()));
+            }
+        }
+        return new TimetableProblem(courses, lecturers, venues, timeslots, availabilities);
+    }
+
+    /**
+     * Applies random moves, keeping about half of them, and checks after each one that the
+     * incrementally maintained score matches a full rescoring.
+     */
+    private static void assertIncrementalScoreMatches(TimetableProblem problem) {
+        TimetableSolution initial = new GreedySolver(3L).solve(problem);
+        assertFalse(initial.getEntries().isEmpty());
+        LocalSearchOptimizer optimizer = new LocalSearchOptimizer(5L);
+        SoftConstraintScorer scorer = optimizer.getScorer();
+        LocalSearchOptimizer.State state = optimizer.new State(problem, initial.getEntries());
+        assertEquals(scorer.score(problem, initial.getEntries()), state.cost());
+
+        Random random = new Random(9L);
+        for (int move = 0; move < 5000; move++) {
+            long delta = state.tryRandomMove(random);
+            if (delta == LocalSearchOptimizer.INFEASIBLE) {
+                continue;
+            }
+            if (random.nextBoolean()) {
+                state.commit(delta);
+            } else {
+                state.undo();
+            }
+            assertEquals(scorer.score(problem, state.entries()), state.cost());
+        }
+    }
+
+    @Test
+    public void testIncrementalScoreWithSharedStartTimes() {
+        // Pairs of timeslots start at the same time and differ only in their end time
+        TimetableProblem problem = createMondayProblem(new String[][] {
+            {"08:00", "09:00"}, {"08:00", "10:00"}, {"09:00", "10:00"}, {"10:00", "11:00"},
+            {"10:00", "12:00"}, {"11:00", "12:00"}, {"13:00", "14:00"}, {"13:00", "14:00"}
+        });
+        assertIncrementalScoreMatches(problem);
+    }
+
+    @Test
+    public void testIncrementalScoreWithMoreThan64SlotsPerDay() {
+        String[][] times = new String[80][];
+        for (int i = 0; i < times.length; i++) {
+            int start = 8 * 60 + 10 * i;
+            times[i] = new String[] {String.format("%02d:%02d", start / 60, start % 60),
+                                     String.format("%02d:%02d", (start + 10) / 60, (start + 10) % 60)};
+        }
+        assertIncrementalScoreMatches(createMondayProblem(times));
+    }
+}
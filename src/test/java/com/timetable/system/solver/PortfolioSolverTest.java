@@ -0,0 +1,90 @@
+package com.timetable.system.solver;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the PortfolioSolver class.
+ */
+public class PortfolioSolverTest {
+
+    @Test
+    public void testPortfolioFindsCompleteTimetable() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(300, 40, 15, 5, 8, 21L);
+        PortfolioSolver solver = new PortfolioSolver(4, 1L);
+        solver.setBudget(new SearchBudget(0, 1000));
+        TimetableSolution solution = solver.solve(problem);
+
+        BacktrackingSolverTest.assertFeasible(problem, solution);
+        assertTrue(solution.isComplete());
+        assertEquals("Portfolio", solution.getStatistics().getSolverName());
+        assertTrue(solution.getStatistics().getElapsedMillis() < 5000);
+    }
+
+    @Test
+    public void testPortfolioIsNoWorseThanItsConstruction() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(150, 20, 8, 3, 6, 4L);
+        SoftConstraintScorer scorer = new SoftConstraintScorer();
+        long constructed = scorer.score(problem, new BacktrackingSolver(1L).solve(problem).getEntries());
+
+        PortfolioSolver solver = new PortfolioSolver(2, 1L);
+        solver.setBudget(new SearchBudget(0, 500));
+        TimetableSolution solution = solver.solve(problem);
+
+        BacktrackingSolverTest.assertFeasible(problem, solution);
+        assertTrue(scorer.score(problem, solution.getEntries()) <= constructed);
+    }
+
+    @Test
+    public void testOptimalTimetableStopsTheRun() {
+        // One course, one lecturer, one suitable venue: any complete timetable is optimal
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(1, 1, 1, 0, 4, 3L);
+        PortfolioSolver solver = new PortfolioSolver(2, 1L);
+        solver.setBudget(new SearchBudget(0, 30000));
+        TimetableSolution solution = solver.solve(problem);
+
+        assertTrue(solution.isComplete());
+        assertFalse(solution.getStatistics().isBudgetExhausted());
+        assertTrue(solution.getStatistics().getElapsedMillis() < 10000);
+    }
+
+    @Test
+    public void testOptimalTimetableWithUnplaceableCourseStopsTheRun() {
+        // Course 4 needs a lab and there is none, so the best timetable schedules three courses
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(4, 1, 1, 0, 4, 3L);
+        PortfolioSolver solver = new PortfolioSolver(2, 1L);
+        solver.setBudget(new SearchBudget(0, 30000));
+        TimetableSolution solution = solver.solve(problem);
+
+        assertEquals(3, solution.getEntries().size());
+        assertEquals(4, solution.getUnassignedCourses().get(0).getId());
+        assertFalse(solution.getStatistics().isBudgetExhausted());
+        assertTrue(solution.getStatistics().getElapsedMillis() < 10000);
+    }
+
+    @Test
+    public void testRunWithoutLimitsDoesNotReportExhaustedBudget() {
+        // Without a time limit every worker makes one round and the run ends normally
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(60, 10, 5, 2, 6, 4L);
+        PortfolioSolver solver = new PortfolioSolver(2, 1L);
+        solver.setBudget(new SearchBudget());
+        TimetableSolution solution = solver.solve(problem);
+
+        BacktrackingSolverTest.assertFeasible(problem, solution);
+        assertFalse(solution.getStatistics().isBudgetExhausted());
+    }
+
+    @Test
+    public void testCancelledBudgetStopsTheRun() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(100, 15, 6, 2, 6, 8L);
+        SearchBudget budget = new SearchBudget(0, 30000);
+        budget.cancel();
+        PortfolioSolver solver = new PortfolioSolver(2, 1L);
+        solver.setBudget(budget);
+        TimetableSolution solution = solver.solve(problem);
+
+        BacktrackingSolverTest.assertFeasible(problem, solution);
+        assertTrue(solution.getStatistics().isBudgetExhausted());
+        assertTrue(solution.getStatistics().getElapsedMillis() < 10000);
+    }
+}
@@ -0,0 +1,110 @@
+package com.timetable.system.solver;
+
+import com.timetable.system.Availability;
+import com.timetable.system.Course;
+import com.timetable.system.Lecturer;
+import com.timetable.system.TimetableEntry;
+import com.timetable.system.Timeslot;
+import com.timetable.system.Venue;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the TimetableRepairer class.
+ */
+public class TimetableRepairerTest {
+
+    /**
+     * Gives every entry an ID, as if the timetable had been saved.
+     */
+    private static List<TimetableEntry> published(TimetableSolution solution) {
+        List<TimetableEntry> entries = new ArrayList<>();
+        for (TimetableEntry entry : solution.getEntries()) {
+            entries.add(new TimetableEntry(entries.size() + 1, entry.getCourseId(), entry.getLecturerId(),
+                                           entry.getVenueId(), entry.getTimeslotId()));
+        }
+        return entries;
+    }
+
+    private static void assertRepaired(TimetableProblem problem, RepairResult result) {
+        BacktrackingSolverTest.assertFeasible(problem,
+                new TimetableSolution(result.getEntries(), result.getUnassignedCourses(), result.getStatistics()));
+    }
+
+    @Test
+    public void testVenueRemovedOnlyMovesItsEntries() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(200, 30, 15, 5, 8, 7L);
+        List<TimetableEntry> current = published(new BacktrackingSolver(1L).solve(problem));
+        int venueId = current.get(0).getVenueId();
+
+        TimetableChange change = TimetableChange.venueRemoved(venueId);
+        RepairResult result = new TimetableRepairer(1L).repair(problem, current, change);
+
+        assertRepaired(change.applyTo(problem), result);
+        assertTrue(result.isComplete());
+        for (TimetableEntry entry : result.getRemovedEntries()) {
+            assertEquals(venueId, entry.getVenueId());
+        }
+        for (TimetableEntry entry : result.getKeptEntries()) {
+            assertNotEquals(venueId, entry.getVenueId());
+        }
+        assertEquals(result.getRemovedEntries().size(), result.getAddedEntries().size());
+    }
+
+    @Test
+    public void testAvailabilityRemovedMovesSingleEntry() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(200, 30, 15, 5, 8, 9L);
+        List<TimetableEntry> current = published(new BacktrackingSolver(2L).solve(problem));
+        TimetableEntry moved = current.get(current.size() / 2);
+
+        TimetableChange change = TimetableChange.availabilityRemoved(moved.getLecturerId(), moved.getTimeslotId());
+        RepairResult result = new TimetableRepairer(1L).repair(problem, current, change);
+
+        assertRepaired(change.applyTo(problem), result);
+        assertEquals(Collections.singletonList(moved), result.getRemovedEntries());
+        assertEquals(1, result.getAddedEntries().size());
+        assertEquals(moved.getCourseId(), result.getAddedEntries().get(0).getCourseId());
+        assertEquals(current.size() - 1, result.getKeptEntries().size());
+    }
+
+    @Test
+    public void testValidTimetableIsLeftAlone() {
+        TimetableProblem problem = BacktrackingSolverTest.createProblem(50, 10, 6, 2, 6, 3L);
+        List<TimetableEntry> current = published(new BacktrackingSolver(3L).solve(problem));
+
+        RepairResult result = new TimetableRepairer(1L).repair(problem, current);
+
+        assertFalse(result.hasChanges());
+        assertEquals(current, result.getKeptEntries());
+    }
+
+    @Test
+    public void testNeighbourhoodIsWidenedWhenNeeded() {
+        // A lecture occupies the only Lab, so the lab course only fits if the lecture moves
+        List<Course> courses = Arrays.asList(new Course(1, "Lecture", "ND", false),
+                                             new Course(2, "Practical", "ND", true));
+        List<Lecturer> lecturers = Arrays.asList(new Lecturer(1, "A", "Lecturer"),
+                                                 new Lecturer(2, "B", "Lecturer"));
+        List<Venue> venues = Arrays.asList(new Venue(1, "Lab 1", 40, "Lab"),
+                                           new Venue(2, "Hall 1", 40, "Lecture Hall"));
+        List<Timeslot> timeslots = Collections.singletonList(new Timeslot(1, "Monday", "08:00", "09:00"));
+        List<Availability> availabilities = Arrays.asList(new Availability(1, 1, 1), new Availability(2, 2, 1));
+        TimetableProblem problem = new TimetableProblem(courses, lecturers, venues, timeslots, availabilities);
+        List<TimetableEntry> current = Collections.singletonList(new TimetableEntry(10, 1, 1, 1, 1));
+
+        TimetableRepairer repairer = new TimetableRepairer(1L);
+        repairer.setMaxWidenings(0);
+        assertFalse(repairer.repair(problem, current).isComplete());
+
+        repairer.setMaxWidenings(3);
+        RepairResult result = repairer.repair(problem, current);
+        assertRepaired(problem, result);
+        assertTrue(result.isComplete());
+        assertEquals(current, result.getRemovedEntries());
+    }
+}
@@ -0,0 +1,2 @@
+-- V1: first table
+CREATE TABLE First (id INTEGER PRIMARY KEY);
@@ -0,0 +1,3 @@
+-- V2: failing script
+CREATE TABLE Second (id INTEGER PRIMARY KEY);
+INSERT INTO Missing (id) VALUES (1);